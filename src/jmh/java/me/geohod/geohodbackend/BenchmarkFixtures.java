@@ -0,0 +1,105 @@
+package me.geohod.geohodbackend;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.User;
+
+/**
+ * Realistic notification data for the benchmarks: Cyrillic event names with MarkdownV2
+ * special characters, a long description and a rendered message the way strategies build it.
+ */
+public final class BenchmarkFixtures {
+    public static final String STARTAPP_LINK = "https://t.me/geohod_bot/app?startapp=";
+
+    public static final String SHORT_EVENT_NAME = "Пробежка";
+    public static final String EVENT_NAME = "Утренняя пробежка по набережной (5 км) — сбор у фонтана!";
+    public static final String LONG_EVENT_NAME = "Большая субботняя экскурсия по старому центру: дворы-колодцы, "
+            + "крыши и «Тайны Петроградской стороны» [часть 2] — для всех, кто любит историю #геоход";
+
+    public static final String LONG_DESCRIPTION = """
+            Встречаемся в 9:30 у главного входа в парк (ориентир — синий павильон с надписью «Прокат»).
+            Маршрут: 5 км по набережной, темп спокойный — 6:30–7:00 мин/км, никого не оставляем!
+            С собой: вода, удобная обувь, хорошее настроение. Если идёт дождь — бежим всё равно ;)
+
+            После пробежки — кофе в «Зерне» (ул. Ленина, д. 12/3), для участников скидка 10%.
+            Вопросы пишите организатору: @ivan_petrov или в чат клуба https://t.me/run_club_spb.
+            Важно: *не* опаздывайте, стартуем ровно в 9:45 — ждать не сможем. Фото будут в альбоме [ссылка в чате].
+            Дети до 12 лет — только с родителями; собакам можно, но на поводке (и с пакетиками!).
+            """.repeat(3);
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Event name for a {@code @Param} of {@code short}, {@code medium} or {@code long}.
+     */
+    public static String eventName(String length) {
+        return switch (length) {
+            case "short" -> SHORT_EVENT_NAME;
+            case "medium" -> EVENT_NAME;
+            case "long" -> LONG_EVENT_NAME;
+            default -> throw new IllegalArgumentException("Unknown event name length: " + length);
+        };
+    }
+
+    public static Event event(String name) {
+        return new Event(name, LONG_DESCRIPTION, Instant.parse("2025-06-15T06:30:00Z"), 30, UUID.randomUUID());
+    }
+
+    public static User author() {
+        return new User("123456789", "ivan_petrov", "Иван", "Петров-Водкин", null);
+    }
+
+    /**
+     * Marks an entity as loaded from the database, the way the render cache expects.
+     */
+    public static <T> T withVersion(T entity, long version) {
+        try {
+            Field field = entity.getClass().getDeclaredField("version");
+            field.setAccessible(true);
+            field.set(entity, version);
+            return entity;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set version of " + entity, e);
+        }
+    }
+
+    /**
+     * The data context MessageFormatter builds for an event and its author.
+     */
+    public static Map<String, Object> dataContext(String eventName) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("eventName", eventName);
+        data.put("eventDate", "2025-06-15");
+        data.put("eventId", "4f1c2d7e-8a9b-4c3d-9e0f-1a2b3c4d5e6f");
+        data.put("eventLink", STARTAPP_LINK + "AU8cLX6Km0w9ng8aKzxNXm8");
+        data.put("registerLink", STARTAPP_LINK + "Ak8cLX6Km0w9ng8aKzxNXm8");
+        data.put("authorFirstName", "Иван");
+        data.put("authorLastName", "Петров-Водкин");
+        data.put("authorTgUsername", "ivan_petrov");
+        data.put("authorFullName", "Иван Петров-Водкин");
+        data.put("contactInfo", "Организатор: Иван Петров-Водкин @ivan_petrov");
+        data.put("contactName", "Иван Петров-Водкин");
+        data.put("contactLink", "https://t.me/ivan_petrov");
+        data.put("participantList", "@anna_k, @boris.m, @vera_v, @grigory, @daria_2000, @egor, @zhanna, @zakhar_s");
+        data.put("description", LONG_DESCRIPTION);
+        return data;
+    }
+
+    /**
+     * A message as the templates used to produce it before escaping: links, a date, plain
+     * URLs and a long description full of MarkdownV2 special characters.
+     */
+    public static String unescapedMessage(String eventName) {
+        return "Вы зарегистрировались на событие:\n\n"
+                + "[" + eventName + "](" + STARTAPP_LINK + "AU8cLX6Km0w9ng8aKzxNXm8)\n"
+                + "2025-06-15\n"
+                + "[Иван Петров-Водкин](https://t.me/ivan_petrov)\n\n"
+                + LONG_DESCRIPTION;
+    }
+}
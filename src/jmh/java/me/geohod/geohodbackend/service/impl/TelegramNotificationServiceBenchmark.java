@@ -0,0 +1,42 @@
+package me.geohod.geohodbackend.service.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import me.geohod.geohodbackend.BenchmarkFixtures;
+
+/**
+ * The escaping {@code sendNotification} applies to messages sent directly, without the outbox.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TelegramNotificationServiceBenchmark {
+
+    @Param({"short", "long"})
+    private String eventNameLength;
+
+    private String eventName;
+
+    private final TelegramNotificationService notificationService = new TelegramNotificationService(null, null);
+    private String message;
+
+    @Setup
+    public void setUp() {
+        eventName = BenchmarkFixtures.eventName(eventNameLength);
+        message = BenchmarkFixtures.unescapedMessage(eventName);
+    }
+
+    @Benchmark
+    public String escapeMarkdownV2() {
+        return notificationService.escapeMarkdownV2(message);
+    }
+}
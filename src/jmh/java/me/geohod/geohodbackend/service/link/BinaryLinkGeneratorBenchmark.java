@@ -0,0 +1,46 @@
+package me.geohod.geohodbackend.service.link;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import me.geohod.geohodbackend.BenchmarkFixtures;
+import me.geohod.geohodbackend.configuration.properties.GeohodProperties;
+
+/**
+ * Startapp links are generated for every rendered message and parsed for every opened link.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BinaryLinkGeneratorBenchmark {
+
+    private final UUID eventId = UUID.fromString("4f1c2d7e-8a9b-4c3d-9e0f-1a2b3c4d5e6f");
+    private BinaryLinkGenerator generator;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        generator = new BinaryLinkGenerator(new GeohodProperties(null,
+                new GeohodProperties.LinkTemplates(BenchmarkFixtures.STARTAPP_LINK), null, null));
+        encoded = generator.generateLink(LinkAction.OPEN_EVENT, eventId)
+                .substring(BenchmarkFixtures.STARTAPP_LINK.length());
+    }
+
+    @Benchmark
+    public String generateLink() {
+        return generator.generateLink(LinkAction.OPEN_EVENT, eventId);
+    }
+
+    @Benchmark
+    public BinaryLinkGenerator.LinkData parseLink() {
+        return generator.parseLink(encoded);
+    }
+}
@@ -0,0 +1,70 @@
+package me.geohod.geohodbackend.service.notification.processor.strategy.message;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.geohod.geohodbackend.BenchmarkFixtures;
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.User;
+
+/**
+ * The full per-message path of a strategy: data context, render and escaping, once with the
+ * render cache disabled and once served from it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageFormatterBenchmark {
+
+    @Param({"participant.registered", "event.cancelled.organizer.notify-participants"})
+    private String templateId;
+
+    @Param({"short", "long"})
+    private String eventNameLength;
+
+    private String eventName;
+
+    private MessageFormatter uncachedFormatter;
+    private MessageFormatter cachedFormatter;
+    private Event event;
+    private User author;
+    private Map<String, Object> params;
+
+    @Setup
+    public void setUp() {
+        eventName = BenchmarkFixtures.eventName(eventNameLength);
+        MessageTemplateRegistry registry = new MessageTemplateRegistry();
+        registry.initializeDefaultTemplates();
+        uncachedFormatter = new MessageFormatter(new TemplateEngine(), registry,
+                new RenderedMessageCache(0, new SimpleMeterRegistry()));
+        cachedFormatter = new MessageFormatter(new TemplateEngine(), registry,
+                new RenderedMessageCache(1000, new SimpleMeterRegistry()));
+
+        event = BenchmarkFixtures.withVersion(BenchmarkFixtures.event(eventName), 3L);
+        author = BenchmarkFixtures.withVersion(BenchmarkFixtures.author(), 1L);
+        Map<String, Object> data = BenchmarkFixtures.dataContext(eventName);
+        params = Map.of(
+                "eventLink", data.get("eventLink"),
+                "participantList", data.get("participantList"));
+    }
+
+    @Benchmark
+    public String formatMessageFromTemplate() {
+        return uncachedFormatter.formatMessageFromTemplate(templateId, TemplateType.TELEGRAM, event, author, params);
+    }
+
+    @Benchmark
+    public String formatMessageFromTemplateCached() {
+        return cachedFormatter.formatMessageFromTemplate(templateId, TemplateType.TELEGRAM, event, author, params);
+    }
+}
@@ -0,0 +1,50 @@
+package me.geohod.geohodbackend.service.notification.processor.strategy.message;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import me.geohod.geohodbackend.BenchmarkFixtures;
+
+/**
+ * MarkdownV2 escaping of a whole message with links, plain URLs and a long description, and
+ * of a single event name as the template engine escapes values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TelegramMarkdownV2FormatterBenchmark {
+
+    @Param({"short", "long"})
+    private String eventNameLength;
+
+    private String eventName;
+
+    private final TelegramMarkdownV2Formatter formatter = new TelegramMarkdownV2Formatter();
+    private String message;
+
+    @Setup
+    public void setUp() {
+        eventName = BenchmarkFixtures.eventName(eventNameLength);
+        message = BenchmarkFixtures.unescapedMessage(eventName);
+    }
+
+    @Benchmark
+    public String format() {
+        return formatter.format(message);
+    }
+
+    @Benchmark
+    public String appendEscapedEventName() {
+        StringBuilder out = new StringBuilder(eventName.length() + 16);
+        TelegramMarkdownV2Formatter.appendEscaped(out, eventName);
+        return out.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package me.geohod.geohodbackend.service.notification.processor.strategy.message;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import me.geohod.geohodbackend.BenchmarkFixtures;
+
+/**
+ * Renders the default Telegram templates the way they used to be rendered, through the regex
+ * engine and a MarkdownV2 pass over the whole message, and with the tree compiled at
+ * registration, which escapes values while writing them.
+ * <p>
+ * {@code ./gradlew jmh -Pjmh.include=TemplateEngineBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TemplateEngineBenchmark {
+    private static final String DESCRIPTION_TEMPLATE_ID = "benchmark.description";
+
+    @Param({"participant.registered", "event.cancelled.organizer.notify-participants", DESCRIPTION_TEMPLATE_ID})
+    private String templateId;
+
+    private final RegexTemplateEngine regexEngine = new RegexTemplateEngine();
+    private final TelegramMarkdownV2Formatter markdownV2Formatter = new TelegramMarkdownV2Formatter();
+    private final TemplateEngine templateEngine = new TemplateEngine();
+    private String source;
+    private CompiledTemplate compiled;
+    private Map<String, Object> data;
+
+    @Setup
+    public void setUp() {
+        MessageTemplateRegistry registry = new MessageTemplateRegistry();
+        registry.initializeDefaultTemplates();
+        registry.registerTemplate(MessageTemplate.of(DESCRIPTION_TEMPLATE_ID, """
+                [{{eventName}}]({{eventLink}})
+                {{eventDate}}
+                {#if contactInfo}{{contactInfo}}{/if}
+
+                {{description:1000}}""", TemplateType.TELEGRAM));
+        source = registry.getTemplate(templateId, TemplateType.TELEGRAM).template();
+        compiled = registry.getCompiledTemplate(templateId, TemplateType.TELEGRAM);
+        data = BenchmarkFixtures.dataContext(BenchmarkFixtures.EVENT_NAME);
+    }
+
+    @Benchmark
+    public String regexEngine() {
+        return markdownV2Formatter.format(regexEngine.processTemplate(source, data));
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return templateEngine.render(compiled, data);
+    }
+
+    @Benchmark
+    public String compileAndRender() {
+        return templateEngine.render(CompiledTemplate.compile(source, TemplateType.TELEGRAM), data);
+    }
+
+    @Benchmark
+    public String processTemplate() {
+        return templateEngine.processTemplate(source, data);
+    }
+}
@@ -3,9 +3,11 @@ package me.geohod.geohodbackend.api.controller.v2;
 import java.util.List;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -35,11 +37,13 @@ import me.geohod.geohodbackend.api.dto.response.EventUpdateResponse;
 import me.geohod.geohodbackend.api.dto.response.PaymentGatewayUrlResponse;
 import me.geohod.geohodbackend.api.mapper.EventApiMapper;
 import me.geohod.geohodbackend.api.response.ApiResponse;
+import me.geohod.geohodbackend.api.response.CursorPageResponse;
 import me.geohod.geohodbackend.api.response.PageResponse;
 import me.geohod.geohodbackend.data.dto.CancelEventDto;
 import me.geohod.geohodbackend.data.dto.CreateEventDto;
 import me.geohod.geohodbackend.data.dto.EventDetailedProjection;
 import me.geohod.geohodbackend.data.dto.EventDto;
+import me.geohod.geohodbackend.data.dto.EventsCursorPage;
 import me.geohod.geohodbackend.data.dto.PaymentGatewayInfoDto;
 import me.geohod.geohodbackend.data.dto.UpdateEventDto;
 import me.geohod.geohodbackend.data.mapper.PaymentGatewayModelMapper;
@@ -75,6 +79,15 @@ public class EventController {
 
             @RequestParam(required = false) List<Event.Status> statuses,
 
+            @RequestParam(required = false, defaultValue = "false") @Parameter(description = """
+                    Fill in `totalElements` and `totalPages`, which costs a count of the whole list.
+                    Without it only `hasNext` tells whether more pages follow
+                    """) boolean withTotal,
+
+            @RequestParam(required = false, defaultValue = "false") @Parameter(description = """
+                    With `withTotal`, estimate the total from database statistics instead of counting
+                    """) boolean estimateTotal,
+
             @PageableDefault(size = 30) @Parameter(description = """
                     Pagination and sorting
                     - `sort` available fields: `name`, `date`, `status`, `createdAt`, `updatedAt`
@@ -84,14 +97,54 @@ public class EventController {
             @AuthenticationPrincipal AppPrincipal principal) {
         UUID filterByAuthorUserId = iamAuthor ? principal.userId() : null;
         UUID filterByParticipantUserId = iamParticipant ? principal.userId() : null;
-        Page<EventDetailedProjection> events = eventProjectionService.events(
+        IEventProjectionService.TotalCount total = !withTotal ? IEventProjectionService.TotalCount.NONE
+                : estimateTotal ? IEventProjectionService.TotalCount.ESTIMATED
+                : IEventProjectionService.TotalCount.EXACT;
+        Slice<EventDetailedProjection> events = eventProjectionService.events(
                 new IEventProjectionService.EventsDetailedProjectionFilter(filterByAuthorUserId,
                         filterByParticipantUserId, statuses),
-                pageable);
-        Page<EventDetailsResponse> result = events.map(mapper::response);
+                pageable, total);
+        Slice<EventDetailsResponse> result = events.map(mapper::response);
         return ApiResponse.success(new PageResponse<>(result));
     }
 
+    @GetMapping("/cursor")
+    @Operation(
+        summary = "Get events by cursor",
+        description = "Same list as GET /api/v2/events, read page by page with the cursor of the previous page "
+                + "instead of a page number, so deep pages cost as much as the first one"
+    )
+    public ApiResponse<CursorPageResponse<EventDetailsResponse>> getEventsByCursor(
+            @RequestParam(required = false, defaultValue = "true") boolean iamAuthor,
+
+            @RequestParam(required = false, defaultValue = "true") boolean iamParticipant,
+
+            @RequestParam(required = false) List<Event.Status> statuses,
+
+            @RequestParam(required = false) @Parameter(description = """
+                    `nextCursor` of the previous page; omit for the first page
+                    """) String cursor,
+
+            @RequestParam(required = false, defaultValue = "30") int size,
+
+            @SortDefault(sort = "createdAt", direction = Sort.Direction.DESC) @Parameter(description = """
+                    Sorting of the first page, later pages keep it
+                    - `sort` available fields: `name`, `date`, `status`, `createdAt`, `updatedAt`, one at a time
+                    - default sort: `createdAt,desc` (newest events first)
+                    """, in = ParameterIn.QUERY) Sort sort,
+
+            @AuthenticationPrincipal AppPrincipal principal) {
+        UUID filterByAuthorUserId = iamAuthor ? principal.userId() : null;
+        UUID filterByParticipantUserId = iamParticipant ? principal.userId() : null;
+        EventsCursorPage events = eventProjectionService.events(
+                new IEventProjectionService.EventsDetailedProjectionFilter(filterByAuthorUserId,
+                        filterByParticipantUserId, statuses),
+                cursor, size, sort);
+        List<EventDetailsResponse> content = events.events().stream().map(mapper::response).toList();
+        String nextCursor = events.next() != null ? events.next().encode() : null;
+        return ApiResponse.success(new CursorPageResponse<>(content, nextCursor));
+    }
+
     @PostMapping
     public ApiResponse<EventCreateResponse> createEvent(@RequestBody EventCreateRequest request,
             @AuthenticationPrincipal AppPrincipal principal) {
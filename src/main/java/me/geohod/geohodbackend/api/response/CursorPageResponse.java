@@ -0,0 +1,12 @@
+package me.geohod.geohodbackend.api.response;
+
+import java.util.List;
+
+/**
+ * A page read by cursor. {@code nextCursor} requests the following page and is {@code null}
+ * on the last one.
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        String nextCursor) {
+}
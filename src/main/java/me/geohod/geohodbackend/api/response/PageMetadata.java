@@ -1,8 +1,13 @@
 package me.geohod.geohodbackend.api.response;
 
+/**
+ * Position of a page in the list. {@code totalElements} and {@code totalPages} are
+ * {@code null} when the total was not requested.
+ */
 public record PageMetadata(
     int size,
     int number,
-    long totalElements,
-    int totalPages
+    Long totalElements,
+    Integer totalPages,
+    boolean hasNext
 ) {}
@@ -3,18 +3,22 @@ package me.geohod.geohodbackend.api.response;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
-import org.springframework.data.web.PagedModel.PageMetadata;
+import org.springframework.data.domain.Slice;
 
 public record PageResponse<T>(
         List<T> content,
         PageMetadata page) {
-    public PageResponse(Page<T> page) {
+    /**
+     * Totals are only filled in for a {@link Page}, a plain {@link Slice} was read without them.
+     */
+    public PageResponse(Slice<T> slice) {
         this(
-                page.getContent(),
+                slice.getContent(),
                 new PageMetadata(
-                        page.getSize(),
-                        page.getNumber(),
-                        page.getTotalElements(),
-                        page.getTotalPages()));
+                        slice.getSize(),
+                        slice.getNumber(),
+                        slice instanceof Page<T> page ? page.getTotalElements() : null,
+                        slice instanceof Page<T> page ? page.getTotalPages() : null,
+                        slice.hasNext()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package me.geohod.geohodbackend.configuration.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Event list totals, which are only computed when a client asks for them. Counts are
+ * cached per filter for {@code countCacheTtl}, for at most {@code countCacheSize} filters;
+ * a zero TTL disables the cache.
+ */
+@ConfigurationProperties("geohod.event-list")
+public record EventListProperties(
+                @DefaultValue("10000") int countCacheSize,
+                @DefaultValue("30s") Duration countCacheTtl) {
+
+        public EventListProperties {
+                if (countCacheSize < 1) {
+                        throw new IllegalArgumentException("Event count cache size must be positive");
+                }
+                if (countCacheTtl.isNegative()) {
+                        throw new IllegalArgumentException("Event count cache TTL must not be negative");
+                }
+        }
+}
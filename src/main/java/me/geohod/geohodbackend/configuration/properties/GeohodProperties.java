@@ -11,9 +11,14 @@ public record GeohodProperties(
                 LinkTemplates linkTemplates,
                 Cors cors,
                 Security security) {
+        /**
+         * {@code apiBaseUrl} points the bot at another Bot API server, e.g. a local one for
+         * load tests; the bot token is appended to it. Empty means the public Bot API.
+         */
         public record TelegramBot(
                         String token,
-                        String username) {
+                        String username,
+                        String apiBaseUrl) {
         }
 
         public record LinkTemplates(
@@ -0,0 +1,146 @@
+package me.geohod.geohodbackend.configuration.properties;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("geohod.processor")
+public record NotificationProcessorProperties(
+                @DefaultValue Wakeup wakeup,
+                @DefaultValue Dispatcher dispatcher,
+                @DefaultValue Preferences preferences,
+                @DefaultValue Partitions partitions,
+                @DefaultValue Digest digest,
+                @DefaultValue RenderCache renderCache) {
+
+        /**
+         * How notification processors learn about new event logs.
+         * In {@code NOTIFY} mode inserts into event_logs wake the processors
+         * immediately and the scheduled delay only acts as a safety net.
+         * The migrations install the trigger for {@code channel}; see {@code spring.liquibase.parameters}.
+         * The channel goes unquoted into {@code LISTEN} and the trigger function, so it must be a
+         * lower-case identifier.
+         */
+        public record Wakeup(
+                        @DefaultValue("NOTIFY") WakeupMode mode,
+                        @DefaultValue("event_logs_inserted") String channel,
+                        @DefaultValue("30s") Duration listenTimeout,
+                        @DefaultValue("5s") Duration reconnectDelay) {
+
+                private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+                public Wakeup {
+                        if (channel == null || !CHANNEL.matcher(channel).matches()) {
+                                throw new IllegalArgumentException("Wakeup channel must match " + CHANNEL.pattern() + ": " + channel);
+                        }
+                }
+        }
+
+        /**
+         * Event logs are partitioned by a hash of their event id into {@code shards}
+         * workers. Logs of one event always land in the same shard and keep their order,
+         * different events are delivered concurrently.
+         * <p>
+         * {@code batchSize} is the starting size; it adapts between {@code minBatchSize} and
+         * {@code maxBatchSize} so that a batch takes about {@code targetBatchDuration}. The
+         * dispatcher keeps fetching without waiting for the next wakeup while batches come
+         * back full or the oldest log is older than {@code drainLagThreshold}.
+         */
+        public record Dispatcher(
+                        @DefaultValue("1") int shards,
+                        @DefaultValue("100") int batchSize,
+                        @DefaultValue("10") int minBatchSize,
+                        @DefaultValue("1000") int maxBatchSize,
+                        @DefaultValue("2s") Duration targetBatchDuration,
+                        @DefaultValue("5s") Duration drainLagThreshold) {
+
+                public Dispatcher {
+                        if (shards < 1) {
+                                throw new IllegalArgumentException("Dispatcher shards must be positive");
+                        }
+                        if (minBatchSize < 1 || maxBatchSize > 1000 || minBatchSize > maxBatchSize) {
+                                throw new IllegalArgumentException("Dispatcher batch size bounds must satisfy 1 <= min <= max <= 1000");
+                        }
+                        if (batchSize < minBatchSize || batchSize > maxBatchSize) {
+                                throw new IllegalArgumentException("Dispatcher batch size must be between its min and max");
+                        }
+                        if (targetBatchDuration.isNegative() || targetBatchDuration.isZero()) {
+                                throw new IllegalArgumentException("Dispatcher target batch duration must be positive");
+                        }
+                }
+        }
+
+        /**
+         * Cache of per-user notification preferences consulted before messages are rendered.
+         * Entries are dropped when a user changes a setting; the TTL bounds staleness
+         * for changes made through other instances.
+         */
+        public record Preferences(
+                        @DefaultValue("10000") int cacheSize,
+                        @DefaultValue("5m") Duration cacheTtl) {
+        }
+
+        /**
+         * Monthly partitions of event_logs. {@code monthsAhead} future partitions are kept
+         * ready; a partition is detached once it ends more than {@code retention} before the
+         * oldest processor progress cursor, and dropped as well when {@code dropDetached} is set.
+         * A detach waits at most {@code detachLockTimeout} for its lock on event_logs and is
+         * otherwise left to the next maintenance run.
+         */
+        public record Partitions(
+                        @DefaultValue("true") boolean maintenanceEnabled,
+                        @DefaultValue("2") int monthsAhead,
+                        @DefaultValue("90d") Duration retention,
+                        @DefaultValue("false") boolean dropDetached,
+                        @DefaultValue("5s") Duration detachLockTimeout) {
+
+                public Partitions {
+                        if (monthsAhead < 0) {
+                                throw new IllegalArgumentException("Partitions months ahead must not be negative");
+                        }
+                        if (retention.isNegative()) {
+                                throw new IllegalArgumentException("Partitions retention must not be negative");
+                        }
+                        if (detachLockTimeout.toMillis() <= 0) {
+                                throw new IllegalArgumentException("Partitions detach lock timeout must be positive");
+                        }
+                }
+        }
+
+        /**
+         * Organizer digests of registration activity. When enabled, registrations and
+         * cancellations of an event are counted for {@code window} after the first one and
+         * sent to the organizer as one Telegram summary.
+         */
+        public record Digest(
+                        @DefaultValue("false") boolean enabled,
+                        @DefaultValue("10m") Duration window) {
+
+                public Digest {
+                        if (window.isNegative() || window.isZero()) {
+                                throw new IllegalArgumentException("Digest window must be positive");
+                        }
+                }
+        }
+
+        /**
+         * Bounded cache of rendered template messages, so strategies fanning out over one
+         * event and replayed batches reuse the text. {@code maxSize} 0 disables it.
+         */
+        public record RenderCache(
+                        @DefaultValue("5000") int maxSize) {
+
+                public RenderCache {
+                        if (maxSize < 0) {
+                                throw new IllegalArgumentException("Render cache max size must not be negative");
+                        }
+                }
+        }
+
+        public enum WakeupMode {
+                POLLING,
+                NOTIFY
+        }
+}
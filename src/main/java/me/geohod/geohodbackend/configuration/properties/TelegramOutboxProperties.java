@@ -0,0 +1,108 @@
+package me.geohod.geohodbackend.configuration.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Sending of {@code tg_outbox_messages}. Each pass claims up to {@code batchSize} rows
+ * for {@code lease}; rows of a crashed or stuck sender become claimable again once the
+ * lease expires. Rows older than {@code maxAge} are moved to the dead-letter state.
+ * <p>
+ * At most {@code maxInFlight} claimed messages wait for the rate limiter or are being
+ * sent at a time. When the outbox is empty the sender polls every {@code idleDelay}.
+ * Chat ids of up to {@code chatIdCacheSize} recipients are cached.
+ */
+@ConfigurationProperties("geohod.telegram-outbox")
+public record TelegramOutboxProperties(
+                @DefaultValue("30") int batchSize,
+                @DefaultValue("2m") Duration lease,
+                @DefaultValue("30m") Duration maxAge,
+                @DefaultValue("100") int maxInFlight,
+                @DefaultValue("1s") Duration idleDelay,
+                @DefaultValue RateLimit rateLimit,
+                @DefaultValue Retry retry,
+                @DefaultValue("10000") int chatIdCacheSize,
+                @DefaultValue Purge purge) {
+
+        public TelegramOutboxProperties {
+                if (batchSize < 1) {
+                        throw new IllegalArgumentException("Outbox batch size must be positive");
+                }
+                if (lease.isNegative() || lease.isZero()) {
+                        throw new IllegalArgumentException("Outbox lease must be positive");
+                }
+                if (maxInFlight < 1) {
+                        throw new IllegalArgumentException("Outbox max in flight must be positive");
+                }
+                if (chatIdCacheSize < 1) {
+                        throw new IllegalArgumentException("Chat id cache size must be positive");
+                }
+        }
+
+        /**
+         * Token buckets in front of the Bot API: one shared by all chats and one per chat.
+         * Per-chat buckets are kept for the {@code chatBuckets} most recently used chats.
+         */
+        public record RateLimit(
+                        @DefaultValue("30") double globalPerSecond,
+                        @DefaultValue("1") double perChatPerSecond,
+                        @DefaultValue("10000") int chatBuckets) {
+
+                public RateLimit {
+                        if (globalPerSecond <= 0 || perChatPerSecond <= 0) {
+                                throw new IllegalArgumentException("Rate limits must be positive");
+                        }
+                        if (chatBuckets < 1) {
+                                throw new IllegalArgumentException("Chat buckets must be positive");
+                        }
+                }
+        }
+
+        /**
+         * Failed sends are retried after {@code initialBackoff}, doubling up to {@code maxBackoff},
+         * or after the {@code retry_after} Telegram asked for. After {@code maxAttempts} failed
+         * attempts a message becomes a dead letter.
+         */
+        public record Retry(
+                        @DefaultValue("5") int maxAttempts,
+                        @DefaultValue("10s") Duration initialBackoff,
+                        @DefaultValue("10m") Duration maxBackoff) {
+
+                public Retry {
+                        if (maxAttempts < 1) {
+                                throw new IllegalArgumentException("Max attempts must be positive");
+                        }
+                        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+                                throw new IllegalArgumentException("Max backoff must not be shorter than initial backoff");
+                        }
+                }
+
+                /**
+                 * Backoff after the given number of failed attempts, starting at one.
+                 */
+                public Duration backoff(int attempts) {
+                        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+                        Duration backoff = initialBackoff.multipliedBy(1L << doublings);
+                        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+                }
+        }
+
+        /**
+         * Deletion of sent and dead-lettered messages older than {@code retention}. Each run deletes
+         * at most {@code maxChunks} chunks of {@code chunkSize} rows, one short statement per chunk.
+         */
+        public record Purge(
+                        @DefaultValue("true") boolean enabled,
+                        @DefaultValue("7d") Duration retention,
+                        @DefaultValue("1000") int chunkSize,
+                        @DefaultValue("100") int maxChunks) {
+
+                public Purge {
+                        if (chunkSize < 1 || maxChunks < 1) {
+                                throw new IllegalArgumentException("Purge chunk size and max chunks must be positive");
+                        }
+                }
+        }
+}
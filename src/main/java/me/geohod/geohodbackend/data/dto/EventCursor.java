@@ -0,0 +1,43 @@
+package me.geohod.geohodbackend.data.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position after the last event of a cursor page: the sort it was issued for, the sort key of
+ * that event, {@code null} when the event has no value for the sort column, and its id as the
+ * tie-breaker. Clients only see it {@link #encode() encoded} as an opaque string.
+ */
+public record EventCursor(
+        String property,
+        Sort.Direction direction,
+        String key,
+        UUID id
+) {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        String value = property + ":" + direction + ":" + id + ":" + (key == null ? "" : "=" + key);
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static EventCursor decode(String cursor) {
+        try {
+            String[] parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split(":", 4);
+            if (parts.length != 4 || parts[0].isEmpty() || !(parts[3].isEmpty() || parts[3].startsWith("="))) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            String key = parts[3].isEmpty() ? null : parts[3].substring(1);
+            return new EventCursor(parts[0], Sort.Direction.fromString(parts[1]), key, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
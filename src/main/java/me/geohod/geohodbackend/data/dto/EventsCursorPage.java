@@ -0,0 +1,12 @@
+package me.geohod.geohodbackend.data.dto;
+
+import java.util.List;
+
+/**
+ * One page of the event list read by cursor; {@code next} is {@code null} on the last page.
+ */
+public record EventsCursorPage(
+        List<EventDetailedProjection> events,
+        EventCursor next
+) {
+}
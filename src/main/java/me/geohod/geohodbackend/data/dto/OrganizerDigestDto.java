@@ -0,0 +1,13 @@
+package me.geohod.geohodbackend.data.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record OrganizerDigestDto(
+        UUID eventId,
+        UUID organizerId,
+        int registered,
+        int unregistered,
+        Instant windowStartedAt
+) {
+}
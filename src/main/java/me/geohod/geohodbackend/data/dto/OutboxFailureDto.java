@@ -0,0 +1,11 @@
+package me.geohod.geohodbackend.data.dto;
+
+import java.time.Instant;
+
+public record OutboxFailureDto(
+        Long id,
+        String error,
+        Instant nextAttemptAt,
+        boolean deadLetter
+) {
+}
@@ -0,0 +1,13 @@
+package me.geohod.geohodbackend.data.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record OutboxMessageDto(
+        Long id,
+        UUID recipientUserId,
+        TelegramMessagePayload payload,
+        Instant createdAt,
+        int attempts
+) {
+}
@@ -0,0 +1,25 @@
+package me.geohod.geohodbackend.data.dto;
+
+/**
+ * A Telegram message exactly as it goes over the wire: the text is final and already
+ * escaped for {@code parseMode}, which is {@code null} for plain text.
+ */
+public record TelegramMessagePayload(
+        String parseMode,
+        String text,
+        boolean disableWebPagePreview
+) {
+    public static final String MARKDOWN_V2 = "MarkdownV2";
+    /**
+     * Marks outbox rows queued before payloads were stored final. Their text still needs the
+     * MarkdownV2 escaping the sender used to apply, see changelog 3.10.
+     */
+    public static final String LEGACY_MARKDOWN_V2 = "LegacyMarkdownV2";
+
+    /**
+     * Payload for text already formatted as MarkdownV2, sent without link previews.
+     */
+    public static TelegramMessagePayload markdownV2(String text) {
+        return new TelegramMessagePayload(MARKDOWN_V2, text, true);
+    }
+}
@@ -1,5 +1,6 @@
 package me.geohod.geohodbackend.data.model;
 
+import me.geohod.geohodbackend.data.dto.TelegramMessagePayload;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -22,13 +23,24 @@ public class TelegramOutboxMessage implements Persistable<Long> {
     @Id
     private Long id;
     private UUID recipientUserId;
+    private Long bodyId;
     private String message;
+    private String parseMode;
+    private boolean disableWebPagePreview;
     private Instant createdAt;
     private boolean processed;
+    private Instant lockedUntil;
+    private UUID lockedBy;
+    private int attempts;
+    private String lastError;
+    private Instant nextAttemptAt;
+    private boolean deadLetter;
 
-    public TelegramOutboxMessage(UUID recipientUserId, String message) {
+    public TelegramOutboxMessage(UUID recipientUserId, TelegramMessagePayload payload) {
         this.recipientUserId = recipientUserId;
-        this.message = message;
+        this.message = payload.text();
+        this.parseMode = payload.parseMode();
+        this.disableWebPagePreview = payload.disableWebPagePreview();
         this.createdAt = Instant.now();
     }
 
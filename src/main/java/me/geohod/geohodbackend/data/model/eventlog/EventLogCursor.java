@@ -0,0 +1,33 @@
+package me.geohod.geohodbackend.data.model.eventlog;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Keyset position in event_logs, ordered by (created_at, id) exactly like PostgreSQL does.
+ */
+public record EventLogCursor(Instant createdAt, UUID id) implements Comparable<EventLogCursor> {
+
+    // PostgreSQL compares uuid values as unsigned bytes, UUID.compareTo is signed
+    private static final Comparator<UUID> UUID_ORDER = Comparator
+            .<UUID, Long>comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private static final Comparator<EventLogCursor> ORDER = Comparator
+            .comparing(EventLogCursor::createdAt)
+            .thenComparing(EventLogCursor::id, UUID_ORDER);
+
+    public static EventLogCursor of(EventLog eventLog) {
+        return new EventLogCursor(eventLog.getCreatedAt(), eventLog.getId());
+    }
+
+    public boolean isBefore(EventLog eventLog) {
+        return compareTo(of(eventLog)) < 0;
+    }
+
+    @Override
+    public int compareTo(EventLogCursor other) {
+        return ORDER.compare(this, other);
+    }
+}
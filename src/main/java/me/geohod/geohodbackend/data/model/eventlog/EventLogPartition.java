@@ -0,0 +1,43 @@
+package me.geohod.geohodbackend.data.model.eventlog;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Monthly partition of event_logs, named {@code event_logs_pYYYY_MM} and covering
+ * created_at from the first of the month (inclusive) to the first of the next month (exclusive), in UTC.
+ */
+public record EventLogPartition(YearMonth month) implements Comparable<EventLogPartition> {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("event_logs_p(\\d{4})_(\\d{2})");
+
+    public static Optional<EventLogPartition> fromTableName(String tableName) {
+        Matcher matcher = TABLE_NAME.matcher(tableName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(new EventLogPartition(
+                YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)))));
+    }
+
+    public String tableName() {
+        return "event_logs_p%04d_%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+
+    public Instant start() {
+        return month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+
+    public Instant end() {
+        return month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+
+    @Override
+    public int compareTo(EventLogPartition other) {
+        return month.compareTo(other.month);
+    }
+}
@@ -0,0 +1,57 @@
+package me.geohod.geohodbackend.data.model.eventlog;
+
+import java.util.UUID;
+
+/**
+ * Typed body of an event log entry, one record per {@link EventType}.
+ * Stored as JSON in event_logs.payload and parsed once per log by the dispatcher.
+ */
+public sealed interface EventLogPayload {
+
+    EventType type();
+
+    static Class<? extends EventLogPayload> payloadClass(EventType type) {
+        return switch (type) {
+            case EVENT_CREATED -> EventCreated.class;
+            case EVENT_CANCELED -> EventCanceled.class;
+            case EVENT_FINISHED_FOR_REVIEW_LINK -> EventFinished.class;
+            case EVENT_REGISTERED -> ParticipantRegistered.class;
+            case EVENT_UNREGISTERED -> ParticipantUnregistered.class;
+        };
+    }
+
+    record EventCreated(UUID authorId) implements EventLogPayload {
+        @Override
+        public EventType type() {
+            return EventType.EVENT_CREATED;
+        }
+    }
+
+    record EventCanceled(boolean notifyParticipants) implements EventLogPayload {
+        @Override
+        public EventType type() {
+            return EventType.EVENT_CANCELED;
+        }
+    }
+
+    record EventFinished(boolean sendPollLink) implements EventLogPayload {
+        @Override
+        public EventType type() {
+            return EventType.EVENT_FINISHED_FOR_REVIEW_LINK;
+        }
+    }
+
+    record ParticipantRegistered(UUID userId, UUID eventId) implements EventLogPayload {
+        @Override
+        public EventType type() {
+            return EventType.EVENT_REGISTERED;
+        }
+    }
+
+    record ParticipantUnregistered(UUID userId, UUID eventId) implements EventLogPayload {
+        @Override
+        public EventType type() {
+            return EventType.EVENT_UNREGISTERED;
+        }
+    }
+}
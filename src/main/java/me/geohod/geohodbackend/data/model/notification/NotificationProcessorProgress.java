@@ -26,6 +26,7 @@ public class NotificationProcessorProgress implements Persistable<UUID> {
     private String processorName;
     private Instant lastProcessedCreatedAt;
     private UUID lastProcessedId;
+    private Integer shards;
     private Instant updatedAt;
 
     public NotificationProcessorProgress(String processorName, Instant lastProcessedCreatedAt, UUID lastProcessedId) {
@@ -42,6 +43,10 @@ public class NotificationProcessorProgress implements Persistable<UUID> {
         this.updatedAt = Instant.now();
     }
 
+    public void updateShards(int shards) {
+        this.shards = shards;
+    }
+
     @Override
     public boolean isNew() {
         return version == null;
@@ -0,0 +1,59 @@
+package me.geohod.geohodbackend.data.model.repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPartition;
+
+/**
+ * DDL for the monthly partitions of event_logs. Table names come from {@link EventLogPartition},
+ * never from user input, so they are safe to format into statements.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventLogPartitionRepository {
+        private static final String FIND_PARTITIONS_SQL = """
+                        SELECT c.relname
+                        FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = 'event_logs'::regclass
+                        """;
+
+        private final JdbcTemplate jdbcTemplate;
+
+        /**
+         * Monthly partitions currently attached to event_logs, oldest first. The default partition is not included.
+         */
+        public List<EventLogPartition> findAttached() {
+                return jdbcTemplate.queryForList(FIND_PARTITIONS_SQL, String.class).stream()
+                                .map(EventLogPartition::fromTableName)
+                                .flatMap(Optional::stream)
+                                .sorted()
+                                .toList();
+        }
+
+        public void create(EventLogPartition partition) {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS %s PARTITION OF event_logs FOR VALUES FROM ('%s') TO ('%s')"
+                                .formatted(partition.tableName(), partition.month().atDay(1), partition.month().plusMonths(1).atDay(1)));
+        }
+
+        /**
+         * Detaches a partition, waiting at most {@code lockTimeout} for the ACCESS EXCLUSIVE lock on
+         * event_logs so that the wait does not queue up the writers behind it. CONCURRENTLY is not
+         * available because event_logs has a default partition. Must run inside a transaction, which
+         * scopes the lock timeout; a timeout surfaces as a {@code PessimisticLockingFailureException}.
+         */
+        public void detach(EventLogPartition partition, Duration lockTimeout) {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '%dms'".formatted(lockTimeout.toMillis()));
+                jdbcTemplate.execute("ALTER TABLE event_logs DETACH PARTITION %s".formatted(partition.tableName()));
+        }
+
+        public void drop(EventLogPartition partition) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS %s".formatted(partition.tableName()));
+        }
+}
@@ -13,10 +13,19 @@ import me.geohod.geohodbackend.data.model.eventlog.EventLog;
 
 @Repository
 public interface EventLogRepository extends CrudRepository<EventLog, UUID> {
+    /**
+     * The row comparison alone does not prune partitions of event_logs; the redundant bound on
+     * created_at lets the planner skip the months behind the cursor.
+     */
+    String FIND_UNPROCESSED_AFTER_SQL = "SELECT * FROM event_logs WHERE created_at >= :lastCreatedAt AND (created_at, id) > (:lastCreatedAt, :lastId) ORDER BY created_at ASC, id ASC LIMIT :limit";
+    String COUNT_UNPROCESSED_AFTER_SQL = "SELECT COUNT(*) FROM event_logs WHERE created_at >= :lastCreatedAt AND (created_at, id) > (:lastCreatedAt, :lastId)";
 
-    @Query("SELECT * FROM event_logs WHERE (created_at, id) > (:lastCreatedAt, :lastId) ORDER BY created_at ASC, id ASC LIMIT :limit")
+    @Query(FIND_UNPROCESSED_AFTER_SQL)
     List<EventLog> findUnprocessedAfter(@Param("lastCreatedAt") Instant lastCreatedAt, @Param("lastId") UUID lastId, @Param("limit") int limit);
 
     @Query("SELECT * FROM event_logs ORDER BY created_at ASC, id ASC LIMIT :limit")
     List<EventLog> findFirstUnprocessed(@Param("limit") int limit);
+
+    @Query(COUNT_UNPROCESSED_AFTER_SQL)
+    long countUnprocessedAfter(@Param("lastCreatedAt") Instant lastCreatedAt, @Param("lastId") UUID lastId);
 }
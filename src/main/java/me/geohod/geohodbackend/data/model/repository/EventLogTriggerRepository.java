@@ -0,0 +1,37 @@
+package me.geohod.geohodbackend.data.model.repository;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads back the NOTIFY trigger installed on event_logs by the migrations.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventLogTriggerRepository {
+        private static final String FIND_FUNCTION_SQL = """
+                        SELECT prosrc
+                        FROM pg_proc
+                        WHERE proname = 'notify_event_logs_inserted'
+                        """;
+        private static final Pattern NOTIFY_CHANNEL = Pattern.compile("pg_notify\\(\\s*'([^']*)'");
+
+        private final JdbcTemplate jdbcTemplate;
+
+        /**
+         * Channel the trigger function notifies, or empty if the function is missing.
+         */
+        public Optional<String> findNotifyChannel() {
+                return jdbcTemplate.queryForList(FIND_FUNCTION_SQL, String.class).stream()
+                                .findFirst()
+                                .map(NOTIFY_CHANNEL::matcher)
+                                .filter(Matcher::find)
+                                .map(matcher -> matcher.group(1));
+        }
+}
@@ -1,27 +1,73 @@
 package me.geohod.geohodbackend.data.model.repository;
 
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import lombok.RequiredArgsConstructor;
+import me.geohod.geohodbackend.data.dto.EventCursor;
 import me.geohod.geohodbackend.data.dto.EventDetailedProjection;
+import me.geohod.geohodbackend.data.dto.EventsCursorPage;
 import me.geohod.geohodbackend.data.dto.TelegramUserDetails;
 import me.geohod.geohodbackend.data.model.Event;
 
 @Repository
 @RequiredArgsConstructor
 public class EventProjectionRepository {
+    private static final String EVENT_COLUMNS = """
+                    e.id AS event_id,
+                    e.created_at AS created_at,
+                    u.tg_id AS author_tg_id,
+                    u.tg_username AS author_username,
+                    u.first_name AS author_first_name,
+                    u.last_name AS author_last_name,
+                    u.tg_image_url AS author_image_url,
+                    us.phone_number AS author_phone_number,
+                    e.name AS event_name,
+                    e.description AS event_description,
+                    e.date AS event_date,
+                    e.max_participants AS event_max_participants,
+                    e.current_participants AS event_current_participants,
+                    e.status AS event_status,
+                    e.send_poll_link,
+                    e.donation_cash,
+                    e.donation_transfer,
+                    BOOL_OR(p.poll_link_sent) as poll_link_sent,
+                    BOOL_OR(p.cash_donated) as cash_donated,
+                    BOOL_OR(p.transfer_donated) as transfer_donated,
+                    COALESCE(ur.average_rating, 0) as author_average_rating,
+                    COALESCE(ur.total_reviews_count, 0) as author_total_reviews
+            """;
+
+    private static final String EVENT_JOINS = """
+                    JOIN users u ON e.author_id = u.id
+                    LEFT JOIN user_settings us ON us.user_id = u.id
+                    LEFT JOIN event_participants p ON e.id = p.event_id
+            """;
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    private static final String EVENT_GROUP_BY = " GROUP BY e.id, u.id, us.phone_number, ur.average_rating, ur.total_reviews_count ";
+
     private final NamedParameterJdbcTemplate jdbcTemplate;
 
     public EventDetailedProjection event(UUID eventId, UUID userId) {
@@ -103,8 +149,126 @@ public class EventProjectionRepository {
             UUID participantUserId,
             List<Event.Status> statuses,
             Pageable pageable) {
-        StringBuilder whereClause = new StringBuilder(" WHERE 1=1 ");
+        Slice<EventDetailedProjection> events = eventSlice(authorUserId, participantUserId, statuses, pageable);
+        return new PageImpl<>(events.getContent(), pageable, countEvents(authorUserId, participantUserId, statuses));
+    }
+
+    /**
+     * Reads a page of the event list without counting the whole list; one row beyond the page
+     * tells whether there is a next one.
+     */
+    public Slice<EventDetailedProjection> eventSlice(
+            UUID authorUserId,
+            UUID participantUserId,
+            List<Event.Status> statuses,
+            Pageable pageable) {
+        Map<String, Object> params = new HashMap<>();
+        String whereClause = buildWhereClause(authorUserId, participantUserId, statuses, params);
+
+        String orderByClause = buildOrderByClause(pageable);
+
+        String selectSql = "SELECT DISTINCT " + EVENT_COLUMNS + " FROM events e " + EVENT_JOINS +
+                " LEFT JOIN user_ratings ur ON ur.user_id = u.id " +
+                whereClause + EVENT_GROUP_BY + " ORDER BY " + orderByClause
+                + " OFFSET :offset LIMIT :pageSize";
+
+        params.put("offset", pageable.getOffset());
+        params.put("pageSize", pageable.getPageSize() + 1);
+
+        List<EventDetailedProjection> events = jdbcTemplate.query(
+                selectSql,
+                params,
+                (ResultSet rs, int _) -> mapEvent(rs));
+
+        boolean hasNext = events.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? events.subList(0, pageable.getPageSize()) : events, pageable, hasNext);
+    }
+
+    /**
+     * Exact size of the event list. Counts the events table alone, participation is checked
+     * by {@code EXISTS} instead of joining and de-duplicating participant rows.
+     */
+    public long countEvents(UUID authorUserId, UUID participantUserId, List<Event.Status> statuses) {
         Map<String, Object> params = new HashMap<>();
+        String countSql = "SELECT COUNT(*) FROM events e "
+                + buildPageWhereClause(authorUserId, participantUserId, statuses, params);
+
+        Long count = jdbcTemplate.queryForObject(countSql, params, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Planner estimate of the size of the event list, read from {@code EXPLAIN} without
+     * executing the query. Depends on table statistics and is off for selective filters.
+     */
+    public long estimateEvents(UUID authorUserId, UUID participantUserId, List<Event.Status> statuses) {
+        Map<String, Object> params = new HashMap<>();
+        String explainSql = "EXPLAIN (FORMAT JSON) SELECT e.id FROM events e "
+                + buildPageWhereClause(authorUserId, participantUserId, statuses, params);
+
+        String plan = jdbcTemplate.queryForObject(explainSql, params, String.class);
+        Matcher rows = plan == null ? null : PLAN_ROWS.matcher(plan);
+        return rows != null && rows.find() ? Long.parseLong(rows.group(1)) : 0;
+    }
+
+    /**
+     * Keyset variant of {@link #events(UUID, UUID, List, Pageable)}: reads the page after
+     * {@code after}, or the first page when it is {@code null}, ordered by {@code order} and
+     * then by id. Events are first selected by a seek on {@code (sort_col, id)}, which an index
+     * serves without scanning earlier rows, and only that page is joined and aggregated.
+     */
+    public EventsCursorPage events(
+            UUID authorUserId,
+            UUID participantUserId,
+            List<Event.Status> statuses,
+            EventCursor after,
+            Sort.Order order,
+            int pageSize) {
+        Map<String, Object> params = new HashMap<>();
+        String whereClause = buildWhereClause(authorUserId, participantUserId, statuses, params);
+        String pageWhereClause = buildPageWhereClause(authorUserId, participantUserId, statuses, params);
+
+        SortKey sortKey = SortKey.of(order.getProperty());
+        Sort.Direction direction = order.getDirection();
+        String orderByClause = sortKey.column + " " + direction.name() + ", e.id " + direction.name();
+
+        if (after != null) {
+            pageWhereClause += " AND " + buildKeysetPredicate(sortKey, direction, after, params);
+        }
+
+        String selectSql = "WITH page AS (SELECT e.id FROM events e " + pageWhereClause
+                + " ORDER BY " + orderByClause + " LIMIT :limit) "
+                + "SELECT " + EVENT_COLUMNS + ", " + sortKey.column + " AS sort_key "
+                + " FROM page JOIN events e ON e.id = page.id " + EVENT_JOINS
+                + " LEFT JOIN user_ratings ur ON ur.user_id = u.id "
+                + whereClause + EVENT_GROUP_BY + " ORDER BY " + orderByClause;
+
+        // One extra row tells whether there is a next page
+        params.put("limit", pageSize + 1);
+
+        List<String> keys = new ArrayList<>();
+        List<EventDetailedProjection> events = jdbcTemplate.query(
+                selectSql,
+                params,
+                (ResultSet rs, int _) -> {
+                    keys.add(sortKey.read(rs));
+                    return mapEvent(rs);
+                });
+
+        if (events.size() <= pageSize) {
+            return new EventsCursorPage(events, null);
+        }
+        EventDetailedProjection last = events.get(pageSize - 1);
+        return new EventsCursorPage(events.subList(0, pageSize),
+                new EventCursor(sortKey.property, direction, keys.get(pageSize - 1), last.id()));
+    }
+
+    private String buildWhereClause(
+            UUID authorUserId,
+            UUID participantUserId,
+            List<Event.Status> statuses,
+            Map<String, Object> params) {
+        StringBuilder whereClause = new StringBuilder(" WHERE 1=1 ");
 
         if (authorUserId != null) {
             whereClause.append(" AND e.author_id = :authorUserId ");
@@ -126,80 +290,55 @@ public class EventProjectionRepository {
         whereClause.append(" AND e.status IN (:statuses) ");
         params.put("statuses", statusesFilter);
 
-        String baseSql = """
-                    FROM events e
-                        JOIN users u ON e.author_id = u.id
-                        LEFT JOIN user_settings us ON us.user_id = u.id
-                        LEFT JOIN event_participants p ON e.id = p.event_id
-                """;
-
-        String countSql = "SELECT COUNT(DISTINCT e.id) " + baseSql + whereClause;
+        return whereClause.toString();
+    }
 
-        String orderByClause = buildOrderByClause(pageable);
+    /**
+     * Same filter as {@link #buildWhereClause} on the events table alone, with participation
+     * checked by {@code EXISTS} so that no join multiplies the rows being paged or counted.
+     */
+    private String buildPageWhereClause(
+            UUID authorUserId,
+            UUID participantUserId,
+            List<Event.Status> statuses,
+            Map<String, Object> params) {
+        String participates = "EXISTS (SELECT 1 FROM event_participants ep"
+                + " WHERE ep.event_id = e.id AND ep.user_id = :participantUserId)";
+        params.put("authorUserId", authorUserId);
+        params.put("participantUserId", participantUserId);
+        params.put("statuses", prepareStatusesFilter(statuses));
 
-        String selectSql = """
-                    SELECT DISTINCT
-                        e.id AS event_id,
-                        e.created_at AS created_at,
-                        u.tg_id AS author_tg_id,
-                        u.tg_username AS author_username,
-                        u.first_name AS author_first_name,
-                        u.last_name AS author_last_name,
-                        u.tg_image_url AS author_image_url,
-                        us.phone_number AS author_phone_number,
-                        e.name AS event_name,
-                        e.description AS event_description,
-                        e.date AS event_date,
-                        e.max_participants AS event_max_participants,
-                        e.current_participants AS event_current_participants,
-                        e.status AS event_status,
-                        e.send_poll_link,
-                        e.donation_cash,
-                        e.donation_transfer,
-                        BOOL_OR(p.poll_link_sent) as poll_link_sent,
-                        BOOL_OR(p.cash_donated) as cash_donated,
-                        BOOL_OR(p.transfer_donated) as transfer_donated,
-                        COALESCE(ur.average_rating, 0) as author_average_rating,
-                        COALESCE(ur.total_reviews_count, 0) as author_total_reviews
-                """ + baseSql +
-                " LEFT JOIN user_ratings ur ON ur.user_id = u.id " +
-                whereClause + " GROUP BY e.id, u.id, us.phone_number, ur.average_rating, ur.total_reviews_count ORDER BY " + orderByClause
-                + " OFFSET :offset LIMIT :pageSize";
+        StringBuilder whereClause = new StringBuilder(" WHERE e.status IN (:statuses) ");
+        if (authorUserId != null && participantUserId != null) {
+            whereClause.append(" AND (e.author_id = :authorUserId OR ").append(participates).append(") ");
+        } else if (authorUserId != null) {
+            whereClause.append(" AND e.author_id = :authorUserId ");
+        } else if (participantUserId != null) {
+            whereClause.append(" AND ").append(participates);
+        }
+        return whereClause.toString();
+    }
 
-        params.put("offset", pageable.getOffset());
-        params.put("pageSize", pageable.getPageSize());
+    /**
+     * Rows after the cursor. PostgreSQL sorts nulls last ascending and first descending, so a
+     * cursor on a null key continues among the null keys by id, and an ascending walk over
+     * non-null keys still has the null keys ahead of it.
+     */
+    private String buildKeysetPredicate(SortKey sortKey, Sort.Direction direction, EventCursor after,
+            Map<String, Object> params) {
+        String comparison = direction.isAscending() ? ">" : "<";
+        params.put("cursorId", after.id());
 
-        Integer totalElements = jdbcTemplate.queryForObject(countSql, params, Integer.class);
-        List<EventDetailedProjection> events = jdbcTemplate.query(
-                selectSql,
-                params,
-                (ResultSet rs, int _) -> new EventDetailedProjection(
-                        UUID.fromString(rs.getString("event_id")),
-                        new TelegramUserDetails(
-                                rs.getString("author_tg_id"),
-                                rs.getString("author_username"),
-                                rs.getString("author_first_name"),
-                                rs.getString("author_last_name"),
-                                rs.getString("author_image_url"),
-                                rs.getString("author_phone_number")),
-                        new EventDetailedProjection.AuthorRating(
-                                rs.getBigDecimal("author_average_rating"),
-                                rs.getInt("author_total_reviews")),
-                        rs.getString("event_name"),
-                        rs.getString("event_description"),
-                        rs.getTimestamp("event_date").toInstant(),
-                        rs.getInt("event_max_participants"),
-                        rs.getInt("event_current_participants"),
-                        Event.Status.valueOf(rs.getString("event_status")),
-                        rs.getBoolean("send_poll_link"),
-                        rs.getBoolean("donation_cash"),
-                        rs.getBoolean("donation_transfer"),
-                        new EventDetailedProjection.ParticipantState(
-                                rs.getBoolean("poll_link_sent"),
-                                rs.getBoolean("cash_donated"),
-                                rs.getBoolean("transfer_donated"))));
+        if (after.key() == null) {
+            String nullKeys = "(" + sortKey.column + " IS NULL AND e.id " + comparison + " :cursorId)";
+            return direction.isAscending() ? nullKeys : "(" + nullKeys + " OR " + sortKey.column + " IS NOT NULL)";
+        }
 
-        return new PageImpl<>(events, pageable, totalElements == null ? 0 : totalElements);
+        params.put("cursorKey", sortKey.bind(after.key()));
+        String seek = "(" + sortKey.column + ", e.id) " + comparison + " (:cursorKey, :cursorId)";
+        return sortKey.nullable && direction.isAscending()
+                ? "(" + seek + " OR " + sortKey.column + " IS NULL)"
+                : seek;
     }
 
     private String buildOrderByClause(Pageable pageable) {
@@ -209,16 +348,8 @@ public class EventProjectionRepository {
 
         List<String> orders = new ArrayList<>();
         pageable.getSort().forEach(order -> {
-            String property = order.getProperty();
+            String column = SortKey.of(order.getProperty()).column;
             String direction = order.getDirection().name();
-            String column = switch (property) {
-                case "name" -> "e.name";
-                case "date" -> "e.date";
-                case "status" -> "e.status";
-                case "createdAt" -> "e.created_at";
-                case "updatedAt" -> "e.updated_at";
-                default -> "e.created_at"; // Fallback to safe default
-            };
             orders.add(column + " " + direction);
         });
 
@@ -230,4 +361,84 @@ public class EventProjectionRepository {
                 ? Arrays.stream(Event.Status.values()).map(Enum::name).toList()
                 : statuses.stream().map(Enum::name).toList();
     }
+
+    private static EventDetailedProjection mapEvent(ResultSet rs) throws SQLException {
+        return new EventDetailedProjection(
+                UUID.fromString(rs.getString("event_id")),
+                new TelegramUserDetails(
+                        rs.getString("author_tg_id"),
+                        rs.getString("author_username"),
+                        rs.getString("author_first_name"),
+                        rs.getString("author_last_name"),
+                        rs.getString("author_image_url"),
+                        rs.getString("author_phone_number")),
+                new EventDetailedProjection.AuthorRating(
+                        rs.getBigDecimal("author_average_rating"),
+                        rs.getInt("author_total_reviews")),
+                rs.getString("event_name"),
+                rs.getString("event_description"),
+                rs.getTimestamp("event_date").toInstant(),
+                rs.getInt("event_max_participants"),
+                rs.getInt("event_current_participants"),
+                Event.Status.valueOf(rs.getString("event_status")),
+                rs.getBoolean("send_poll_link"),
+                rs.getBoolean("donation_cash"),
+                rs.getBoolean("donation_transfer"),
+                new EventDetailedProjection.ParticipantState(
+                        rs.getBoolean("poll_link_sent"),
+                        rs.getBoolean("cash_donated"),
+                        rs.getBoolean("transfer_donated")));
+    }
+
+    /**
+     * Sortable properties of the event list and the columns behind them. Each has a
+     * {@code (column, id)} index for keyset pages.
+     */
+    private enum SortKey {
+        NAME("name", "e.name", true, false),
+        DATE("date", "e.date", true, true),
+        STATUS("status", "e.status", false, false),
+        CREATED_AT("createdAt", "e.created_at", false, true),
+        UPDATED_AT("updatedAt", "e.updated_at", false, true);
+
+        private final String property;
+        private final String column;
+        private final boolean nullable;
+        private final boolean timestamp;
+
+        SortKey(String property, String column, boolean nullable, boolean timestamp) {
+            this.property = property;
+            this.column = column;
+            this.nullable = nullable;
+            this.timestamp = timestamp;
+        }
+
+        static SortKey of(String property) {
+            for (SortKey key : values()) {
+                if (key.property.equals(property)) {
+                    return key;
+                }
+            }
+            return CREATED_AT; // Fallback to safe default
+        }
+
+        String read(ResultSet rs) throws SQLException {
+            if (timestamp) {
+                Timestamp value = rs.getTimestamp("sort_key");
+                return value == null ? null : value.toInstant().toString();
+            }
+            return rs.getString("sort_key");
+        }
+
+        Object bind(String key) {
+            if (!timestamp) {
+                return key;
+            }
+            try {
+                return Timestamp.from(Instant.parse(key));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor key: " + key, e);
+            }
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package me.geohod.geohodbackend.data.model.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import me.geohod.geohodbackend.data.dto.NotificationCreateDto;
+
+@Repository
+@RequiredArgsConstructor
+public class NotificationBatchRepository {
+        private static final String INSERT_SQL = """
+                        INSERT INTO notifications (event_id, user_id, type, payload)
+                        VALUES (:eventId, :userId, :type, CAST(:payload AS jsonb))
+                        """;
+
+        private final NamedParameterJdbcTemplate jdbcTemplate;
+
+        /**
+         * Inserts all notifications as one JDBC batch. Version, read flag and creation time
+         * come from column defaults, nothing is read back.
+         */
+        public void insertAll(List<NotificationCreateDto> notifications) {
+                if (notifications.isEmpty()) {
+                        return;
+                }
+
+                SqlParameterSource[] batch = notifications.stream()
+                                .map(notification -> new MapSqlParameterSource()
+                                                .addValue("eventId", notification.eventId())
+                                                .addValue("userId", notification.userId())
+                                                .addValue("type", notification.type().name())
+                                                .addValue("payload", notification.payload()))
+                                .toArray(SqlParameterSource[]::new);
+
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+}
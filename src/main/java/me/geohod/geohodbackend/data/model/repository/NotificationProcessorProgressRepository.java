@@ -4,10 +4,13 @@ import me.geohod.geohodbackend.data.model.notification.NotificationProcessorProg
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface NotificationProcessorProgressRepository extends CrudRepository<NotificationProcessorProgress, UUID> {
     Optional<NotificationProcessorProgress> findByProcessorName(String processorName);
+
+    List<NotificationProcessorProgress> findByProcessorNameStartingWith(String prefix);
 } 
\ No newline at end of file
@@ -0,0 +1,96 @@
+package me.geohod.geohodbackend.data.model.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import me.geohod.geohodbackend.data.dto.OrganizerDigestDto;
+
+/**
+ * Durable counters behind the organizer digests, one row per event with an open window.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrganizerDigestRepository {
+        private static final String ADD_SQL = """
+                        INSERT INTO organizer_digests (event_id, organizer_id, registered, unregistered, window_started_at)
+                        VALUES (:eventId, :organizerId, :registered, :unregistered, :now)
+                        ON CONFLICT (event_id) DO UPDATE
+                        SET registered = organizer_digests.registered + EXCLUDED.registered,
+                            unregistered = organizer_digests.unregistered + EXCLUDED.unregistered
+                        RETURNING event_id, organizer_id, registered, unregistered, window_started_at
+                        """;
+
+        private static final String FIND_DUE_SQL = """
+                        SELECT event_id
+                        FROM organizer_digests
+                        WHERE window_started_at <= :dueBefore
+                        ORDER BY window_started_at
+                        """;
+
+        private static final String COUNT_SQL = "SELECT COUNT(*) FROM organizer_digests";
+
+        private static final String TAKE_SQL = """
+                        DELETE FROM organizer_digests
+                        WHERE event_id = :eventId
+                          AND window_started_at <= :dueBefore
+                        RETURNING event_id, organizer_id, registered, unregistered, window_started_at
+                        """;
+
+        private final NamedParameterJdbcTemplate jdbcTemplate;
+
+        /**
+         * Adds to the counters of the event's digest, opening a window at {@code now} if there is none.
+         */
+        public OrganizerDigestDto add(UUID eventId, UUID organizerId, int registered, int unregistered, Instant now) {
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                                .addValue("eventId", eventId)
+                                .addValue("organizerId", organizerId)
+                                .addValue("registered", registered)
+                                .addValue("unregistered", unregistered)
+                                .addValue("now", Timestamp.from(now));
+                return jdbcTemplate.queryForObject(ADD_SQL, params, OrganizerDigestRepository::mapRow);
+        }
+
+        /**
+         * Events whose digest window started at or before {@code dueBefore}, oldest window first.
+         */
+        public List<UUID> findDue(Instant dueBefore) {
+                return jdbcTemplate.queryForList(FIND_DUE_SQL,
+                                new MapSqlParameterSource("dueBefore", Timestamp.from(dueBefore)), UUID.class);
+        }
+
+        public long count() {
+                return jdbcTemplate.getJdbcTemplate().queryForObject(COUNT_SQL, Long.class);
+        }
+
+        /**
+         * Removes the event's digest if its window is still due and returns its final counters,
+         * including increments made after it was last read. Empty when another instance took it
+         * first, or when it was taken and a new window opened since the digest was found due.
+         */
+        public Optional<OrganizerDigestDto> take(UUID eventId, Instant dueBefore) {
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                                .addValue("eventId", eventId)
+                                .addValue("dueBefore", Timestamp.from(dueBefore));
+                return jdbcTemplate.query(TAKE_SQL, params, OrganizerDigestRepository::mapRow).stream().findFirst();
+        }
+
+        private static OrganizerDigestDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+                return new OrganizerDigestDto(
+                                rs.getObject("event_id", UUID.class),
+                                rs.getObject("organizer_id", UUID.class),
+                                rs.getInt("registered"),
+                                rs.getInt("unregistered"),
+                                rs.getTimestamp("window_started_at").toInstant());
+        }
+}
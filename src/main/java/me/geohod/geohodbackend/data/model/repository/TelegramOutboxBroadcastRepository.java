@@ -0,0 +1,66 @@
+package me.geohod.geohodbackend.data.model.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import me.geohod.geohodbackend.data.dto.TelegramMessagePayload;
+
+/**
+ * Writes broadcast messages: one {@code tg_outbox_bodies} row with the payload and one
+ * text-less {@code tg_outbox_messages} row per recipient that references it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TelegramOutboxBroadcastRepository {
+        private static final String INSERT_BODY_SQL = """
+                        INSERT INTO tg_outbox_bodies (text, parse_mode, disable_web_page_preview, created_at)
+                        VALUES (:text, :parseMode, :disableWebPagePreview, :createdAt)
+                        RETURNING id
+                        """;
+
+        private static final String INSERT_RECIPIENT_SQL = """
+                        INSERT INTO tg_outbox_messages (recipient_user_id, body_id, created_at)
+                        VALUES (:recipientUserId, :bodyId, :createdAt)
+                        ON CONFLICT (body_id, recipient_user_id) DO NOTHING
+                        """;
+
+        private final NamedParameterJdbcTemplate jdbcTemplate;
+
+        public long insertBody(TelegramMessagePayload payload, Instant createdAt) {
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                                .addValue("text", payload.text())
+                                .addValue("parseMode", payload.parseMode())
+                                .addValue("disableWebPagePreview", payload.disableWebPagePreview())
+                                .addValue("createdAt", Timestamp.from(createdAt));
+                return jdbcTemplate.queryForObject(INSERT_BODY_SQL, params, Long.class);
+        }
+
+        /**
+         * Inserts the recipient rows of a body in one batch. A recipient already queued for the
+         * body is skipped. Returns the number of rows inserted.
+         */
+        public int insertRecipients(long bodyId, Collection<UUID> recipientUserIds, Instant createdAt) {
+                if (recipientUserIds.isEmpty()) {
+                        return 0;
+                }
+                Timestamp created = Timestamp.from(createdAt);
+                SqlParameterSource[] batch = recipientUserIds.stream()
+                                .map(recipientUserId -> new MapSqlParameterSource()
+                                                .addValue("recipientUserId", recipientUserId)
+                                                .addValue("bodyId", bodyId)
+                                                .addValue("createdAt", created))
+                                .toArray(SqlParameterSource[]::new);
+                return Arrays.stream(jdbcTemplate.batchUpdate(INSERT_RECIPIENT_SQL, batch))
+                                .map(count -> Math.max(count, 0))
+                                .sum();
+        }
+}
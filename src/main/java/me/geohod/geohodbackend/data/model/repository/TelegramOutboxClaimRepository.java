@@ -0,0 +1,166 @@
+package me.geohod.geohodbackend.data.model.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import me.geohod.geohodbackend.data.dto.OutboxFailureDto;
+import me.geohod.geohodbackend.data.dto.OutboxMessageDto;
+import me.geohod.geohodbackend.data.dto.TelegramMessagePayload;
+
+/**
+ * Claim/ack access to {@code tg_outbox_messages}. Every method is a single statement, so
+ * no transaction or connection is held while claimed messages are being sent.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TelegramOutboxClaimRepository {
+        private static final String CLAIM_SQL = """
+                        WITH claimed AS (
+                            UPDATE tg_outbox_messages m
+                            SET locked_until = :lockedUntil, locked_by = :lease, version = m.version + 1
+                            FROM (
+                                SELECT id FROM tg_outbox_messages
+                                WHERE processed = false
+                                  AND dead_letter = false
+                                  AND created_at > :createdAfter
+                                  AND (next_attempt_at IS NULL OR next_attempt_at <= :now)
+                                  AND (locked_until IS NULL OR locked_until < :now)
+                                ORDER BY created_at, id
+                                LIMIT :limit
+                                FOR UPDATE SKIP LOCKED
+                            ) claimable
+                            WHERE m.id = claimable.id
+                            RETURNING m.id, m.recipient_user_id, m.body_id, m.message, m.parse_mode,
+                                m.disable_web_page_preview, m.created_at, m.attempts
+                        )
+                        SELECT c.id, c.recipient_user_id, c.created_at, c.attempts,
+                            CASE WHEN c.body_id IS NULL THEN c.message ELSE b.text END AS message,
+                            CASE WHEN c.body_id IS NULL THEN c.parse_mode ELSE b.parse_mode END AS parse_mode,
+                            CASE WHEN c.body_id IS NULL THEN c.disable_web_page_preview
+                                ELSE b.disable_web_page_preview END AS disable_web_page_preview
+                        FROM claimed c
+                        LEFT JOIN tg_outbox_bodies b ON b.id = c.body_id
+                        """;
+
+        private static final String MARK_PROCESSED_SQL = """
+                        UPDATE tg_outbox_messages
+                        SET processed = true, locked_until = NULL, locked_by = NULL, version = version + 1
+                        WHERE id IN (:ids)
+                        """;
+
+        private static final String RELEASE_SQL = """
+                        UPDATE tg_outbox_messages
+                        SET locked_until = NULL, locked_by = NULL, version = version + 1
+                        WHERE id IN (:ids) AND locked_by = :lease
+                        """;
+
+        private static final String RECORD_FAILURE_SQL = """
+                        UPDATE tg_outbox_messages
+                        SET attempts = attempts + 1, last_error = :error, next_attempt_at = :nextAttemptAt,
+                            dead_letter = :deadLetter, locked_until = NULL, locked_by = NULL, version = version + 1
+                        WHERE id = :id AND locked_by = :lease
+                        """;
+
+        private static final String DEAD_LETTER_EXPIRED_SQL = """
+                        UPDATE tg_outbox_messages
+                        SET dead_letter = true, last_error = :error, version = version + 1
+                        WHERE processed = false
+                          AND dead_letter = false
+                          AND created_at <= :createdBefore
+                          AND (locked_until IS NULL OR locked_until < :now)
+                        """;
+
+        private final NamedParameterJdbcTemplate jdbcTemplate;
+
+        /**
+         * Leases up to {@code limit} unsent messages that are due to {@code lease} until {@code lockedUntil}.
+         * Rows locked by a concurrent claim are skipped, rows with an expired lease are taken over.
+         * Dead letters and rows waiting for their next attempt are not claimed. Broadcast rows
+         * return the payload of their shared body.
+         */
+        public List<OutboxMessageDto> claim(UUID lease, int limit, Instant createdAfter, Instant now, Instant lockedUntil) {
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                                .addValue("lease", lease)
+                                .addValue("limit", limit)
+                                .addValue("createdAfter", Timestamp.from(createdAfter))
+                                .addValue("now", Timestamp.from(now))
+                                .addValue("lockedUntil", Timestamp.from(lockedUntil));
+
+                return jdbcTemplate.query(CLAIM_SQL, params, (rs, rowNum) -> new OutboxMessageDto(
+                                rs.getLong("id"),
+                                rs.getObject("recipient_user_id", UUID.class),
+                                new TelegramMessagePayload(
+                                                rs.getString("parse_mode"),
+                                                rs.getString("message"),
+                                                rs.getBoolean("disable_web_page_preview")),
+                                rs.getTimestamp("created_at").toInstant(),
+                                rs.getInt("attempts")))
+                                .stream()
+                                .sorted(Comparator.comparing(OutboxMessageDto::id))
+                                .toList();
+        }
+
+        /**
+         * Marks sent messages as processed, even if their lease expired meanwhile: they were sent.
+         */
+        public void markProcessed(Collection<Long> ids) {
+                if (ids.isEmpty()) {
+                        return;
+                }
+                jdbcTemplate.update(MARK_PROCESSED_SQL, new MapSqlParameterSource("ids", ids));
+        }
+
+        /**
+         * Gives up the lease on messages that could not be sent so the next pass retries them.
+         */
+        public void release(Collection<Long> ids, UUID lease) {
+                if (ids.isEmpty()) {
+                        return;
+                }
+                jdbcTemplate.update(RELEASE_SQL, new MapSqlParameterSource()
+                                .addValue("ids", ids)
+                                .addValue("lease", lease));
+        }
+
+        /**
+         * Records failed attempts in one batch: the error, when to try again and whether the
+         * message is given up on. Rows whose lease was taken over meanwhile are left alone.
+         */
+        public void recordFailures(List<OutboxFailureDto> failures, UUID lease) {
+                if (failures.isEmpty()) {
+                        return;
+                }
+                SqlParameterSource[] batch = failures.stream()
+                                .map(failure -> new MapSqlParameterSource()
+                                                .addValue("id", failure.id())
+                                                .addValue("error", failure.error())
+                                                .addValue("nextAttemptAt", failure.nextAttemptAt() == null
+                                                                ? null
+                                                                : Timestamp.from(failure.nextAttemptAt()))
+                                                .addValue("deadLetter", failure.deadLetter())
+                                                .addValue("lease", lease))
+                                .toArray(SqlParameterSource[]::new);
+                jdbcTemplate.batchUpdate(RECORD_FAILURE_SQL, batch);
+        }
+
+        /**
+         * Moves unsent messages created before {@code createdBefore} to the dead-letter state
+         * instead of leaving them pending forever. Returns the number of rows moved.
+         */
+        public int deadLetterExpired(Instant createdBefore, Instant now) {
+                return jdbcTemplate.update(DEAD_LETTER_EXPIRED_SQL, new MapSqlParameterSource()
+                                .addValue("error", "Expired before it could be sent")
+                                .addValue("createdBefore", Timestamp.from(createdBefore))
+                                .addValue("now", Timestamp.from(now)));
+        }
+}
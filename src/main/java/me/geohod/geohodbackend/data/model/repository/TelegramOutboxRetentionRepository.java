@@ -0,0 +1,88 @@
+package me.geohod.geohodbackend.data.model.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Deletes outbox history in bounded chunks. Every call is one short statement, so a purge
+ * never holds many row locks or a long transaction; rows locked by a sender are skipped.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TelegramOutboxRetentionRepository {
+        private static final String DELETE_FINISHED_SQL = """
+                        DELETE FROM tg_outbox_messages
+                        WHERE id IN (
+                            SELECT id FROM tg_outbox_messages
+                            WHERE (processed = true OR dead_letter = true)
+                              AND created_at < :createdBefore
+                            ORDER BY id
+                            LIMIT :limit
+                            FOR UPDATE SKIP LOCKED
+                        )
+                        """;
+
+        private static final String DELETE_ORPHAN_BODIES_SQL = """
+                        DELETE FROM tg_outbox_bodies
+                        WHERE id IN (
+                            SELECT b.id FROM tg_outbox_bodies b
+                            WHERE b.created_at < :createdBefore
+                              AND NOT EXISTS (SELECT 1 FROM tg_outbox_messages m WHERE m.body_id = b.id)
+                            ORDER BY b.id
+                            LIMIT :limit
+                            FOR UPDATE SKIP LOCKED
+                        )
+                        """;
+
+        private static final String ESTIMATED_ROWS_SQL = """
+                        SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = 'tg_outbox_messages'::regclass
+                        """;
+
+        private static final String TOTAL_BYTES_SQL = """
+                        SELECT pg_total_relation_size('tg_outbox_messages') + pg_total_relation_size('tg_outbox_bodies')
+                        """;
+
+        private final NamedParameterJdbcTemplate jdbcTemplate;
+
+        /**
+         * Deletes up to {@code limit} sent or dead-lettered messages created before {@code createdBefore}.
+         */
+        public int deleteFinished(Instant createdBefore, int limit) {
+                return jdbcTemplate.update(DELETE_FINISHED_SQL, chunk(createdBefore, limit));
+        }
+
+        /**
+         * Deletes up to {@code limit} broadcast bodies created before {@code createdBefore} that no message references.
+         */
+        public int deleteOrphanBodies(Instant createdBefore, int limit) {
+                return jdbcTemplate.update(DELETE_ORPHAN_BODIES_SQL, chunk(createdBefore, limit));
+        }
+
+        /**
+         * Row count of the message table as estimated by the planner statistics, no scan needed.
+         */
+        public long estimateRows() {
+                Long rows = jdbcTemplate.getJdbcTemplate().queryForObject(ESTIMATED_ROWS_SQL, Long.class);
+                return rows != null ? rows : 0;
+        }
+
+        /**
+         * On-disk size of the outbox tables including indexes and TOAST.
+         */
+        public long totalBytes() {
+                Long bytes = jdbcTemplate.getJdbcTemplate().queryForObject(TOTAL_BYTES_SQL, Long.class);
+                return bytes != null ? bytes : 0;
+        }
+
+        private static MapSqlParameterSource chunk(Instant createdBefore, int limit) {
+                return new MapSqlParameterSource()
+                                .addValue("createdBefore", Timestamp.from(createdBefore))
+                                .addValue("limit", limit);
+        }
+}
@@ -5,6 +5,7 @@ import me.geohod.geohodbackend.service.notification.NotificationRole;
 import me.geohod.geohodbackend.service.notification.processor.strategy.StrategyNotificationType;
 import org.springframework.data.repository.CrudRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,6 +14,8 @@ public interface UserNotificationSettingRepository extends CrudRepository<UserNo
 
     List<UserNotificationSetting> findAllByUserId(UUID userId);
 
+    List<UserNotificationSetting> findAllByUserIdIn(Collection<UUID> userIds);
+
     Optional<UserNotificationSetting> findByUserIdAndTypeAndRole(UUID userId, StrategyNotificationType type,
                                                                   NotificationRole role);
 }
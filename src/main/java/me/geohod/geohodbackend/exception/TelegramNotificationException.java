@@ -1,7 +1,41 @@
 package me.geohod.geohodbackend.exception;
 
+import java.time.Duration;
+
+/**
+ * Failure to deliver a Telegram message. Carries the Bot API error code and the
+ * {@code retry_after} of 429 responses when the API answered at all.
+ */
 public class TelegramNotificationException extends GeohodException {
+    private final Integer errorCode;
+    private final Duration retryAfter;
+
     public TelegramNotificationException(String message, Throwable cause) {
+        this(message, cause, null, null);
+    }
+
+    public TelegramNotificationException(String message, Throwable cause, Integer errorCode, Duration retryAfter) {
         super(message, cause);
+        this.errorCode = errorCode;
+        this.retryAfter = retryAfter;
+    }
+
+    public Integer getErrorCode() {
+        return errorCode;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public boolean isRateLimited() {
+        return errorCode != null && errorCode == 429;
+    }
+
+    /**
+     * The request can never succeed: the bot was blocked, the chat does not exist or the message was rejected.
+     */
+    public boolean isPermanent() {
+        return errorCode != null && (errorCode == 400 || errorCode == 403);
     }
-}
\ No newline at end of file
+}
@@ -4,12 +4,19 @@ import java.util.List;
 import java.util.UUID;
 
 import me.geohod.geohodbackend.data.model.eventlog.EventLog;
-import me.geohod.geohodbackend.data.model.eventlog.EventType;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogCursor;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 
 public interface IEventLogService {
-    EventLog createLogEntry(UUID eventId, EventType type, String payload);
+    EventLog createLogEntry(UUID eventId, EventLogPayload payload);
 
-    void createLogEntryAsync(UUID eventId, EventType type, String payload);
+    void createLogEntryAsync(UUID eventId, EventLogPayload payload);
+
+    EventLogPayload readPayload(EventLog eventLog);
 
     List<EventLog> findUnprocessed(int limit, String processorName);
+
+    List<EventLog> findAfter(EventLogCursor cursor, int limit);
+
+    long countAfter(EventLogCursor cursor);
 }
\ No newline at end of file
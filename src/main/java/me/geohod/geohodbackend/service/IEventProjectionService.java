@@ -2,9 +2,12 @@ package me.geohod.geohodbackend.service;
 
 import jakarta.annotation.Nullable;
 import me.geohod.geohodbackend.data.dto.EventDetailedProjection;
+import me.geohod.geohodbackend.data.dto.EventsCursorPage;
 import me.geohod.geohodbackend.data.model.Event;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.UUID;
@@ -14,6 +17,30 @@ public interface IEventProjectionService {
 
     Page<EventDetailedProjection> events(EventsDetailedProjectionFilter filter, Pageable pageable);
 
+    /**
+     * Reads a page of the event list, counting the whole list only as {@code total} asks.
+     * Returns a {@link Page} with the total unless it is {@link TotalCount#NONE}.
+     */
+    Slice<EventDetailedProjection> events(EventsDetailedProjectionFilter filter, Pageable pageable, TotalCount total);
+
+    /**
+     * Reads the event list page by page: the first page for a {@code null} cursor, then the
+     * page after each returned cursor. {@code sort} applies to the first page only, later
+     * pages keep the sort their cursor was issued for.
+     */
+    EventsCursorPage events(EventsDetailedProjectionFilter filter, @Nullable String cursor, int size, Sort sort);
+
+    /**
+     * How the total of a list is obtained: not at all, by counting, or from the planner's
+     * row estimate. Totals that follow from the page itself, e.g. on the last page, are exact
+     * in every mode.
+     */
+    enum TotalCount {
+        NONE,
+        EXACT,
+        ESTIMATED
+    }
+
     record EventsDetailedProjectionFilter(
             @Nullable UUID authorUserId,
             @Nullable UUID participantUserId,
@@ -1,5 +1,9 @@
 package me.geohod.geohodbackend.service;
 
+import me.geohod.geohodbackend.data.dto.TelegramMessagePayload;
+
 public interface ITelegramBotService {
     void sendMessage(Long chatId, String message);
-}
\ No newline at end of file
+
+    void send(Long chatId, TelegramMessagePayload payload);
+}
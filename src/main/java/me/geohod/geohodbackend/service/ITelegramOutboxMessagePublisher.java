@@ -1,7 +1,30 @@
 package me.geohod.geohodbackend.service;
 
+import java.util.Collection;
 import java.util.UUID;
 
+import me.geohod.geohodbackend.data.dto.TelegramMessagePayload;
+
 public interface ITelegramOutboxMessagePublisher {
-    void publish(UUID userId, String message);
+    void publish(UUID userId, TelegramMessagePayload payload);
+
+    /**
+     * Publishes a message already formatted as MarkdownV2. It is sent as is, without further escaping.
+     */
+    default void publish(UUID userId, String message) {
+        publish(userId, TelegramMessagePayload.markdownV2(message));
+    }
+
+    /**
+     * Publishes one payload to many users. The payload is stored once and every user receives it
+     * at most once, however often they appear in {@code userIds}.
+     */
+    void publishBroadcast(Collection<UUID> userIds, TelegramMessagePayload payload);
+
+    /**
+     * Broadcasts a message already formatted as MarkdownV2.
+     */
+    default void publishBroadcast(Collection<UUID> userIds, String message) {
+        publishBroadcast(userIds, TelegramMessagePayload.markdownV2(message));
+    }
 }
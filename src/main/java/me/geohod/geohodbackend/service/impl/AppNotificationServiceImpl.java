@@ -11,6 +11,7 @@ import me.geohod.geohodbackend.data.dto.NotificationCreateDto;
 import me.geohod.geohodbackend.data.dto.NotificationDto;
 import me.geohod.geohodbackend.data.mapper.NotificationMapper;
 import me.geohod.geohodbackend.data.model.notification.Notification;
+import me.geohod.geohodbackend.data.model.repository.NotificationBatchRepository;
 import me.geohod.geohodbackend.data.model.repository.NotificationRepository;
 import me.geohod.geohodbackend.service.notification.IAppNotificationService;
 
@@ -19,6 +20,7 @@ import me.geohod.geohodbackend.service.notification.IAppNotificationService;
 public class AppNotificationServiceImpl implements IAppNotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationBatchRepository notificationBatchRepository;
     private final NotificationMapper notificationMapper;
 
     @Override
@@ -78,4 +80,12 @@ public class AppNotificationServiceImpl implements IAppNotificationService {
         Notification savedNotification = notificationRepository.save(notification);
         return notificationMapper.toDto(savedNotification);
     }
+
+    @Override
+    public void createNotifications(List<NotificationCreateDto> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return;
+        }
+        notificationBatchRepository.insertAll(requests);
+    }
 }
@@ -0,0 +1,77 @@
+package me.geohod.geohodbackend.service.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import me.geohod.geohodbackend.configuration.properties.EventListProperties;
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.service.IEventProjectionService.EventsDetailedProjectionFilter;
+import me.geohod.geohodbackend.service.IEventProjectionService.TotalCount;
+
+/**
+ * Event list totals per filter and count mode, kept for a short TTL in a bounded LRU cache.
+ * Clients paging through a list ask for the same total with every page; a total that is a
+ * few seconds stale is fine for them.
+ */
+@Component
+public class EventCountCache {
+    private final Clock clock;
+    private final Duration ttl;
+    private final Map<Key, CachedCount> cache;
+
+    @Autowired
+    public EventCountCache(EventListProperties properties) {
+        this(properties.countCacheSize(), properties.countCacheTtl(), Clock.systemUTC());
+    }
+
+    EventCountCache(int maxSize, Duration ttl, Clock clock) {
+        this.clock = clock;
+        this.ttl = ttl;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedCount> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached total of the filter or counts and caches it.
+     */
+    public long get(EventsDetailedProjectionFilter filter, TotalCount mode, LongSupplier count) {
+        if (ttl.isZero()) {
+            return count.getAsLong();
+        }
+
+        Key key = new Key(mode, filter.authorUserId(), filter.participantUserId(),
+                filter.statuses() == null ? Set.of() : Set.copyOf(filter.statuses()));
+        Instant now = clock.instant();
+        synchronized (cache) {
+            CachedCount cached = cache.get(key);
+            if (cached != null && cached.expiresAt().isAfter(now)) {
+                return cached.count();
+            }
+        }
+
+        long counted = count.getAsLong();
+        synchronized (cache) {
+            cache.put(key, new CachedCount(counted, now.plus(ttl)));
+        }
+        return counted;
+    }
+
+    private record Key(TotalCount mode, UUID authorUserId, UUID participantUserId, Set<Event.Status> statuses) {
+    }
+
+    private record CachedCount(long count, Instant expiresAt) {
+    }
+}
@@ -6,10 +6,14 @@ import java.util.UUID;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import me.geohod.geohodbackend.data.model.eventlog.EventLog;
-import me.geohod.geohodbackend.data.model.eventlog.EventType;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogCursor;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.data.model.repository.EventLogRepository;
 import me.geohod.geohodbackend.data.model.repository.NotificationProcessorProgressRepository;
 import me.geohod.geohodbackend.service.IEventLogService;
@@ -21,18 +25,19 @@ public class EventLogServiceImpl implements IEventLogService {
 
     private final EventLogRepository eventLogRepository;
     private final NotificationProcessorProgressRepository progressRepository;
+    private final ObjectMapper objectMapper;
 
     @Override
-    public EventLog createLogEntry(UUID eventId, EventType type, String payload) {
-        EventLog eventLog = new EventLog(eventId, type, payload);
+    public EventLog createLogEntry(UUID eventId, EventLogPayload payload) {
+        EventLog eventLog = new EventLog(eventId, payload.type(), toJson(payload));
         return eventLogRepository.save(eventLog);
     }
 
     @Override
     @Async
-    public void createLogEntryAsync(UUID eventId, EventType type, String payload) {
+    public void createLogEntryAsync(UUID eventId, EventLogPayload payload) {
         try {
-            EventLog eventLog = new EventLog(eventId, type, payload);
+            EventLog eventLog = new EventLog(eventId, payload.type(), toJson(payload));
             eventLogRepository.save(eventLog);
         } catch (Exception e) {
             log.error("Failed to create async log entry: {}", e.getMessage(), e);
@@ -41,25 +46,58 @@ public class EventLogServiceImpl implements IEventLogService {
 
     @Override
     public List<EventLog> findUnprocessed(int limit, String processorName) {
-        // Validate parameters
-        if (limit <= 0 || limit > 1000) {
-            throw new IllegalArgumentException("Limit must be between 1 and 1000");
-        }
+        validateLimit(limit);
         if (processorName == null || processorName.trim().isEmpty()) {
             throw new IllegalArgumentException("Processor name cannot be null or empty");
         }
 
         // Find the last processed event log marker for this processor
-        var progress = progressRepository.findByProcessorName(processorName);
+        EventLogCursor cursor = progressRepository.findByProcessorName(processorName)
+                .map(p -> new EventLogCursor(p.getLastProcessedCreatedAt(), p.getLastProcessedId()))
+                .orElse(null);
+
+        return findAfter(cursor, limit);
+    }
+
+    @Override
+    public List<EventLog> findAfter(EventLogCursor cursor, int limit) {
+        validateLimit(limit);
 
-        if (progress.isEmpty()) {
+        if (cursor == null) {
             // No previous processing, return first batch of unprocessed logs
             return eventLogRepository.findFirstUnprocessed(limit);
-        } else {
-            // Return logs after the last processed marker
-            var p = progress.get();
-            return eventLogRepository.findUnprocessedAfter(p.getLastProcessedCreatedAt(), p.getLastProcessedId(), limit);
         }
+        return eventLogRepository.findUnprocessedAfter(cursor.createdAt(), cursor.id(), limit);
     }
-}
 
+    @Override
+    public long countAfter(EventLogCursor cursor) {
+        if (cursor == null) {
+            return eventLogRepository.count();
+        }
+        return eventLogRepository.countUnprocessedAfter(cursor.createdAt(), cursor.id());
+    }
+
+    @Override
+    public EventLogPayload readPayload(EventLog eventLog) {
+        try {
+            return objectMapper.readValue(eventLog.getPayload().value(), EventLogPayload.payloadClass(eventLog.getType()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to parse payload of event log " + eventLog.getId(), e);
+        }
+    }
+
+    private String toJson(EventLogPayload payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize event log payload", e);
+        }
+    }
+
+    private void validateLimit(int limit) {
+        if (limit <= 0 || limit > 1000) {
+            throw new IllegalArgumentException("Limit must be between 1 and 1000");
+        }
+    }
+}
@@ -9,7 +9,7 @@ import lombok.RequiredArgsConstructor;
 import me.geohod.geohodbackend.api.dto.request.UpdateParticipantStateRequest;
 import me.geohod.geohodbackend.data.model.Event;
 import me.geohod.geohodbackend.data.model.EventParticipant;
-import me.geohod.geohodbackend.data.model.eventlog.EventType;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.data.model.repository.EventParticipantRepository;
 import me.geohod.geohodbackend.data.model.repository.EventRepository;
 import me.geohod.geohodbackend.service.IEventLogService;
@@ -50,8 +50,7 @@ public class EventParticipationService implements IEventParticipationService {
 
         eventRepository.save(event);
 
-        String payload = String.format("{\"userId\": \"%s\", \"eventId\": \"%s\"}", userId, eventId);
-        eventLogService.createLogEntry(eventId, EventType.EVENT_REGISTERED, payload);
+        eventLogService.createLogEntry(eventId, new EventLogPayload.ParticipantRegistered(userId, eventId));
     }
 
     @Override
@@ -114,7 +113,6 @@ public class EventParticipationService implements IEventParticipationService {
             eventRepository.decrementParticipantCount(eventId);
         }
 
-        String payload = String.format("{\"userId\": \"%s\", \"eventId\": \"%s\"}", userId, eventId);
-        eventLogService.createLogEntry(eventId, EventType.EVENT_UNREGISTERED, payload);
+        eventLogService.createLogEntry(eventId, new EventLogPayload.ParticipantUnregistered(userId, eventId));
     }
 }
@@ -1,20 +1,29 @@
 package me.geohod.geohodbackend.service.impl;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
+import me.geohod.geohodbackend.data.dto.EventCursor;
 import me.geohod.geohodbackend.data.dto.EventDetailedProjection;
+import me.geohod.geohodbackend.data.dto.EventsCursorPage;
 import me.geohod.geohodbackend.data.model.repository.EventProjectionRepository;
 import me.geohod.geohodbackend.service.IEventProjectionService;
 
 @Service
 @RequiredArgsConstructor
 public class EventProjectionService implements IEventProjectionService {
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final EventProjectionRepository eventProjectionRepository;
+    private final EventCountCache eventCountCache;
 
     @Override
     public EventDetailedProjection event(UUID eventId, UUID userId) {
@@ -29,4 +38,61 @@ public class EventProjectionService implements IEventProjectionService {
                 filter.statuses(),
                 pageable);
     }
+
+    @Override
+    public Slice<EventDetailedProjection> events(EventsDetailedProjectionFilter filter, Pageable pageable,
+            TotalCount total) {
+        Slice<EventDetailedProjection> events = eventProjectionRepository.eventSlice(
+                filter.authorUserId(),
+                filter.participantUserId(),
+                filter.statuses(),
+                pageable);
+        if (total == TotalCount.NONE) {
+            return events;
+        }
+        return new PageImpl<>(events.getContent(), pageable, total(filter, events, total));
+    }
+
+    @Override
+    public EventsCursorPage events(EventsDetailedProjectionFilter filter, String cursor, int size, Sort sort) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        EventCursor after = cursor == null || cursor.isBlank() ? null : EventCursor.decode(cursor);
+        Sort.Order order = after != null
+                ? new Sort.Order(after.direction(), after.property())
+                : firstPageOrder(sort);
+        return eventProjectionRepository.events(
+                filter.authorUserId(),
+                filter.participantUserId(),
+                filter.statuses(),
+                after,
+                order,
+                size);
+    }
+
+    private long total(EventsDetailedProjectionFilter filter, Slice<EventDetailedProjection> events,
+            TotalCount mode) {
+        long seen = events.getPageable().getOffset() + events.getNumberOfElements();
+        if (!events.hasNext() && (events.hasContent() || events.getPageable().getOffset() == 0)) {
+            return seen;
+        }
+
+        long total = eventCountCache.get(filter, mode, () -> mode == TotalCount.ESTIMATED
+                ? eventProjectionRepository.estimateEvents(
+                        filter.authorUserId(), filter.participantUserId(), filter.statuses())
+                : eventProjectionRepository.countEvents(
+                        filter.authorUserId(), filter.participantUserId(), filter.statuses()));
+        // Neither an estimate nor a cached count may contradict the page: there is at least one
+        // more event after it, and a lower total would end infinite scroll early
+        return events.hasNext() ? Math.max(total, seen + 1) : total;
+    }
+
+    private static Sort.Order firstPageOrder(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() > 1) {
+            throw new IllegalArgumentException("Cursor pagination supports sorting by a single property");
+        }
+        return orders.isEmpty() ? Sort.Order.desc("createdAt") : orders.getFirst();
+    }
 }
@@ -5,9 +5,6 @@ import java.util.UUID;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import lombok.RequiredArgsConstructor;
 import me.geohod.geohodbackend.data.dto.CancelEventDto;
 import me.geohod.geohodbackend.data.dto.CreateEventDto;
@@ -16,7 +13,7 @@ import me.geohod.geohodbackend.data.dto.FinishEventDto;
 import me.geohod.geohodbackend.data.dto.UpdateEventDto;
 import me.geohod.geohodbackend.data.mapper.EventModelMapper;
 import me.geohod.geohodbackend.data.model.Event;
-import me.geohod.geohodbackend.data.model.eventlog.EventType;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.data.model.repository.EventRepository;
 import me.geohod.geohodbackend.data.model.repository.UserRepository;
 import me.geohod.geohodbackend.service.IEventLogService;
@@ -29,7 +26,6 @@ public class EventService implements IEventService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final IEventLogService eventLogService;
-    private final ObjectMapper objectMapper;
 
     @Override
     public EventDto event(UUID eventId) {
@@ -50,8 +46,7 @@ public class EventService implements IEventService {
 
         EventDto result = mapper.map(event);
 
-        String payload = toJson(java.util.Map.of("authorId", result.authorId()));
-        eventLogService.createLogEntry(result.id(), EventType.EVENT_CREATED, payload);
+        eventLogService.createLogEntry(result.id(), new EventLogPayload.EventCreated(result.authorId()));
         return result;
     }
 
@@ -83,8 +78,8 @@ public class EventService implements IEventService {
 
         eventRepository.save(event);
 
-        String payload = toJson(java.util.Map.of("notifyParticipants", cancelDto.notifyParticipants()));
-        eventLogService.createLogEntry(cancelDto.eventId(), EventType.EVENT_CANCELED, payload);
+        eventLogService.createLogEntry(cancelDto.eventId(),
+                new EventLogPayload.EventCanceled(cancelDto.notifyParticipants()));
     }
 
     @Override
@@ -99,15 +94,7 @@ public class EventService implements IEventService {
             throw new IllegalStateException("Event not found or already finished");
         }
 
-        String payload = toJson(java.util.Map.of("sendPollLink", finishDto.sendPollLink()));
-        eventLogService.createLogEntryAsync(finishDto.eventId(), EventType.EVENT_FINISHED_FOR_REVIEW_LINK, payload);
-    }
-
-    private String toJson(Object data) {
-        try {
-            return objectMapper.writeValueAsString(data);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to serialize event log payload", e);
-        }
+        eventLogService.createLogEntryAsync(finishDto.eventId(),
+                new EventLogPayload.EventFinished(finishDto.sendPollLink()));
     }
 }
@@ -1,11 +1,16 @@
 package me.geohod.geohodbackend.service.impl;
 
+import java.time.Duration;
+
 import org.springframework.stereotype.Service;
+import org.telegram.telegrambots.bots.DefaultBotOptions;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
 
 import lombok.extern.slf4j.Slf4j;
 import me.geohod.geohodbackend.configuration.properties.GeohodProperties;
+import me.geohod.geohodbackend.data.dto.TelegramMessagePayload;
 import me.geohod.geohodbackend.exception.TelegramNotificationException;
 import me.geohod.geohodbackend.service.ITelegramBotService;
 
@@ -15,19 +20,37 @@ public class GeohodTelegramBotService implements ITelegramBotService {
     private final TelegramBotService telegramBot;
 
     public GeohodTelegramBotService(GeohodProperties properties) {
+        DefaultBotOptions options = new DefaultBotOptions();
+        String apiBaseUrl = properties.telegramBot().apiBaseUrl();
+        if (apiBaseUrl != null && !apiBaseUrl.isBlank()) {
+            options.setBaseUrl(apiBaseUrl);
+            log.info("Telegram Bot API base URL: {}", apiBaseUrl);
+        }
         this.telegramBot = new TelegramBotService(
                 properties.telegramBot().username(),
-                properties.telegramBot().token()
+                properties.telegramBot().token(),
+                options
         );
     }
 
     @Override
     public void sendMessage(Long chatId, String message) {
+        send(chatId, TelegramMessagePayload.markdownV2(message));
+    }
+
+    @Override
+    public void send(Long chatId, TelegramMessagePayload payload) {
         try {
-            SendMessage request = new SendMessage(chatId.toString(), message);
-            request.enableMarkdownV2(true);
-            request.setDisableWebPagePreview(true);
+            SendMessage request = new SendMessage(chatId.toString(), payload.text());
+            request.setParseMode(payload.parseMode());
+            request.setDisableWebPagePreview(payload.disableWebPagePreview());
             telegramBot.execute(request);
+        } catch (TelegramApiRequestException e) {
+            Duration retryAfter = e.getParameters() != null && e.getParameters().getRetryAfter() != null
+                    ? Duration.ofSeconds(e.getParameters().getRetryAfter())
+                    : null;
+            throw new TelegramNotificationException("Error sending Telegram message: " + e.getApiResponse(), e,
+                    e.getErrorCode(), retryAfter);
         } catch (TelegramApiException e) {
             throw new TelegramNotificationException("Error sending Telegram message", e);
         }
@@ -1,11 +1,14 @@
 package me.geohod.geohodbackend.service.impl;
 
 import java.time.Instant;
+import java.util.Comparator;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogCursor;
 import me.geohod.geohodbackend.data.model.notification.NotificationProcessorProgress;
 import me.geohod.geohodbackend.data.model.repository.NotificationProcessorProgressRepository;
 import me.geohod.geohodbackend.service.notification.INotificationProcessorProgressService;
@@ -24,4 +27,33 @@ public class NotificationProcessorProgressServiceImpl implements INotificationPr
         progress.updateProgress(lastProcessedCreatedAt, lastProcessedId);
         progressRepository.save(progress);
     }
+
+    @Override
+    public Optional<EventLogCursor> findCursor(String processorName) {
+        return progressRepository.findByProcessorName(processorName)
+                .filter(p -> p.getLastProcessedCreatedAt() != null && p.getLastProcessedId() != null)
+                .map(p -> new EventLogCursor(p.getLastProcessedCreatedAt(), p.getLastProcessedId()));
+    }
+
+    @Override
+    public Optional<Integer> findShards(String processorName) {
+        Optional<NotificationProcessorProgress> progress = progressRepository.findByProcessorName(processorName);
+        if (progress.isPresent() && progress.get().getShards() != null) {
+            return Optional.of(progress.get().getShards());
+        }
+        // Written before the shard count was stored: shard rows are named "<processor>#<shard>/<shards>"
+        return progressRepository.findByProcessorNameStartingWith(processorName + "#").stream()
+                .max(Comparator.comparing(NotificationProcessorProgress::getUpdatedAt))
+                .map(shard -> Integer.valueOf(shard.getProcessorName().substring(shard.getProcessorName().lastIndexOf('/') + 1)))
+                .or(() -> progress.map(p -> 1));
+    }
+
+    @Override
+    public void updateShards(String processorName, int shards) {
+        NotificationProcessorProgress progress = progressRepository.findByProcessorName(processorName)
+                .orElseGet(() -> new NotificationProcessorProgress(processorName, null, null));
+
+        progress.updateShards(shards);
+        progressRepository.save(progress);
+    }
 }
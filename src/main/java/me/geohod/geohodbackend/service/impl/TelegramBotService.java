@@ -1,6 +1,7 @@
 package me.geohod.geohodbackend.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.telegram.telegrambots.bots.DefaultBotOptions;
 import org.telegram.telegrambots.bots.TelegramLongPollingBot;
 import org.telegram.telegrambots.meta.api.objects.Update;
 
@@ -8,8 +9,8 @@ import org.telegram.telegrambots.meta.api.objects.Update;
 public class TelegramBotService extends TelegramLongPollingBot {
     private final String username;
 
-    public TelegramBotService(String username, String token) {
-        super(token);
+    public TelegramBotService(String username, String token, DefaultBotOptions options) {
+        super(options, token);
         this.username = username;
     }
 
@@ -0,0 +1,104 @@
+package me.geohod.geohodbackend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+import me.geohod.geohodbackend.configuration.properties.TelegramOutboxProperties;
+import me.geohod.geohodbackend.data.model.User;
+import me.geohod.geohodbackend.data.model.repository.UserRepository;
+
+/**
+ * Maps user ids to Telegram chat ids. Users missing from the bounded LRU cache are loaded
+ * with one query per call, so a claimed outbox batch costs at most one lookup instead of
+ * one per message. {@link #invalidate(UUID)} drops a user after a change.
+ */
+@Component
+@Slf4j
+class TelegramChatIdResolver {
+    private final UserRepository userRepository;
+    private final Map<UUID, Long> cache;
+
+    @Autowired
+    TelegramChatIdResolver(UserRepository userRepository, TelegramOutboxProperties properties) {
+        this(userRepository, properties.chatIdCacheSize());
+    }
+
+    TelegramChatIdResolver(UserRepository userRepository, int maxSize) {
+        this.userRepository = userRepository;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the chat ids of the users. Unknown users and users without a numeric Telegram id are left out.
+     */
+    Map<UUID, Long> resolve(Collection<UUID> userIds) {
+        Map<UUID, Long> result = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        synchronized (cache) {
+            for (UUID userId : new LinkedHashSet<>(userIds)) {
+                Long chatId = cache.get(userId);
+                if (chatId != null) {
+                    result.put(userId, chatId);
+                } else {
+                    missing.add(userId);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<UUID, Long> loaded = new HashMap<>();
+        for (User user : userRepository.findAllById(missing)) {
+            try {
+                loaded.put(user.getId(), Long.parseLong(user.getTgId()));
+            } catch (NumberFormatException e) {
+                log.warn("User {} has no valid Telegram id: {}", user.getId(), user.getTgId());
+            }
+        }
+        synchronized (cache) {
+            cache.putAll(loaded);
+        }
+        result.putAll(loaded);
+        return result;
+    }
+
+    /**
+     * Drops the cached chat id of a user. Inside a transaction the entry is dropped
+     * again after commit, so a concurrent reader cannot cache the pre-commit state.
+     */
+    void invalidate(UUID userId) {
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    private void evict(UUID userId) {
+        synchronized (cache) {
+            cache.remove(userId);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.UUID;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
+import me.geohod.geohodbackend.data.dto.TelegramMessagePayload;
 import me.geohod.geohodbackend.data.model.User;
 import me.geohod.geohodbackend.data.model.repository.UserRepository;
 import me.geohod.geohodbackend.service.ITelegramBotService;
@@ -26,6 +27,15 @@ public class TelegramNotificationService implements ITelegramNotificationService
         telegramBotService.sendMessage(chatId, escapedMessage);
     }
 
+    @Override
+    public void sendToChat(long chatId, TelegramMessagePayload payload) {
+        if (TelegramMessagePayload.LEGACY_MARKDOWN_V2.equals(payload.parseMode())) {
+            payload = new TelegramMessagePayload(TelegramMessagePayload.MARKDOWN_V2,
+                    escapeMarkdownV2(payload.text()), payload.disableWebPagePreview());
+        }
+        telegramBotService.send(chatId, payload);
+    }
+
     public String escapeMarkdownV2(String text) {
         if (text == null) {
             return null;
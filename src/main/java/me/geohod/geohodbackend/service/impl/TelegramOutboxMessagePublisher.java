@@ -1,21 +1,49 @@
 package me.geohod.geohodbackend.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.geohod.geohodbackend.data.dto.TelegramMessagePayload;
 import me.geohod.geohodbackend.data.model.TelegramOutboxMessage;
+import me.geohod.geohodbackend.data.model.repository.TelegramOutboxBroadcastRepository;
 import me.geohod.geohodbackend.data.model.repository.TelegramOutboxMessageRepository;
 import me.geohod.geohodbackend.service.ITelegramOutboxMessagePublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class TelegramOutboxMessagePublisher implements ITelegramOutboxMessagePublisher {
     private final TelegramOutboxMessageRepository repository;
+    private final TelegramOutboxBroadcastRepository broadcastRepository;
 
     @Override
-    public void publish(UUID userId, String message) {
-        TelegramOutboxMessage outboxMessage = new TelegramOutboxMessage(userId, message);
+    public void publish(UUID userId, TelegramMessagePayload payload) {
+        TelegramOutboxMessage outboxMessage = new TelegramOutboxMessage(userId, payload);
         repository.save(outboxMessage);
     }
+
+    @Override
+    @Transactional
+    public void publishBroadcast(Collection<UUID> userIds, TelegramMessagePayload payload) {
+        Set<UUID> recipients = new LinkedHashSet<>(userIds);
+        if (recipients.isEmpty()) {
+            return;
+        }
+        if (recipients.size() == 1) {
+            publish(recipients.iterator().next(), payload);
+            return;
+        }
+
+        Instant now = Instant.now();
+        long bodyId = broadcastRepository.insertBody(payload, now);
+        int inserted = broadcastRepository.insertRecipients(bodyId, recipients, now);
+        log.debug("Published broadcast {} to {} recipients", bodyId, inserted);
+    }
 }
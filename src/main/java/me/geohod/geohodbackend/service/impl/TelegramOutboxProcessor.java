@@ -1,53 +1,327 @@
 package me.geohod.geohodbackend.service.impl;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import me.geohod.geohodbackend.data.model.TelegramOutboxMessage;
-import me.geohod.geohodbackend.data.model.repository.TelegramOutboxMessageRepository;
+import me.geohod.geohodbackend.configuration.properties.TelegramOutboxProperties;
+import me.geohod.geohodbackend.data.dto.OutboxFailureDto;
+import me.geohod.geohodbackend.data.dto.OutboxMessageDto;
+import me.geohod.geohodbackend.data.model.repository.TelegramOutboxClaimRepository;
+import me.geohod.geohodbackend.exception.TelegramNotificationException;
 import me.geohod.geohodbackend.service.IOutboxProcessor;
 import me.geohod.geohodbackend.service.notification.ITelegramNotificationService;
 
+/**
+ * Sends Telegram outbox messages in three steps: claim a batch under a lease, send it with
+ * no transaction open, then acknowledge the sent messages and record the failed ones in
+ * one statement each. Claims skip rows locked by other claimers, so several threads or
+ * instances can drain the outbox without sending a message twice.
+ * <p>
+ * A failed message is scheduled for another attempt: after the {@code retry_after} of a
+ * 429, which also pauses the chat in the rate limiter, or after an exponential backoff.
+ * Messages Telegram rejects for good (400, 403, unknown user), messages out of attempts and
+ * messages older than {@code maxAge} become dead letters.
+ * <p>
+ * A sender loop claims new batches whenever fewer than {@code maxInFlight} messages are
+ * in flight and hands every message to its own virtual thread, which waits for the
+ * {@link TelegramRateLimiter} and sends. Chat ids of a claimed batch are resolved in one
+ * lookup through the {@link TelegramChatIdResolver} before any message is handed out. The scheduled tick only restarts the loop if it died.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 class TelegramOutboxProcessor implements IOutboxProcessor {
-    private static final int BATCH_SIZE = 30;
+    private static final Duration BUSY_DELAY = Duration.ofMillis(50);
+    private static final int MAX_ERROR_LENGTH = 1024;
 
-    private final TelegramOutboxMessageRepository outboxRepository;
+    private final TelegramOutboxClaimRepository claimRepository;
     private final ITelegramNotificationService notificationService;
+    private final TelegramRateLimiter rateLimiter;
+    private final TelegramChatIdResolver chatIdResolver;
+    private final TelegramOutboxProperties properties;
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("telegram-sender-", 0).factory());
+    private final Semaphore inFlight;
+    private final Queue<SendResult> results = new ConcurrentLinkedQueue<>();
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter retryCounter;
+    private final Counter deadLetterCounter;
+    private final Timer queueWait;
+    private volatile Thread loop;
+
+    TelegramOutboxProcessor(TelegramOutboxClaimRepository claimRepository,
+            ITelegramNotificationService notificationService,
+            TelegramRateLimiter rateLimiter,
+            TelegramChatIdResolver chatIdResolver,
+            TelegramOutboxProperties properties,
+            MeterRegistry meterRegistry) {
+        this.claimRepository = claimRepository;
+        this.notificationService = notificationService;
+        this.rateLimiter = rateLimiter;
+        this.chatIdResolver = chatIdResolver;
+        this.properties = properties;
+        this.inFlight = new Semaphore(properties.maxInFlight());
+
+        this.sentCounter = Counter.builder("geohod.telegram.outbox.sent")
+                .description("Outbox messages sent to Telegram")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("geohod.telegram.outbox.failed")
+                .description("Outbox messages that failed to send")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("geohod.telegram.outbox.retries")
+                .description("Failed outbox messages scheduled for another attempt")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("geohod.telegram.outbox.dead_letters")
+                .description("Outbox messages given up on after a permanent error, too many attempts or expiry")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("geohod.telegram.outbox.queue.wait")
+                .description("Time from claiming an outbox message until its send starts")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("geohod.telegram.outbox.in_flight", inFlight,
+                        permits -> properties.maxInFlight() - permits.availablePermits())
+                .description("Claimed outbox messages waiting for the rate limiter or being sent")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${geohod.telegram-outbox.delay:5000}")
+    public void ensureRunning() {
+        Thread current = loop;
+        if (current == null || !current.isAlive()) {
+            loop = Thread.ofPlatform().name("telegram-outbox").daemon(true).start(this::runLoop);
+        }
+        deadLetterExpired();
+    }
+
+    /**
+     * Moves messages that are too old to be worth sending to the dead-letter state.
+     */
+    void deadLetterExpired() {
+        try {
+            Instant now = Instant.now();
+            int expired = claimRepository.deadLetterExpired(now.minus(properties.maxAge()), now);
+            if (expired > 0) {
+                deadLetterCounter.increment(expired);
+                log.warn("Moved {} expired outbox messages to dead letters", expired);
+            }
+        } catch (Exception e) {
+            log.error("Failed to dead-letter expired outbox messages: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread current = loop;
+        if (current != null) {
+            current.interrupt();
+        }
+        senders.shutdown();
+        try {
+            senders.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        acknowledge();
+    }
 
-    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.SECONDS)
-    @Transactional
     @Override
     public void processOutbox() {
-        Page<TelegramOutboxMessage> unprocessed = outboxRepository
-                .findAllByProcessedIsFalseAndCreatedAtAfter(Instant.now().minusSeconds(1800), PageRequest.of(0, BATCH_SIZE));
+        dispatchBatch();
+    }
+
+    /**
+     * Waits until no message is in flight and records the results. Used on shutdown and in tests.
+     */
+    void awaitIdle() throws InterruptedException {
+        inFlight.acquire(properties.maxInFlight());
+        inFlight.release(properties.maxInFlight());
+        acknowledge();
+    }
+
+    private void runLoop() {
+        log.info("Telegram outbox sender started");
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                int claimed = 0;
+                try {
+                    claimed = dispatchBatch();
+                } catch (Exception e) {
+                    log.error("Failed to claim outbox messages: {}", e.getMessage(), e);
+                }
+                if (claimed == 0) {
+                    boolean idle = inFlight.availablePermits() == properties.maxInFlight();
+                    Thread.sleep(idle ? properties.idleDelay() : BUSY_DELAY);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Telegram outbox sender stopped");
+    }
+
+    /**
+     * Records finished sends, then claims as many messages as there is room for and starts sending them.
+     */
+    private int dispatchBatch() {
+        acknowledge();
+        int capacity = Math.min(properties.batchSize(), inFlight.availablePermits());
+        if (capacity == 0) {
+            return 0;
+        }
+
+        UUID lease = UUID.randomUUID();
+        Instant now = Instant.now();
+        List<OutboxMessageDto> claimed = claimRepository.claim(lease, capacity,
+                now.minus(properties.maxAge()), now, now.plus(properties.lease()));
+        if (claimed.isEmpty()) {
+            return 0;
+        }
 
-        List<TelegramOutboxMessage> processedMessages = new ArrayList<>();
+        Map<UUID, Long> chatIds;
+        try {
+            chatIds = chatIdResolver.resolve(claimed.stream().map(OutboxMessageDto::recipientUserId).toList());
+        } catch (RuntimeException e) {
+            claimRepository.release(claimed.stream().map(OutboxMessageDto::id).toList(), lease);
+            throw e;
+        }
 
-        for (TelegramOutboxMessage message : unprocessed) {
+        for (OutboxMessageDto message : claimed) {
+            Long chatId = chatIds.get(message.recipientUserId());
+            inFlight.acquireUninterruptibly();
             try {
-                notificationService.sendNotification(message.getRecipientUserId(), message.getMessage());
-                message.markProcessed();
-                processedMessages.add(message);
-            } catch (Exception e) {
-                log.error("Failed to process message {}: {}", message.getId(), e.getMessage(), e);
+                senders.execute(() -> {
+                    try {
+                        send(message, chatId, lease, now);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                inFlight.release();
+                results.add(SendResult.released(message.id(), lease));
+                throw e;
+            }
+        }
+        return claimed.size();
+    }
+
+    private void send(OutboxMessageDto message, Long chatId, UUID lease, Instant claimedAt) {
+        SendResult result;
+        try {
+            if (chatId == null) {
+                throw new IllegalArgumentException("User not found: " + message.recipientUserId());
+            }
+            // Give up on the token well before the lease runs out so no other claimer can send it meanwhile
+            if (rateLimiter.acquire(message.recipientUserId(), properties.lease().dividedBy(2))) {
+                queueWait.record(Duration.between(claimedAt, Instant.now()));
+                notificationService.sendToChat(chatId, message.payload());
+                sentCounter.increment();
+                result = SendResult.sent(message.id(), lease);
+            } else {
+                log.debug("Rate limit wait for message {} exceeded, releasing it", message.id());
+                result = SendResult.released(message.id(), lease);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result = SendResult.released(message.id(), lease);
+        } catch (Exception e) {
+            failedCounter.increment();
+            result = SendResult.failed(lease, failure(message, e));
+        }
+        results.add(result);
+    }
+
+    private OutboxFailureDto failure(OutboxMessageDto message, Exception e) {
+        int attempts = message.attempts() + 1;
+        String error = String.valueOf(e.getMessage());
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        if (e instanceof TelegramNotificationException telegramError && telegramError.isRateLimited()) {
+            Duration retryAfter = telegramError.getRetryAfter() != null
+                    ? telegramError.getRetryAfter()
+                    : properties.retry().initialBackoff();
+            rateLimiter.pause(message.recipientUserId(), retryAfter);
+            retryCounter.increment();
+            log.warn("Telegram rate limited message {}, retrying after {}", message.id(), retryAfter);
+            return new OutboxFailureDto(message.id(), error, Instant.now().plus(retryAfter), false);
+        }
+        boolean permanent = e instanceof IllegalArgumentException
+                || e instanceof TelegramNotificationException telegramError && telegramError.isPermanent();
+        if (permanent || attempts >= properties.retry().maxAttempts()) {
+            deadLetterCounter.increment();
+            log.error("Giving up on message {} after {} attempts: {}", message.id(), attempts, e.getMessage(), e);
+            return new OutboxFailureDto(message.id(), error, null, true);
+        }
+        Duration backoff = properties.retry().backoff(attempts);
+        retryCounter.increment();
+        log.warn("Failed to send message {} (attempt {}), retrying in {}: {}", message.id(), attempts, backoff, e.getMessage());
+        return new OutboxFailureDto(message.id(), error, Instant.now().plus(backoff), false);
+    }
+
+    /**
+     * Marks all finished sends as processed, records the failed ones and releases the ones never attempted,
+     * one statement per outcome and lease.
+     */
+    private void acknowledge() {
+        List<Long> sent = new ArrayList<>();
+        Map<UUID, List<OutboxFailureDto>> failedByLease = new LinkedHashMap<>();
+        Map<UUID, List<Long>> releasedByLease = new LinkedHashMap<>();
+        SendResult result;
+        while ((result = results.poll()) != null) {
+            if (result.failure() != null) {
+                failedByLease.computeIfAbsent(result.lease(), k -> new ArrayList<>()).add(result.failure());
+            } else if (result.sent()) {
+                sent.add(result.id());
+            } else {
+                releasedByLease.computeIfAbsent(result.lease(), k -> new ArrayList<>()).add(result.id());
             }
         }
+        if (sent.isEmpty() && failedByLease.isEmpty() && releasedByLease.isEmpty()) {
+            return;
+        }
+        try {
+            claimRepository.markProcessed(sent);
+            failedByLease.forEach((lease, failures) -> claimRepository.recordFailures(failures, lease));
+            releasedByLease.forEach((lease, ids) -> claimRepository.release(ids, lease));
+        } catch (Exception e) {
+            // Unacknowledged rows become claimable again once their lease expires
+            log.error("Failed to acknowledge outbox messages: {}", e.getMessage(), e);
+        }
+    }
+
+    private record SendResult(long id, UUID lease, boolean sent, OutboxFailureDto failure) {
+        static SendResult sent(long id, UUID lease) {
+            return new SendResult(id, lease, true, null);
+        }
+
+        static SendResult released(long id, UUID lease) {
+            return new SendResult(id, lease, false, null);
+        }
 
-        if (!processedMessages.isEmpty()) {
-            outboxRepository.saveAll(processedMessages);
+        static SendResult failed(UUID lease, OutboxFailureDto failure) {
+            return new SendResult(failure.id(), lease, false, failure);
         }
     }
-}
\ No newline at end of file
+}
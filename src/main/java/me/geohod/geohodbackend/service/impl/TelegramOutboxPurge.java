@@ -0,0 +1,121 @@
+package me.geohod.geohodbackend.service.impl;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import me.geohod.geohodbackend.configuration.properties.TelegramOutboxProperties;
+import me.geohod.geohodbackend.data.model.repository.TelegramOutboxRetentionRepository;
+
+/**
+ * Deletes sent and dead-lettered outbox messages once they are older than the retention,
+ * then the broadcast bodies no message refers to any more. Deletes run chunk by chunk,
+ * each chunk in its own short statement, and stop after {@code maxChunks} so one run
+ * cannot keep the database busy; the next run continues where this one stopped.
+ */
+@Component
+@Slf4j
+class TelegramOutboxPurge {
+    private final TelegramOutboxRetentionRepository retentionRepository;
+    private final TelegramOutboxProperties.Purge properties;
+    private final Clock clock;
+    private final AtomicLong estimatedRows = new AtomicLong();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final Counter purgedMessages;
+    private final Counter purgedBodies;
+    private final Timer purgeDuration;
+
+    @Autowired
+    TelegramOutboxPurge(TelegramOutboxRetentionRepository retentionRepository,
+            TelegramOutboxProperties properties,
+            MeterRegistry meterRegistry) {
+        this(retentionRepository, properties.purge(), meterRegistry, Clock.systemUTC());
+    }
+
+    TelegramOutboxPurge(TelegramOutboxRetentionRepository retentionRepository,
+            TelegramOutboxProperties.Purge properties,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.retentionRepository = retentionRepository;
+        this.properties = properties;
+        this.clock = clock;
+
+        Gauge.builder("geohod.telegram.outbox.rows", estimatedRows, AtomicLong::get)
+                .description("Estimated number of rows in tg_outbox_messages, sampled by the purge job")
+                .register(meterRegistry);
+        Gauge.builder("geohod.telegram.outbox.size", totalBytes, AtomicLong::get)
+                .description("On-disk size of the outbox tables including indexes, sampled by the purge job")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.purgedMessages = Counter.builder("geohod.telegram.outbox.purged")
+                .description("Outbox rows deleted by the purge job")
+                .tag("table", "messages")
+                .register(meterRegistry);
+        this.purgedBodies = Counter.builder("geohod.telegram.outbox.purged")
+                .description("Outbox rows deleted by the purge job")
+                .tag("table", "bodies")
+                .register(meterRegistry);
+        this.purgeDuration = Timer.builder("geohod.telegram.outbox.purge.duration")
+                .description("Duration of one outbox purge run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${geohod.telegram-outbox.purge.cron:0 */10 * * * *}")
+    public void purge() {
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            purgeDuration.record(this::purgeExpired);
+        } catch (Exception e) {
+            log.error("Outbox purge failed: {}", e.getMessage(), e);
+        }
+        sampleTableSize();
+    }
+
+    private void purgeExpired() {
+        Instant cutoff = clock.instant().minus(properties.retention());
+        long messages = deleteInChunks(() -> retentionRepository.deleteFinished(cutoff, properties.chunkSize()));
+        purgedMessages.increment(messages);
+        long bodies = deleteInChunks(() -> retentionRepository.deleteOrphanBodies(cutoff, properties.chunkSize()));
+        purgedBodies.increment(bodies);
+        if (messages > 0 || bodies > 0) {
+            log.info("Purged {} outbox messages and {} broadcast bodies created before {}", messages, bodies, cutoff);
+        }
+    }
+
+    private long deleteInChunks(ChunkDelete delete) {
+        long deleted = 0;
+        for (int chunk = 0; chunk < properties.maxChunks(); chunk++) {
+            int count = delete.run();
+            deleted += count;
+            if (count < properties.chunkSize()) {
+                break;
+            }
+        }
+        return deleted;
+    }
+
+    private void sampleTableSize() {
+        try {
+            estimatedRows.set(retentionRepository.estimateRows());
+            totalBytes.set(retentionRepository.totalBytes());
+        } catch (Exception e) {
+            log.warn("Failed to sample outbox table size: {}", e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkDelete {
+        int run();
+    }
+}
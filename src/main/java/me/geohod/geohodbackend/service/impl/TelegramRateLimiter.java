@@ -0,0 +1,105 @@
+package me.geohod.geohodbackend.service.impl;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import me.geohod.geohodbackend.configuration.properties.TelegramOutboxProperties;
+
+/**
+ * Keeps Telegram sends within the Bot API limits with a global token bucket and one bucket
+ * per chat. A send takes a token from both buckets or from neither. Chats are keyed by
+ * recipient user id, which maps to exactly one chat.
+ */
+@Component
+class TelegramRateLimiter {
+    private final TelegramOutboxProperties.RateLimit properties;
+    private final LongSupplier nanoTime;
+    private final TokenBucket global;
+    private final Map<UUID, TokenBucket> chats;
+    private final Counter globalRejections;
+    private final Counter chatRejections;
+
+    @Autowired
+    TelegramRateLimiter(TelegramOutboxProperties properties, MeterRegistry meterRegistry) {
+        this(properties.rateLimit(), meterRegistry, System::nanoTime);
+    }
+
+    TelegramRateLimiter(TelegramOutboxProperties.RateLimit properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.properties = properties;
+        this.nanoTime = nanoTime;
+        this.global = new TokenBucket(properties.globalPerSecond(), properties.globalPerSecond(), nanoTime.getAsLong());
+        int maxChats = properties.chatBuckets();
+        this.chats = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, TokenBucket> eldest) {
+                return size() > maxChats;
+            }
+        };
+        this.globalRejections = rejections(meterRegistry, "global");
+        this.chatRejections = rejections(meterRegistry, "chat");
+    }
+
+    /**
+     * Takes a token for the chat, or returns how many nanoseconds to wait before trying again.
+     */
+    synchronized long tryAcquire(UUID chatKey) {
+        long now = nanoTime.getAsLong();
+        TokenBucket chat = chats.computeIfAbsent(chatKey, k -> new TokenBucket(properties.perChatPerSecond(), 1, now));
+
+        long chatWait = chat.nanosUntilAvailable(now);
+        if (chatWait > 0) {
+            chatRejections.increment();
+            return chatWait;
+        }
+        long globalWait = global.nanosUntilAvailable(now);
+        if (globalWait > 0) {
+            globalRejections.increment();
+            return globalWait;
+        }
+        chat.consume();
+        global.consume();
+        return 0;
+    }
+
+    /**
+     * Stops handing out tokens for the chat for {@code retryAfter}, as Telegram demands after a 429.
+     */
+    synchronized void pause(UUID chatKey, Duration retryAfter) {
+        long now = nanoTime.getAsLong();
+        chats.computeIfAbsent(chatKey, k -> new TokenBucket(properties.perChatPerSecond(), 1, now))
+                .block(now + retryAfter.toNanos());
+    }
+
+    /**
+     * Waits for a token for the chat. Returns {@code false} if none is available within {@code maxWait}.
+     */
+    boolean acquire(UUID chatKey, Duration maxWait) throws InterruptedException {
+        long deadline = nanoTime.getAsLong() + maxWait.toNanos();
+        while (true) {
+            long wait = tryAcquire(chatKey);
+            if (wait == 0) {
+                return true;
+            }
+            if (nanoTime.getAsLong() + wait > deadline) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private static Counter rejections(MeterRegistry registry, String bucket) {
+        return Counter.builder("geohod.telegram.rate_limiter.rejections")
+                .description("Sends delayed because a rate limiter bucket was empty")
+                .tag("bucket", bucket)
+                .register(registry);
+    }
+}
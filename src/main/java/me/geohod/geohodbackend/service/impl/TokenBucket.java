@@ -0,0 +1,56 @@
+package me.geohod.geohodbackend.service.impl;
+
+/**
+ * Token bucket refilled continuously at a fixed rate. Not thread-safe, callers synchronize.
+ */
+final class TokenBucket {
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+    private long blockedUntil;
+
+    TokenBucket(double tokensPerSecond, double capacity, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / NANOS_PER_SECOND;
+        this.tokens = capacity;
+        this.refilledAt = nowNanos;
+        this.blockedUntil = nowNanos;
+    }
+
+    /**
+     * Nanoseconds until one token is available, zero if it is available now.
+     */
+    long nanosUntilAvailable(long nowNanos) {
+        if (blockedUntil - nowNanos > 0) {
+            return blockedUntil - nowNanos;
+        }
+        refill(nowNanos);
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    void consume() {
+        tokens -= 1;
+    }
+
+    /**
+     * Hands out no tokens until {@code untilNanos} and empties the bucket, so sends resume one at a time.
+     */
+    void block(long untilNanos) {
+        if (untilNanos - blockedUntil > 0) {
+            blockedUntil = untilNanos;
+            tokens = 0;
+            refilledAt = untilNanos;
+        }
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - refilledAt;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            refilledAt = nowNanos;
+        }
+    }
+}
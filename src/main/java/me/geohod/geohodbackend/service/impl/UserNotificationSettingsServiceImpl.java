@@ -6,6 +6,7 @@ import me.geohod.geohodbackend.data.model.UserNotificationSetting;
 import me.geohod.geohodbackend.data.model.repository.UserNotificationSettingRepository;
 import me.geohod.geohodbackend.service.IUserNotificationSettingsService;
 import me.geohod.geohodbackend.service.notification.NotificationChannel;
+import me.geohod.geohodbackend.service.notification.NotificationPreferenceResolver;
 import me.geohod.geohodbackend.service.notification.NotificationRole;
 import me.geohod.geohodbackend.service.notification.NotificationSettingsDefaults;
 import me.geohod.geohodbackend.service.notification.processor.strategy.StrategyNotificationType;
@@ -23,6 +24,7 @@ public class UserNotificationSettingsServiceImpl implements IUserNotificationSet
 
     private final UserNotificationSettingRepository repository;
     private final NotificationSettingsDefaults defaults;
+    private final NotificationPreferenceResolver preferenceResolver;
 
     @Override
     @Transactional(readOnly = true)
@@ -54,6 +56,7 @@ public class UserNotificationSettingsServiceImpl implements IUserNotificationSet
                 .orElseGet(() -> createWithDefaults(userId, type, role));
         setting.updateChannel(channel, enabled);
         UserNotificationSetting saved = repository.save(setting);
+        preferenceResolver.invalidate(userId);
         return new NotificationSettingDto(type, role, buildChannels(type, role, saved));
     }
 
@@ -20,6 +20,7 @@ import me.geohod.geohodbackend.service.IUserService;
 public class UserService implements IUserService {
     private final UserModelMapper userMapper;
     private final UserRepository userRepository;
+    private final TelegramChatIdResolver chatIdResolver;
 
     @Override
     public User getUser(UUID id) {
@@ -43,12 +44,14 @@ public class UserService implements IUserService {
         if (existingUser != null) {
             if (hasUserDataChanged(existingUser, tgUsername, firstName, lastName, tgImageUrl)) {
                 existingUser.updateDetails(tgUsername, firstName, lastName, tgImageUrl);
+                chatIdResolver.invalidate(existingUser.getId());
                 return userRepository.save(existingUser);
             } else {
                 return existingUser;
             }
         } else {
             User newUser = new User(tgId, tgUsername, firstName, lastName, tgImageUrl);
+            chatIdResolver.invalidate(newUser.getId());
             return userRepository.save(newUser);
         }
     }
@@ -11,4 +11,5 @@ public interface IAppNotificationService {
     void dismiss(Long notificationId, UUID userId);
     void dismissAll(UUID userId);
     NotificationDto createNotification(NotificationCreateDto request);
+    void createNotifications(List<NotificationCreateDto> requests);
 }
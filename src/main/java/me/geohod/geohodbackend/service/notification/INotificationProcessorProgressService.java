@@ -1,8 +1,20 @@
 package me.geohod.geohodbackend.service.notification;
 
 import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
+import me.geohod.geohodbackend.data.model.eventlog.EventLogCursor;
+
 public interface INotificationProcessorProgressService {
     void updateProgress(String processorName, Instant lastProcessedCreatedAt, UUID lastProcessedId);
+
+    Optional<EventLogCursor> findCursor(String processorName);
+
+    /**
+     * Number of shards the processor's progress is kept in, or empty if it has no progress yet.
+     */
+    Optional<Integer> findShards(String processorName);
+
+    void updateShards(String processorName, int shards);
 }
@@ -2,6 +2,13 @@ package me.geohod.geohodbackend.service.notification;
 
 import java.util.UUID;
 
+import me.geohod.geohodbackend.data.dto.TelegramMessagePayload;
+
 public interface ITelegramNotificationService {
     void sendNotification(UUID userId, String message);
+
+    /**
+     * Sends a ready-made payload as is. Nothing is escaped or formatted here.
+     */
+    void sendToChat(long chatId, TelegramMessagePayload payload);
 }
\ No newline at end of file
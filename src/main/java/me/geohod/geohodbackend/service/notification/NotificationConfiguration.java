@@ -1,10 +1,15 @@
 package me.geohod.geohodbackend.service.notification;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import me.geohod.geohodbackend.data.model.eventlog.EventType;
+import me.geohod.geohodbackend.service.notification.processor.NotificationSink;
+import me.geohod.geohodbackend.service.notification.processor.StrategyNotificationSink;
 import me.geohod.geohodbackend.service.notification.processor.strategy.EventCancelledInAppStrategy;
 import me.geohod.geohodbackend.service.notification.processor.strategy.EventCancelledOrganizerNoNotifyTelegramStrategy;
 import me.geohod.geohodbackend.service.notification.processor.strategy.EventCancelledOrganizerNotifyParticipantsTelegramStrategy;
@@ -14,8 +19,10 @@ import me.geohod.geohodbackend.service.notification.processor.strategy.EventCrea
 import me.geohod.geohodbackend.service.notification.processor.strategy.EventFinishedInAppStrategy;
 import me.geohod.geohodbackend.service.notification.processor.strategy.EventFinishedTelegramStrategy;
 import me.geohod.geohodbackend.service.notification.processor.strategy.ParticipantRegisteredInAppStrategy;
+import me.geohod.geohodbackend.service.notification.processor.strategy.ParticipantRegisteredOrganizerDigestStrategy;
 import me.geohod.geohodbackend.service.notification.processor.strategy.ParticipantRegisteredTelegramStrategy;
 import me.geohod.geohodbackend.service.notification.processor.strategy.ParticipantUnregisteredInAppStrategy;
+import me.geohod.geohodbackend.service.notification.processor.strategy.ParticipantUnregisteredOrganizerDigestStrategy;
 import me.geohod.geohodbackend.service.notification.processor.strategy.ParticipantUnregisteredTelegramStrategy;
 import me.geohod.geohodbackend.service.notification.processor.strategy.StrategyRegistry;
 
@@ -23,6 +30,9 @@ import me.geohod.geohodbackend.service.notification.processor.strategy.StrategyR
 @RequiredArgsConstructor
 public class NotificationConfiguration {
 
+    public static final String IN_APP_PROCESSOR_NAME = "IN_APP_NOTIFICATION_PROCESSOR";
+    public static final String TELEGRAM_PROCESSOR_NAME = "TELEGRAM_NOTIFICATION_PROCESSOR";
+
     private final StrategyRegistry registry;
 
     private final EventFinishedTelegramStrategy eventFinishedTelegramStrategy;
@@ -35,8 +45,10 @@ public class NotificationConfiguration {
     private final EventCreatedInAppStrategy eventCreatedInAppStrategy;
     private final ParticipantRegisteredTelegramStrategy participantRegisteredTelegramStrategy;
     private final ParticipantRegisteredInAppStrategy participantRegisteredInAppStrategy;
+    private final ParticipantRegisteredOrganizerDigestStrategy participantRegisteredOrganizerDigestStrategy;
     private final ParticipantUnregisteredTelegramStrategy participantUnregisteredTelegramStrategy;
     private final ParticipantUnregisteredInAppStrategy participantUnregisteredInAppStrategy;
+    private final ParticipantUnregisteredOrganizerDigestStrategy participantUnregisteredOrganizerDigestStrategy;
 
     @PostConstruct
     public void init() {
@@ -53,8 +65,22 @@ public class NotificationConfiguration {
 
         registry.register(EventType.EVENT_REGISTERED, participantRegisteredTelegramStrategy);
         registry.register(EventType.EVENT_REGISTERED, participantRegisteredInAppStrategy);
+        registry.register(EventType.EVENT_REGISTERED, participantRegisteredOrganizerDigestStrategy);
 
         registry.register(EventType.EVENT_UNREGISTERED, participantUnregisteredTelegramStrategy);
         registry.register(EventType.EVENT_UNREGISTERED, participantUnregisteredInAppStrategy);
+        registry.register(EventType.EVENT_UNREGISTERED, participantUnregisteredOrganizerDigestStrategy);
+    }
+
+    @Bean
+    public NotificationSink inAppNotificationSink(MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        return new StrategyNotificationSink(NotificationChannel.IN_APP, IN_APP_PROCESSOR_NAME, registry, meterRegistry,
+                transactionManager);
+    }
+
+    @Bean
+    public NotificationSink telegramNotificationSink(MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        return new StrategyNotificationSink(NotificationChannel.TELEGRAM, TELEGRAM_PROCESSOR_NAME, registry, meterRegistry,
+                transactionManager);
     }
 }
@@ -0,0 +1,183 @@
+package me.geohod.geohodbackend.service.notification;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties;
+import me.geohod.geohodbackend.data.model.UserNotificationSetting;
+import me.geohod.geohodbackend.data.model.repository.UserNotificationSettingRepository;
+import me.geohod.geohodbackend.service.notification.processor.strategy.StrategyNotificationType;
+
+/**
+ * Answers whether users want a notification on a channel. Stored settings are loaded in bulk
+ * for all uncached recipients of a call, missing rows fall back to {@link NotificationSettingsDefaults}
+ * and combinations users cannot configure are always enabled.
+ * <p>
+ * Results are kept in a bounded LRU cache; {@link #invalidate(UUID)} drops a user after a change.
+ */
+@Component
+@Slf4j
+public class NotificationPreferenceResolver {
+
+    private final UserNotificationSettingRepository repository;
+    private final NotificationSettingsDefaults defaults;
+    private final Clock clock;
+    private final Duration ttl;
+    private final Map<UUID, CachedPreferences> cache;
+
+    @Autowired
+    public NotificationPreferenceResolver(UserNotificationSettingRepository repository,
+            NotificationSettingsDefaults defaults,
+            NotificationProcessorProperties properties) {
+        this(repository, defaults, properties.preferences(), Clock.systemUTC());
+    }
+
+    NotificationPreferenceResolver(UserNotificationSettingRepository repository,
+            NotificationSettingsDefaults defaults,
+            NotificationProcessorProperties.Preferences preferences,
+            Clock clock) {
+        this.repository = repository;
+        this.defaults = defaults;
+        this.clock = clock;
+        this.ttl = preferences.cacheTtl();
+        int maxSize = preferences.cacheSize();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CachedPreferences> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the recipients that have the channel enabled, in their original order.
+     */
+    public List<UUID> filterEnabled(Collection<UUID> userIds, StrategyNotificationType type,
+            NotificationRole role, NotificationChannel channel) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        if (!defaults.isValid(type, role, channel)) {
+            return List.copyOf(userIds);
+        }
+
+        Map<UUID, CachedPreferences> preferences = resolve(new LinkedHashSet<>(userIds));
+        List<UUID> enabled = new ArrayList<>(userIds.size());
+        for (UUID userId : userIds) {
+            if (preferences.get(userId).isEnabled(type, role, channel, defaults)) {
+                enabled.add(userId);
+            } else {
+                log.trace("User {} opted out of {}:{}:{}", userId, type, role, channel);
+            }
+        }
+        return enabled;
+    }
+
+    public boolean isEnabled(UUID userId, StrategyNotificationType type, NotificationRole role,
+            NotificationChannel channel) {
+        return !filterEnabled(List.of(userId), type, role, channel).isEmpty();
+    }
+
+    /**
+     * Drops the cached preferences of a user. Inside a transaction the entry is dropped
+     * again after commit, so a concurrent reader cannot cache the pre-commit state.
+     */
+    public void invalidate(UUID userId) {
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    private Map<UUID, CachedPreferences> resolve(Set<UUID> userIds) {
+        Instant now = clock.instant();
+        Map<UUID, CachedPreferences> result = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        synchronized (cache) {
+            for (UUID userId : userIds) {
+                CachedPreferences cached = cache.get(userId);
+                if (cached != null && cached.expiresAt().isAfter(now)) {
+                    result.put(userId, cached);
+                } else {
+                    missing.add(userId);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<UUID, Map<String, Set<NotificationChannel>>> stored = new HashMap<>();
+        for (UserNotificationSetting setting : repository.findAllByUserIdIn(missing)) {
+            stored.computeIfAbsent(setting.getUserId(), k -> new HashMap<>())
+                    .put(pairKey(setting.getType(), setting.getRole()), enabledChannels(setting));
+        }
+
+        Instant expiresAt = now.plus(ttl);
+        synchronized (cache) {
+            for (UUID userId : missing) {
+                CachedPreferences loaded = new CachedPreferences(stored.getOrDefault(userId, Map.of()), expiresAt);
+                cache.put(userId, loaded);
+                result.put(userId, loaded);
+            }
+        }
+        return result;
+    }
+
+    private void evict(UUID userId) {
+        synchronized (cache) {
+            cache.remove(userId);
+        }
+    }
+
+    private static Set<NotificationChannel> enabledChannels(UserNotificationSetting setting) {
+        Set<NotificationChannel> channels = EnumSet.noneOf(NotificationChannel.class);
+        if (setting.isTelegram()) {
+            channels.add(NotificationChannel.TELEGRAM);
+        }
+        if (setting.isInApp()) {
+            channels.add(NotificationChannel.IN_APP);
+        }
+        if (setting.isPush()) {
+            channels.add(NotificationChannel.PUSH);
+        }
+        return channels;
+    }
+
+    private static String pairKey(StrategyNotificationType type, NotificationRole role) {
+        return type.name() + ":" + role.name();
+    }
+
+    private record CachedPreferences(Map<String, Set<NotificationChannel>> stored, Instant expiresAt) {
+
+        boolean isEnabled(StrategyNotificationType type, NotificationRole role, NotificationChannel channel,
+                NotificationSettingsDefaults defaults) {
+            Set<NotificationChannel> channels = stored.get(pairKey(type, role));
+            return channels != null
+                    ? channels.contains(channel)
+                    : defaults.getDefaultEnabled(type, role, channel);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package me.geohod.geohodbackend.service.notification;
 
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties;
 import me.geohod.geohodbackend.service.notification.processor.strategy.StrategyNotificationType;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
@@ -18,7 +20,11 @@ public class NotificationSettingsDefaults {
             tripletKey(EVENT_CREATED, PARTICIPANT, PUSH),
             tripletKey(REGISTRATION_ENDED, PARTICIPANT, TELEGRAM),
             tripletKey(REGISTRATION_ENDED, PARTICIPANT, IN_APP),
-            tripletKey(REGISTRATION_ENDED, PARTICIPANT, PUSH),
+            tripletKey(REGISTRATION_ENDED, PARTICIPANT, PUSH)
+    );
+
+    // The organizer digest, which organizers can turn off; there is nothing to turn off while it is disabled
+    private static final Set<String> DIGEST_COMBINATIONS = Set.of(
             tripletKey(PARTICIPANT_REGISTERED, AUTHOR, TELEGRAM),
             tripletKey(PARTICIPANT_UNREGISTERED, AUTHOR, TELEGRAM)
     );
@@ -31,8 +37,20 @@ public class NotificationSettingsDefaults {
             pairKey(PARTICIPANT_UNREGISTERED, AUTHOR)
     );
 
+    private final boolean digestEnabled;
+
+    @Autowired
+    public NotificationSettingsDefaults(NotificationProcessorProperties properties) {
+        this(properties.digest().enabled());
+    }
+
+    NotificationSettingsDefaults(boolean digestEnabled) {
+        this.digestEnabled = digestEnabled;
+    }
+
     public boolean isValid(StrategyNotificationType type, NotificationRole role, NotificationChannel channel) {
-        return !INVALID_COMBINATIONS.contains(tripletKey(type, role, channel));
+        String key = tripletKey(type, role, channel);
+        return !INVALID_COMBINATIONS.contains(key) && (digestEnabled || !DIGEST_COMBINATIONS.contains(key));
     }
 
     public boolean getDefaultEnabled(StrategyNotificationType type, NotificationRole role, NotificationChannel channel) {
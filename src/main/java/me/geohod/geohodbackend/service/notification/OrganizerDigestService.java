@@ -0,0 +1,172 @@
+package me.geohod.geohodbackend.service.notification;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties;
+import me.geohod.geohodbackend.data.dto.OrganizerDigestDto;
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.User;
+import me.geohod.geohodbackend.data.model.repository.EventRepository;
+import me.geohod.geohodbackend.data.model.repository.OrganizerDigestRepository;
+import me.geohod.geohodbackend.data.model.repository.UserRepository;
+import me.geohod.geohodbackend.service.ITelegramOutboxMessagePublisher;
+import me.geohod.geohodbackend.service.link.BinaryLinkGenerator;
+import me.geohod.geohodbackend.service.link.LinkAction;
+import me.geohod.geohodbackend.service.notification.processor.strategy.message.MessageFormatter;
+import me.geohod.geohodbackend.service.notification.processor.strategy.message.TemplateType;
+
+/**
+ * Sums up registrations and cancellations of an event and sends the organizer one Telegram
+ * summary per {@code window} instead of a message per registration.
+ * <p>
+ * The counters live in organizer_digests, and every instance's scheduled flush finds due
+ * digests there, so a digest recorded by an instance that went away is still sent on time.
+ * A digest is taken from the table and published to the outbox in one transaction; the take
+ * is the claim between instances, and increments arriving meanwhile either make it into that
+ * digest or open the next window.
+ */
+@Component
+@Slf4j
+public class OrganizerDigestService {
+    static final String TEMPLATE_ID = "organizer.registration-digest";
+
+    private final OrganizerDigestRepository digestRepository;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final MessageFormatter messageFormatter;
+    private final BinaryLinkGenerator binaryLinkGenerator;
+    private final ITelegramOutboxMessagePublisher outboxMessagePublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationProcessorProperties.Digest properties;
+    private final Clock clock;
+    private final AtomicLong pendingDigests = new AtomicLong();
+    private final Counter sentDigests;
+
+    @Autowired
+    public OrganizerDigestService(OrganizerDigestRepository digestRepository,
+            EventRepository eventRepository,
+            UserRepository userRepository,
+            MessageFormatter messageFormatter,
+            BinaryLinkGenerator binaryLinkGenerator,
+            ITelegramOutboxMessagePublisher outboxMessagePublisher,
+            TransactionTemplate transactionTemplate,
+            NotificationProcessorProperties properties,
+            MeterRegistry meterRegistry) {
+        this(digestRepository, eventRepository, userRepository, messageFormatter, binaryLinkGenerator,
+                outboxMessagePublisher, transactionTemplate, properties.digest(), meterRegistry, Clock.systemUTC());
+    }
+
+    OrganizerDigestService(OrganizerDigestRepository digestRepository,
+            EventRepository eventRepository,
+            UserRepository userRepository,
+            MessageFormatter messageFormatter,
+            BinaryLinkGenerator binaryLinkGenerator,
+            ITelegramOutboxMessagePublisher outboxMessagePublisher,
+            TransactionTemplate transactionTemplate,
+            NotificationProcessorProperties.Digest properties,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.digestRepository = digestRepository;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.messageFormatter = messageFormatter;
+        this.binaryLinkGenerator = binaryLinkGenerator;
+        this.outboxMessagePublisher = outboxMessagePublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.clock = clock;
+
+        Gauge.builder("geohod.notification.digests.pending", pendingDigests, AtomicLong::get)
+                .description("Organizer digests with an open window")
+                .register(meterRegistry);
+        this.sentDigests = Counter.builder("geohod.notification.digests.sent")
+                .description("Organizer digests published to the Telegram outbox")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Counts registrations and cancellations for the organizer of the event.
+     */
+    public void record(Event event, int registered, int unregistered) {
+        digestRepository.add(event.getId(), event.getAuthorId(), registered, unregistered, clock.instant());
+    }
+
+    @Scheduled(fixedDelayString = "${geohod.processor.digest.delay:30000}")
+    public void flushDue() {
+        if (!properties.enabled()) {
+            return;
+        }
+        Instant dueBefore = clock.instant().minus(properties.window());
+        try {
+            for (UUID eventId : digestRepository.findDue(dueBefore)) {
+                try {
+                    flush(eventId, dueBefore);
+                } catch (Exception e) {
+                    log.error("Failed to send organizer digest for event {}: {}", eventId, e.getMessage(), e);
+                }
+            }
+            pendingDigests.set(digestRepository.count());
+        } catch (Exception e) {
+            log.error("Failed to flush organizer digests: {}", e.getMessage(), e);
+        }
+    }
+
+    private void flush(UUID eventId, Instant dueBefore) {
+        transactionTemplate.executeWithoutResult(status -> digestRepository.take(eventId, dueBefore)
+                .ifPresent(this::publish));
+    }
+
+    private void publish(OrganizerDigestDto digest) {
+        Optional<Event> event = eventRepository.findById(digest.eventId());
+        Optional<User> organizer = userRepository.findById(digest.organizerId());
+        if (event.isEmpty() || organizer.isEmpty()) {
+            log.warn("Dropping organizer digest for missing event {} or organizer {}", digest.eventId(), digest.organizerId());
+            return;
+        }
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("eventLink", binaryLinkGenerator.generateLink(LinkAction.OPEN_EVENT, digest.eventId()));
+        params.put("registrationSummary", summary(digest));
+        params.put("seats", event.get().getCurrentParticipants() + "/" + event.get().getMaxParticipants());
+
+        String message = messageFormatter.formatMessageFromTemplate(TEMPLATE_ID, TemplateType.TELEGRAM,
+                event.get(), organizer.get(), params);
+        outboxMessagePublisher.publish(digest.organizerId(), message);
+        sentDigests.increment();
+        log.debug("Published organizer digest for event {}: +{} -{} over {}", digest.eventId(), digest.registered(),
+                digest.unregistered(), Duration.between(digest.windowStartedAt(), clock.instant()));
+    }
+
+    static String summary(OrganizerDigestDto digest) {
+        List<String> parts = new ArrayList<>(2);
+        if (digest.registered() > 0) {
+            parts.add("+" + digest.registered() + " зарегистрировались");
+        }
+        if (digest.unregistered() > 0) {
+            parts.add("-" + digest.unregistered() + " отменили регистрацию");
+        }
+        return String.join(", ", parts);
+    }
+}
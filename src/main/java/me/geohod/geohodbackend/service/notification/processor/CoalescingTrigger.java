@@ -0,0 +1,31 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs a task at most once at a time and folds concurrent requests into a single
+ * follow-up run, so a burst of wakeups never causes overlapping passes.
+ */
+public class CoalescingTrigger {
+    private final Runnable task;
+    private final AtomicBoolean runRequested = new AtomicBoolean();
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public CoalescingTrigger(Runnable task) {
+        this.task = task;
+    }
+
+    public void fire() {
+        runRequested.set(true);
+        while (runRequested.get() && runLock.tryLock()) {
+            try {
+                while (runRequested.getAndSet(false)) {
+                    task.run();
+                }
+            } finally {
+                runLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties;
+
+/**
+ * Sizes dispatcher batches from their measured duration and decides whether the dispatcher
+ * keeps draining or goes back to waiting for the next wakeup.
+ * <p>
+ * Full batches that finish well under the target duration double the batch size, batches
+ * slower than the target halve it, always within the configured bounds. Draining continues
+ * while batches come back full or the dispatcher still lags behind by more than the threshold.
+ */
+public class DrainController {
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final Duration targetBatchDuration;
+    private final Duration lagThreshold;
+    private final AtomicInteger batchSize;
+    private volatile double lagSeconds;
+    private volatile double drainRate;
+
+    public DrainController(NotificationProcessorProperties.Dispatcher properties) {
+        this.minBatchSize = properties.minBatchSize();
+        this.maxBatchSize = properties.maxBatchSize();
+        this.targetBatchDuration = properties.targetBatchDuration();
+        this.lagThreshold = properties.drainLagThreshold();
+        this.batchSize = new AtomicInteger(properties.batchSize());
+    }
+
+    public int batchSize() {
+        return batchSize.get();
+    }
+
+    /**
+     * Age of the oldest log in the last batch, zero once the backlog is empty.
+     */
+    public double lagSeconds() {
+        return lagSeconds;
+    }
+
+    /**
+     * Logs per second dispatched by the last batch.
+     */
+    public double drainRate() {
+        return drainRate;
+    }
+
+    /**
+     * Records a dispatched batch, adjusts the batch size and returns whether to fetch
+     * the next batch right away.
+     *
+     * @param fetched   logs in the batch
+     * @param requested batch size the batch was fetched with
+     * @param elapsed   time spent dispatching the batch
+     * @param lag       age of the oldest log in the batch
+     * @param advanced  whether the lowest cursor moved, false when every shard failed
+     */
+    public boolean onBatch(int fetched, int requested, Duration elapsed, Duration lag, boolean advanced) {
+        boolean full = fetched >= requested;
+        lagSeconds = lag.toNanos() / 1e9;
+        drainRate = elapsed.isZero() ? fetched : fetched / (elapsed.toNanos() / 1e9);
+
+        if (elapsed.compareTo(targetBatchDuration) > 0) {
+            batchSize.updateAndGet(size -> Math.max(minBatchSize, size / 2));
+        } else if (full && elapsed.multipliedBy(2).compareTo(targetBatchDuration) < 0) {
+            batchSize.updateAndGet(size -> Math.min(maxBatchSize, size * 2));
+        }
+
+        return advanced && (full || lag.compareTo(lagThreshold) > 0);
+    }
+
+    /**
+     * Records an empty fetch: nothing is waiting any more.
+     */
+    public void onIdle() {
+        lagSeconds = 0;
+        drainRate = 0;
+    }
+}
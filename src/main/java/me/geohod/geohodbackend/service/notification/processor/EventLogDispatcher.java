@@ -0,0 +1,413 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties;
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.User;
+import me.geohod.geohodbackend.data.model.eventlog.EventLog;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogCursor;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
+import me.geohod.geohodbackend.data.model.repository.EventRepository;
+import me.geohod.geohodbackend.data.model.repository.UserRepository;
+import me.geohod.geohodbackend.service.IEventLogService;
+import me.geohod.geohodbackend.service.notification.INotificationProcessorProgressService;
+import me.geohod.geohodbackend.service.notification.processor.strategy.NotificationBatchContext;
+
+/**
+ * Reads each batch of event logs once, preloads their events and authors with one query
+ * each and fans them out to every {@link NotificationSink}.
+ * <p>
+ * Logs are split into shards by a hash of their event id and the shards are delivered
+ * concurrently, so logs of one event keep their order while different events do not wait
+ * for each other. Every (sink, shard) pair keeps its own progress, so a failure is retried
+ * from that pair's cursor without redelivering elsewhere. With more than one shard the
+ * sink's own progress row is kept as the low-watermark of its shards.
+ * <p>
+ * The sink's progress row also records the shard count. When the configured count differs,
+ * the old shards are first delivered up to the furthest of their cursors and the new shards
+ * start from there, so changing the count neither repeats nor skips a notification.
+ * <p>
+ * A wakeup drains the whole backlog: batches are fetched back to back, sized by a
+ * {@link DrainController}, and the dispatcher only goes idle once the backlog is empty.
+ */
+@Component
+@Slf4j
+public class EventLogDispatcher {
+    private final IEventLogService eventLogService;
+    private final INotificationProcessorProgressService progressService;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final List<NotificationSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate deliveryTransaction;
+    private final Map<String, Timer> deliveryLatency;
+    private final Timer batchDuration;
+    private final int shards;
+    private final DrainController drainController;
+    private final ExecutorService shardExecutor;
+    private final CoalescingTrigger trigger = new CoalescingTrigger(this::drain);
+
+    public EventLogDispatcher(IEventLogService eventLogService,
+            INotificationProcessorProgressService progressService,
+            EventRepository eventRepository,
+            UserRepository userRepository,
+            List<NotificationSink> sinks,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            NotificationProcessorProperties properties) {
+        this.eventLogService = eventLogService;
+        this.progressService = progressService;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.sinks = List.copyOf(sinks);
+        this.transactionTemplate = transactionTemplate;
+        this.deliveryTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.deliveryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.deliveryLatency = this.sinks.stream().collect(Collectors.toMap(
+                NotificationSink::processorName,
+                sink -> NotificationProcessorMetrics.deliveryLatency(meterRegistry, sink.processorName())));
+        this.batchDuration = NotificationProcessorMetrics.batchDuration(meterRegistry);
+        this.shards = properties.dispatcher().shards();
+        this.drainController = new DrainController(properties.dispatcher());
+        NotificationProcessorMetrics.bindDrainController(meterRegistry, drainController);
+        this.shardExecutor = shards > 1
+                ? Executors.newFixedThreadPool(shards, Thread.ofPlatform().name("event-log-shard-", 0).daemon(true).factory())
+                : null;
+    }
+
+    @Scheduled(fixedDelayString = "${geohod.processor.dispatcher.delay:60000}")
+    public void process() {
+        trigger.fire();
+    }
+
+    @Async
+    @EventListener
+    public void onEventLogsAppended(EventLogsAppendedEvent event) {
+        trigger.fire();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (shardExecutor != null) {
+            shardExecutor.shutdownNow();
+        }
+    }
+
+    static int shardOf(UUID eventId, int shards) {
+        return Math.floorMod(eventId.hashCode(), shards);
+    }
+
+    static String shardProcessorName(String processorName, int shard, int shards) {
+        return shards == 1 ? processorName : processorName + "#" + shard + "/" + shards;
+    }
+
+    /**
+     * Fetches and dispatches batches until the backlog is drained. Cursors are read once per
+     * pass and carried over from batch to batch.
+     */
+    private void drain() {
+        log.trace("Starting event log dispatch");
+        Map<NotificationSink, List<EventLogCursor>> cursors = loadCursors();
+        while (!Thread.currentThread().isInterrupted()) {
+            int requested = drainController.batchSize();
+            EventLogCursor lowest = lowestCursor(allCursors(cursors));
+            long started = System.nanoTime();
+
+            List<EventLog> batch = eventLogService.findAfter(lowest, requested);
+            if (batch.isEmpty()) {
+                drainController.onIdle();
+                return;
+            }
+            Duration lag = Duration.between(batch.get(0).getCreatedAt(), Instant.now());
+
+            cursors = dispatchBatch(batch, cursors);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+            batchDuration.record(elapsed);
+            EventLogCursor reached = lowestCursor(allCursors(cursors));
+            boolean advanced = reached != null && (lowest == null || lowest.compareTo(reached) < 0);
+            boolean more = drainController.onBatch(batch.size(), requested, elapsed, lag, advanced);
+            if (!more) {
+                return;
+            }
+            log.trace("Backlog remains after {} logs, next batch size {}", batch.size(), drainController.batchSize());
+        }
+    }
+
+    private Map<NotificationSink, List<EventLogCursor>> loadCursors() {
+        Map<NotificationSink, List<EventLogCursor>> cursors = new LinkedHashMap<>();
+        for (NotificationSink sink : sinks) {
+            Optional<Integer> previousShards = progressService.findShards(sink.processorName());
+            if (previousShards.isEmpty()) {
+                progressService.updateShards(sink.processorName(), shards);
+            } else if (previousShards.get() != shards) {
+                changeShards(sink, previousShards.get());
+            }
+            cursors.put(sink, loadShardCursors(sink, shards));
+        }
+        return cursors;
+    }
+
+    private List<EventLogCursor> loadShardCursors(NotificationSink sink, int shardCount) {
+        Optional<EventLogCursor> sinkCursor = progressService.findCursor(sink.processorName());
+        List<EventLogCursor> shardCursors = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            shardCursors.add(shardCount == 1
+                    ? sinkCursor.orElse(null)
+                    : progressService.findCursor(shardProcessorName(sink.processorName(), shard, shardCount))
+                            .or(() -> sinkCursor)
+                            .orElse(null));
+        }
+        return shardCursors;
+    }
+
+    /**
+     * Moves a sink from {@code previousShards} to the configured shard count. A log maps to a
+     * different shard under the new count, so new shards cannot start from the old cursors:
+     * the old shards are first delivered up to the furthest of their cursors, then the sink
+     * and every new shard are set to that common cursor.
+     *
+     * @throws IllegalStateException if an old shard fails to catch up; the change is retried on the next pass
+     */
+    private void changeShards(NotificationSink sink, int previousShards) {
+        log.info("Shard count of {} changed from {} to {}, finishing the previous shards first",
+                sink.processorName(), previousShards, shards);
+        List<EventLogCursor> previous = loadShardCursors(sink, previousShards);
+        EventLogCursor common = highestCursor(previous);
+
+        while (common != null) {
+            EventLogCursor lowest = lowestCursor(previous);
+            if (lowest != null && lowest.compareTo(common) >= 0) {
+                break;
+            }
+            List<EventLog> batch = eventLogService.findAfter(lowest, drainController.batchSize()).stream()
+                    .filter(eventLog -> !common.isBefore(eventLog))
+                    .toList();
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<EventLogCursor> reached = dispatchPreviousShards(sink, batch, previous, previousShards);
+            if (reached.equals(previous)) {
+                throw new IllegalStateException("Previous shards of " + sink.processorName() + " failed to reach " + common);
+            }
+            previous = reached;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (common != null) {
+                progressService.updateProgress(sink.processorName(), common.createdAt(), common.id());
+                if (shards > 1) {
+                    for (int shard = 0; shard < shards; shard++) {
+                        progressService.updateProgress(shardProcessorName(sink.processorName(), shard, shards),
+                                common.createdAt(), common.id());
+                    }
+                }
+            }
+            progressService.updateShards(sink.processorName(), shards);
+        });
+        log.info("Moved {} to {} shards at {}", sink.processorName(), shards, common);
+    }
+
+    private List<EventLogCursor> dispatchPreviousShards(NotificationSink sink, List<EventLog> batch,
+            List<EventLogCursor> cursors, int previousShards) {
+        NotificationBatchContext context = loadContext(batch);
+        Map<Integer, List<EventLog>> batchByShard = batch.stream()
+                .collect(Collectors.groupingBy(eventLog -> shardOf(eventLog.getEventId(), previousShards)));
+        EventLogCursor batchEnd = EventLogCursor.of(batch.get(batch.size() - 1));
+
+        List<EventLogCursor> reached = new ArrayList<>(previousShards);
+        for (int shard = 0; shard < previousShards; shard++) {
+            reached.add(dispatchToShard(sink, shard, previousShards, cursors.get(shard),
+                    batchByShard.getOrDefault(shard, List.of()), batchEnd, context));
+        }
+        return reached;
+    }
+
+    /**
+     * Delivers one batch to every (sink, shard) pair and returns the cursors they reached.
+     */
+    private Map<NotificationSink, List<EventLogCursor>> dispatchBatch(List<EventLog> batch,
+            Map<NotificationSink, List<EventLogCursor>> cursors) {
+        NotificationBatchContext context = loadContext(batch);
+        Map<Integer, List<EventLog>> batchByShard = batch.stream()
+                .collect(Collectors.groupingBy(eventLog -> shardOf(eventLog.getEventId(), shards)));
+        EventLogCursor batchEnd = EventLogCursor.of(batch.get(batch.size() - 1));
+
+        List<CompletableFuture<List<EventLogCursor>>> shardResults = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            int current = shard;
+            List<EventLog> shardBatch = batchByShard.getOrDefault(shard, List.of());
+            shardResults.add(runOnShard(() -> sinks.stream()
+                    .map(sink -> dispatchToShard(sink, current, shards, cursors.get(sink).get(current),
+                            shardBatch, batchEnd, context))
+                    .toList()));
+        }
+
+        List<List<EventLogCursor>> reached = shardResults.stream().map(CompletableFuture::join).toList();
+        Map<NotificationSink, List<EventLogCursor>> next = new LinkedHashMap<>();
+        for (int i = 0; i < sinks.size(); i++) {
+            int sinkIndex = i;
+            List<EventLogCursor> sinkCursors = reached.stream().map(r -> r.get(sinkIndex)).toList();
+            next.put(sinks.get(i), sinkCursors);
+            if (shards > 1) {
+                updateLowWatermark(sinks.get(i), sinkCursors);
+            }
+        }
+        log.trace("Finished event log dispatch of {} logs across {} shards", batch.size(), shards);
+        return next;
+    }
+
+    private CompletableFuture<List<EventLogCursor>> runOnShard(Supplier<List<EventLogCursor>> task) {
+        return shardExecutor == null
+                ? CompletableFuture.completedFuture(task.get())
+                : CompletableFuture.supplyAsync(task, shardExecutor);
+    }
+
+    /**
+     * Delivers the shard's part of the batch to a sink and moves the shard cursor to the end
+     * of the batch: every log of this shard up to that point was either part of the batch or
+     * already behind the cursor. Returns the cursor the shard ends up at.
+     */
+    private EventLogCursor dispatchToShard(NotificationSink sink, int shard, int shardCount, EventLogCursor cursor,
+            List<EventLog> shardBatch, EventLogCursor batchEnd, NotificationBatchContext context) {
+        if (cursor != null && cursor.compareTo(batchEnd) >= 0) {
+            return cursor;
+        }
+        List<EventLog> pending = cursor == null
+                ? shardBatch
+                : shardBatch.stream().filter(cursor::isBefore).toList();
+        String progressName = shardProcessorName(sink.processorName(), shard, shardCount);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (EventLog eventLog : pending) {
+                    deliver(sink, eventLog, context);
+                }
+                progressService.updateProgress(progressName, batchEnd.createdAt(), batchEnd.id());
+            });
+            return batchEnd;
+        } catch (Exception e) {
+            log.error("Error dispatching event logs to {}: {}", progressName, e.getMessage(), e);
+            return cursor;
+        }
+    }
+
+    private void updateLowWatermark(NotificationSink sink, List<EventLogCursor> shardCursors) {
+        EventLogCursor lowWatermark = lowestCursor(shardCursors);
+        if (lowWatermark == null) {
+            return;
+        }
+        try {
+            progressService.updateProgress(sink.processorName(), lowWatermark.createdAt(), lowWatermark.id());
+        } catch (Exception e) {
+            log.error("Error updating progress of {}: {}", sink.processorName(), e.getMessage(), e);
+        }
+    }
+
+    private void deliver(NotificationSink sink, EventLog eventLog, NotificationBatchContext context) {
+        Event event = context.findEvent(eventLog.getEventId()).orElse(null);
+        if (event == null) {
+            log.trace("Event {} of event log {} not found", eventLog.getEventId(), eventLog.getId());
+            return;
+        }
+        EventLogPayload payload = context.findPayload(eventLog.getId()).orElse(null);
+        if (payload == null) {
+            return;
+        }
+        // A savepoint per delivery: a log that fails is skipped instead of aborting the batch
+        // transaction, so the shard cursor still moves past it
+        try {
+            deliveryTransaction.executeWithoutResult(status -> sink.deliver(eventLog, event, payload, context));
+        } catch (Exception e) {
+            log.error("Skipping event log {} in {}: {}",
+                    eventLog.getId(), sink.processorName(), e.getMessage(), e);
+        }
+        deliveryLatency.get(sink.processorName()).record(Duration.between(eventLog.getCreatedAt(), Instant.now()));
+    }
+
+    private NotificationBatchContext loadContext(List<EventLog> batch) {
+        Set<UUID> eventIds = batch.stream().map(EventLog::getEventId).collect(Collectors.toSet());
+        Map<UUID, Event> events = toMap(eventRepository.findAllById(eventIds), Event::getId);
+
+        Set<UUID> authorIds = events.values().stream().map(Event::getAuthorId).collect(Collectors.toSet());
+        Map<UUID, User> authors = authorIds.isEmpty()
+                ? Map.of()
+                : toMap(userRepository.findAllById(authorIds), User::getId);
+
+        Map<UUID, EventLogPayload> payloads = new LinkedHashMap<>();
+        for (EventLog eventLog : batch) {
+            try {
+                payloads.put(eventLog.getId(), eventLogService.readPayload(eventLog));
+            } catch (Exception e) {
+                log.error("Skipping event log {} with unreadable payload: {}", eventLog.getId(), e.getMessage(), e);
+            }
+        }
+
+        return new NotificationBatchContext(events, authors, payloads);
+    }
+
+    private static <T> Map<UUID, T> toMap(Iterable<T> entities, Function<T, UUID> idExtractor) {
+        return StreamSupport.stream(entities.spliterator(), false)
+                .collect(Collectors.toMap(idExtractor, Function.identity()));
+    }
+
+    private static List<EventLogCursor> allCursors(Map<NotificationSink, List<EventLogCursor>> cursors) {
+        return cursors.values().stream().flatMap(List::stream).toList();
+    }
+
+    /**
+     * Highest of the given cursors that have started, or {@code null} when none has.
+     */
+    private static EventLogCursor highestCursor(Collection<EventLogCursor> cursors) {
+        EventLogCursor highest = null;
+        for (EventLogCursor cursor : cursors) {
+            if (cursor != null && (highest == null || cursor.compareTo(highest) > 0)) {
+                highest = cursor;
+            }
+        }
+        return highest;
+    }
+
+    /**
+     * Lowest of the given cursors, or {@code null} when any of them has not started yet.
+     */
+    private static EventLogCursor lowestCursor(Collection<EventLogCursor> cursors) {
+        EventLogCursor lowest = null;
+        for (EventLogCursor cursor : cursors) {
+            if (cursor == null) {
+                return null;
+            }
+            if (lowest == null || cursor.compareTo(lowest) < 0) {
+                lowest = cursor;
+            }
+        }
+        return lowest;
+    }
+}
@@ -0,0 +1,146 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.WakeupMode;
+import me.geohod.geohodbackend.data.model.repository.EventLogTriggerRepository;
+
+/**
+ * Keeps a dedicated (non-pooled) connection in LISTEN mode on the event_logs channel
+ * and publishes {@link EventLogsAppendedEvent} whenever a notification arrives.
+ * <p>
+ * The trigger gets its channel from the same property through a Liquibase changelog parameter;
+ * startup fails if the installed trigger notifies another channel, since processors would then
+ * silently fall back to polling.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "geohod.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class EventLogNotificationListener implements SmartLifecycle {
+
+    private final DataSourceProperties dataSourceProperties;
+    private final NotificationProcessorProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventLogTriggerRepository triggerRepository;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listenerThread;
+
+    @Override
+    public void start() {
+        if (properties.wakeup().mode() != WakeupMode.NOTIFY) {
+            log.info("Event log wakeup mode is {}, processors rely on polling only", properties.wakeup().mode());
+            return;
+        }
+        verifyTriggerChannel();
+        running = true;
+        listenerThread = Thread.ofPlatform()
+                .name("event-log-listener")
+                .daemon(true)
+                .start(this::listenLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeConnection();
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void verifyTriggerChannel() {
+        String channel = properties.wakeup().channel();
+        String triggerChannel = triggerRepository.findNotifyChannel()
+                .orElseThrow(() -> new IllegalStateException("event_logs NOTIFY trigger function is missing"));
+        if (!triggerChannel.equals(channel)) {
+            throw new IllegalStateException(("event_logs trigger notifies channel '%s' but processors listen on '%s'; "
+                    + "run the migrations with the current geohod.processor.wakeup.channel").formatted(triggerChannel, channel));
+        }
+    }
+
+    private void listenLoop() {
+        var wakeup = properties.wakeup();
+        while (running) {
+            try {
+                PGConnection pgConnection = openListeningConnection(wakeup.channel());
+                // Rows may have been appended while we were not listening
+                eventPublisher.publishEvent(new EventLogsAppendedEvent());
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) wakeup.listenTimeout().toMillis());
+                    if (notifications != null && notifications.length > 0) {
+                        log.trace("Received {} event log notifications", notifications.length);
+                        eventPublisher.publishEvent(new EventLogsAppendedEvent());
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Event log listener connection failed, reconnecting in {}: {}",
+                            wakeup.reconnectDelay(), e.getMessage());
+                }
+            } finally {
+                closeConnection();
+            }
+            sleepBeforeReconnect();
+        }
+    }
+
+    private PGConnection openListeningConnection(String channel) throws SQLException {
+        connection = DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        }
+        log.info("Listening for event log notifications on channel {}", channel);
+        return connection.unwrap(PGConnection.class);
+    }
+
+    private void closeConnection() {
+        Connection current = connection;
+        connection = null;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close event log listener connection: {}", e.getMessage());
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(properties.wakeup().reconnectDelay());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogCursor;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPartition;
+import me.geohod.geohodbackend.data.model.repository.EventLogPartitionRepository;
+import me.geohod.geohodbackend.service.notification.INotificationProcessorProgressService;
+
+/**
+ * Keeps the monthly partitions of event_logs in shape: creates the partitions for the
+ * coming months and detaches those every processor has moved past by more than the
+ * retention window, so the keyset scan only touches recent partitions.
+ * <p>
+ * The low-watermark is the oldest base progress row of all sinks; while any sink has no
+ * progress yet nothing is detached. A detach that cannot get its lock within the configured
+ * timeout stops the run and is retried by the next one.
+ */
+@Component
+@Slf4j
+public class EventLogPartitionMaintenance {
+    private final EventLogPartitionRepository partitionRepository;
+    private final INotificationProcessorProgressService progressService;
+    private final List<NotificationSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationProcessorProperties.Partitions properties;
+    private final Clock clock;
+    private final AtomicInteger attachedPartitions = new AtomicInteger();
+    private final Counter createdPartitions;
+    private final Counter detachedPartitions;
+
+    @Autowired
+    public EventLogPartitionMaintenance(EventLogPartitionRepository partitionRepository,
+            INotificationProcessorProgressService progressService,
+            List<NotificationSink> sinks,
+            TransactionTemplate transactionTemplate,
+            NotificationProcessorProperties properties,
+            MeterRegistry meterRegistry) {
+        this(partitionRepository, progressService, sinks, transactionTemplate, properties.partitions(), meterRegistry,
+                Clock.systemUTC());
+    }
+
+    EventLogPartitionMaintenance(EventLogPartitionRepository partitionRepository,
+            INotificationProcessorProgressService progressService,
+            List<NotificationSink> sinks,
+            TransactionTemplate transactionTemplate,
+            NotificationProcessorProperties.Partitions properties,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.partitionRepository = partitionRepository;
+        this.progressService = progressService;
+        this.sinks = List.copyOf(sinks);
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.clock = clock;
+
+        Gauge.builder("geohod.event_logs.partitions", attachedPartitions, AtomicInteger::get)
+                .description("Monthly event_logs partitions attached to the table")
+                .register(meterRegistry);
+        this.createdPartitions = Counter.builder("geohod.event_logs.partitions.created")
+                .description("Monthly event_logs partitions created by the maintenance job")
+                .register(meterRegistry);
+        this.detachedPartitions = Counter.builder("geohod.event_logs.partitions.detached")
+                .description("Monthly event_logs partitions detached by the maintenance job")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${geohod.processor.partitions.cron:0 15 3 * * *}")
+    public void maintain() {
+        if (!properties.maintenanceEnabled()) {
+            return;
+        }
+        try {
+            List<EventLogPartition> attached = partitionRepository.findAttached();
+            Set<EventLogPartition> remaining = new HashSet<>(attached);
+            createUpcoming(remaining);
+            detachExpired(attached, remaining);
+            attachedPartitions.set(remaining.size());
+        } catch (Exception e) {
+            log.error("Event log partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void createUpcoming(Set<EventLogPartition> attached) {
+        YearMonth current = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+        for (int i = 0; i <= properties.monthsAhead(); i++) {
+            EventLogPartition partition = new EventLogPartition(current.plusMonths(i));
+            if (attached.add(partition)) {
+                partitionRepository.create(partition);
+                createdPartitions.increment();
+                log.info("Created event log partition {}", partition.tableName());
+            }
+        }
+    }
+
+    private void detachExpired(List<EventLogPartition> attached, Set<EventLogPartition> remaining) {
+        Optional<Instant> lowWatermark = lowWatermark();
+        if (lowWatermark.isEmpty()) {
+            log.debug("Not all notification processors have progress yet, keeping all event log partitions");
+            return;
+        }
+        Instant cutoff = lowWatermark.get().minus(properties.retention());
+
+        for (EventLogPartition partition : attached) {
+            if (partition.end().isAfter(cutoff)) {
+                break;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> partitionRepository.detach(partition, properties.detachLockTimeout()));
+            } catch (PessimisticLockingFailureException e) {
+                log.warn("Event log partition {} is busy, detaching it on the next run: {}",
+                        partition.tableName(), e.getMessage());
+                return;
+            }
+            remaining.remove(partition);
+            detachedPartitions.increment();
+            log.info("Detached event log partition {}", partition.tableName());
+            if (properties.dropDetached()) {
+                partitionRepository.drop(partition);
+                log.info("Dropped event log partition {}", partition.tableName());
+            }
+        }
+    }
+
+    private Optional<Instant> lowWatermark() {
+        Instant lowest = null;
+        for (NotificationSink sink : sinks) {
+            Optional<EventLogCursor> cursor = progressService.findCursor(sink.processorName());
+            if (cursor.isEmpty()) {
+                return Optional.empty();
+            }
+            Instant createdAt = cursor.get().createdAt();
+            if (lowest == null || createdAt.isBefore(lowest)) {
+                lowest = createdAt;
+            }
+        }
+        return Optional.ofNullable(lowest);
+    }
+}
@@ -0,0 +1,7 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+/**
+ * Published when PostgreSQL reports new rows in event_logs.
+ */
+public record EventLogsAppendedEvent() {
+}
@@ -0,0 +1,94 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import me.geohod.geohodbackend.data.model.eventlog.EventLog;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogCursor;
+import me.geohod.geohodbackend.data.model.repository.TelegramOutboxMessageRepository;
+import me.geohod.geohodbackend.service.IEventLogService;
+import me.geohod.geohodbackend.service.notification.INotificationProcessorProgressService;
+
+/**
+ * Samples how far each notification processor lags behind event_logs and how many
+ * Telegram messages wait in the outbox. The numbers need queries, so they are refreshed
+ * on a schedule and the gauges only read the last sample.
+ * <p>
+ * Lag is measured from the processor's own progress row, which the dispatcher keeps at
+ * the low-watermark of its shards.
+ */
+@Component
+@Slf4j
+public class NotificationPipelineMonitor {
+    private final IEventLogService eventLogService;
+    private final INotificationProcessorProgressService progressService;
+    private final TelegramOutboxMessageRepository outboxRepository;
+    private final Map<String, ProcessorLag> lags;
+    private final AtomicLong outboxDepth = new AtomicLong();
+
+    public NotificationPipelineMonitor(IEventLogService eventLogService,
+            INotificationProcessorProgressService progressService,
+            TelegramOutboxMessageRepository outboxRepository,
+            List<NotificationSink> sinks,
+            MeterRegistry meterRegistry) {
+        this.eventLogService = eventLogService;
+        this.progressService = progressService;
+        this.outboxRepository = outboxRepository;
+        this.lags = sinks.stream().collect(Collectors.toMap(NotificationSink::processorName, sink -> new ProcessorLag()));
+
+        lags.forEach((processorName, lag) -> {
+            Gauge.builder("geohod.notification.processor.lag", lag.oldestAgeMillis(), millis -> millis.get() / 1000.0)
+                    .description("Age of the oldest event log the processor has not handled yet")
+                    .baseUnit("seconds")
+                    .tag(NotificationProcessorMetrics.TAG_PROCESSOR, processorName)
+                    .register(meterRegistry);
+            Gauge.builder("geohod.notification.processor.backlog", lag.rowsBehind(), AtomicLong::get)
+                    .description("Event logs behind the processor's progress cursor")
+                    .tag(NotificationProcessorMetrics.TAG_PROCESSOR, processorName)
+                    .register(meterRegistry);
+        });
+        Gauge.builder("geohod.notification.outbox.depth", outboxDepth, AtomicLong::get)
+                .description("Telegram outbox messages not sent yet")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${geohod.processor.metrics.delay:15000}")
+    public void sample() {
+        Instant now = Instant.now();
+        lags.forEach((processorName, lag) -> {
+            try {
+                EventLogCursor cursor = progressService.findCursor(processorName).orElse(null);
+                long oldestAge = eventLogService.findAfter(cursor, 1).stream()
+                        .map(EventLog::getCreatedAt)
+                        .map(createdAt -> Duration.between(createdAt, now).toMillis())
+                        .findFirst()
+                        .orElse(0L);
+                lag.oldestAgeMillis().set(Math.max(oldestAge, 0));
+                lag.rowsBehind().set(eventLogService.countAfter(cursor));
+            } catch (Exception e) {
+                log.warn("Failed to sample lag of {}: {}", processorName, e.getMessage());
+            }
+        });
+        try {
+            outboxDepth.set(outboxRepository.countByProcessedIsFalseAndDeadLetterIsFalse());
+        } catch (Exception e) {
+            log.warn("Failed to sample outbox depth: {}", e.getMessage());
+        }
+    }
+
+    private record ProcessorLag(AtomicLong oldestAgeMillis, AtomicLong rowsBehind) {
+        ProcessorLag() {
+            this(new AtomicLong(), new AtomicLong());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+public final class NotificationProcessorMetrics {
+    public static final String TAG_PROCESSOR = "processor";
+    public static final String TAG_STRATEGY = "strategy";
+
+    private NotificationProcessorMetrics() {
+    }
+
+    /**
+     * End-to-end time from the event log insert until a processor has fanned it out.
+     */
+    public static Timer deliveryLatency(MeterRegistry registry, String processorName) {
+        return Timer.builder("geohod.notification.delivery.latency")
+                .description("Time from event log creation until it is dispatched to notification strategies")
+                .tag(TAG_PROCESSOR, processorName)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Time to fetch one batch of event logs and deliver it to every sink.
+     */
+    public static Timer batchDuration(MeterRegistry registry) {
+        return Timer.builder("geohod.notification.dispatcher.batch.duration")
+                .description("Time to fetch and dispatch one batch of event logs")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public static Timer strategySend(MeterRegistry registry, String strategyName) {
+        return Timer.builder("geohod.notification.strategy.send")
+                .description("Time spent in NotificationStrategy.send per event log")
+                .tag(TAG_STRATEGY, strategyName)
+                .register(registry);
+    }
+
+    public static Counter strategyFailures(MeterRegistry registry, String strategyName) {
+        return Counter.builder("geohod.notification.strategy.failures")
+                .description("Event logs a notification strategy failed to handle")
+                .tag(TAG_STRATEGY, strategyName)
+                .register(registry);
+    }
+
+    /**
+     * Current batch size, lag and drain rate of the event log dispatcher.
+     */
+    public static void bindDrainController(MeterRegistry registry, DrainController controller) {
+        Gauge.builder("geohod.notification.dispatcher.batch.size", controller, DrainController::batchSize)
+                .description("Number of event logs the dispatcher fetches per batch")
+                .register(registry);
+        Gauge.builder("geohod.notification.dispatcher.lag", controller, DrainController::lagSeconds)
+                .description("Age of the oldest event log in the last dispatched batch")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("geohod.notification.dispatcher.drain.rate", controller, DrainController::drainRate)
+                .description("Event logs per second dispatched by the last batch")
+                .register(registry);
+    }
+}
@@ -0,0 +1,19 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.eventlog.EventLog;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
+import me.geohod.geohodbackend.service.notification.NotificationChannel;
+import me.geohod.geohodbackend.service.notification.processor.strategy.NotificationBatchContext;
+
+/**
+ * A notification channel fed by {@link EventLogDispatcher}.
+ * Each sink tracks its own position in event_logs under {@link #processorName()}.
+ */
+public interface NotificationSink {
+    NotificationChannel channel();
+
+    String processorName();
+
+    void deliver(EventLog eventLog, Event event, EventLogPayload payload, NotificationBatchContext context);
+}
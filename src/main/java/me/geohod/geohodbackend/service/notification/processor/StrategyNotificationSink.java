@@ -0,0 +1,105 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.eventlog.EventLog;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
+import me.geohod.geohodbackend.service.notification.NotificationChannel;
+import me.geohod.geohodbackend.service.notification.processor.strategy.NotificationBatchContext;
+import me.geohod.geohodbackend.service.notification.processor.strategy.NotificationStrategy;
+import me.geohod.geohodbackend.service.notification.processor.strategy.StrategyRegistry;
+
+/**
+ * Delivers event logs through the strategies registered for a single channel,
+ * timing each strategy call and counting its failures. Strategies let their failures
+ * propagate, so a failing strategy is logged and counted here and does not stop the others.
+ * <p>
+ * Each strategy runs in a savepoint of the dispatcher's transaction. A failed strategy is
+ * rolled back to it, so an aborted PostgreSQL transaction or a rollback-only mark left by a
+ * {@code @Transactional} bean does not fail the commit of the whole shard batch.
+ */
+@Slf4j
+public class StrategyNotificationSink implements NotificationSink {
+    private final NotificationChannel channel;
+    private final String processorName;
+    private final StrategyRegistry strategyRegistry;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate strategyTransaction;
+    private final Map<Class<?>, StrategyMeters> strategyMeters = new ConcurrentHashMap<>();
+
+    public StrategyNotificationSink(NotificationChannel channel, String processorName, StrategyRegistry strategyRegistry,
+            MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.channel = channel;
+        this.processorName = processorName;
+        this.strategyRegistry = strategyRegistry;
+        this.meterRegistry = meterRegistry;
+        this.strategyTransaction = new TransactionTemplate(transactionManager);
+        this.strategyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+    }
+
+    @Override
+    public NotificationChannel channel() {
+        return channel;
+    }
+
+    @Override
+    public String processorName() {
+        return processorName;
+    }
+
+    @Override
+    public void deliver(EventLog eventLog, Event event, EventLogPayload payload, NotificationBatchContext context) {
+        List<NotificationStrategy<?>> strategies = strategyRegistry.getStrategies(eventLog.getType(), channel);
+
+        if (strategies.isEmpty()) {
+            log.trace("No {} strategies found for event type: {}", channel, eventLog.getType());
+            return;
+        }
+
+        for (NotificationStrategy<?> strategy : strategies) {
+            StrategyMeters meters = strategyMeters.computeIfAbsent(strategy.getClass(), this::createMeters);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                strategyTransaction.executeWithoutResult(status -> send(strategy, event, payload, context));
+            } catch (Exception e) {
+                meters.failures().increment();
+                log.error("Error processing event log {} with strategy {}: {}",
+                        eventLog.getId(), strategy.getClass().getSimpleName(), e.getMessage(), e);
+            } finally {
+                sample.stop(meters.send());
+            }
+        }
+    }
+
+    private StrategyMeters createMeters(Class<?> strategyClass) {
+        String name = ClassUtils.getUserClass(strategyClass).getSimpleName();
+        return new StrategyMeters(
+                NotificationProcessorMetrics.strategySend(meterRegistry, name),
+                NotificationProcessorMetrics.strategyFailures(meterRegistry, name));
+    }
+
+    /**
+     * Strategies are registered per {@link me.geohod.geohodbackend.data.model.eventlog.EventType},
+     * so the payload parsed for the log's type matches the strategy's payload type.
+     */
+    @SuppressWarnings("unchecked")
+    private static void send(NotificationStrategy<?> strategy, Event event, EventLogPayload payload,
+            NotificationBatchContext context) {
+        ((NotificationStrategy<EventLogPayload>) strategy).send(event, payload, context);
+    }
+
+    private record StrategyMeters(Timer send, Counter failures) {
+    }
+}
@@ -1,13 +1,14 @@
 package me.geohod.geohodbackend.service.notification.processor.strategy;
 
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
@@ -15,17 +16,21 @@ import lombok.extern.slf4j.Slf4j;
 import me.geohod.geohodbackend.data.dto.NotificationCreateDto;
 import me.geohod.geohodbackend.data.model.Event;
 import me.geohod.geohodbackend.data.model.EventParticipant;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.data.model.repository.EventParticipantRepository;
 import me.geohod.geohodbackend.service.notification.IAppNotificationService;
 import me.geohod.geohodbackend.service.notification.NotificationChannel;
+import me.geohod.geohodbackend.service.notification.NotificationPreferenceResolver;
+import me.geohod.geohodbackend.service.notification.NotificationRole;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class EventCancelledInAppStrategy implements NotificationStrategy {
+public class EventCancelledInAppStrategy implements NotificationStrategy<EventLogPayload.EventCanceled> {
 
     private final EventParticipantRepository eventParticipantRepository;
     private final IAppNotificationService appNotificationService;
+    private final NotificationPreferenceResolver preferenceResolver;
     private final ObjectMapper objectMapper;
 
     @Override
@@ -34,46 +39,47 @@ public class EventCancelledInAppStrategy implements NotificationStrategy {
     }
 
     @Override
-    public void send(Event event, String payload) {
-        try {
-            JsonNode root = objectMapper.readTree(payload);
-            boolean notifyParticipants = root.path("notifyParticipants").asBoolean(false);
-
-            Set<UUID> recipients = getRecipients(event, notifyParticipants);
-
-            recipients.forEach(userId -> createNotification(userId, event, payload));
-
-        } catch (JsonProcessingException e) {
-            log.error("Failed to parse payload for EVENT_CANCELLED: {}", payload, e);
+    public void send(Event event, EventLogPayload.EventCanceled payload, NotificationBatchContext context) {
+        Set<UUID> recipients = getRecipients(event, payload.notifyParticipants());
+        if (!recipients.isEmpty()) {
+            createNotifications(recipients, event, toJson(payload));
         }
     }
 
     private Set<UUID> getRecipients(Event event, boolean notifyParticipants) {
-        Set<UUID> recipients = new HashSet<>();
-        // Always include the organizer
-        recipients.add(event.getAuthorId());
+        Set<UUID> recipients = new LinkedHashSet<>();
+        // Always include the organizer, unless they opted out
+        recipients.addAll(preferenceResolver.filterEnabled(List.of(event.getAuthorId()),
+                StrategyNotificationType.EVENT_CANCELLED, NotificationRole.AUTHOR, getChannel()));
 
         // Include participants if they should be notified
         if (notifyParticipants) {
-            eventParticipantRepository.findEventParticipantByEventId(event.getId()).stream()
-                    .map(EventParticipant::getUserId)
-                    .forEach(recipients::add);
+            recipients.addAll(preferenceResolver.filterEnabled(
+                    eventParticipantRepository.findEventParticipantByEventId(event.getId()).stream()
+                            .map(EventParticipant::getUserId)
+                            .toList(),
+                    StrategyNotificationType.EVENT_CANCELLED, NotificationRole.PARTICIPANT, getChannel()));
         }
         return recipients;
     }
 
-    private void createNotification(UUID userId, Event event, String payload) {
+    private void createNotifications(Collection<UUID> userIds, Event event, String payload) {
+        List<NotificationCreateDto> requests = userIds.stream()
+                .map(userId -> new NotificationCreateDto(
+                        userId,
+                        StrategyNotificationType.EVENT_CANCELLED,
+                        payload,
+                        event.getId()))
+                .toList();
+        appNotificationService.createNotifications(requests);
+        log.debug("Created {} in-app notifications via strategy {}", requests.size(), getClass().getSimpleName());
+    }
+
+    private String toJson(EventLogPayload payload) {
         try {
-            NotificationCreateDto request = new NotificationCreateDto(
-                    userId,
-                    StrategyNotificationType.EVENT_CANCELLED,
-                    payload,
-                    event.getId());
-            appNotificationService.createNotification(request);
-            log.debug("Created in-app notification for user {} via strategy {}", userId, getClass().getSimpleName());
-        } catch (Exception e) {
-            log.error("Failed to create in-app notification for user {} via strategy {}: {}",
-                    userId, getClass().getSimpleName(), e.getMessage(), e);
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize payload " + payload, e);
         }
     }
 }
@@ -6,30 +6,28 @@ import java.util.UUID;
 
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.service.ITelegramOutboxMessagePublisher;
-import me.geohod.geohodbackend.service.IUserService;
 import me.geohod.geohodbackend.service.link.BinaryLinkGenerator;
 import me.geohod.geohodbackend.service.link.LinkAction;
 import me.geohod.geohodbackend.service.notification.NotificationChannel;
+import me.geohod.geohodbackend.service.notification.NotificationPreferenceResolver;
+import me.geohod.geohodbackend.service.notification.NotificationRole;
 import me.geohod.geohodbackend.service.notification.processor.strategy.message.MessageFormatter;
 import me.geohod.geohodbackend.service.notification.processor.strategy.message.TemplateType;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class EventCancelledOrganizerNoNotifyTelegramStrategy implements NotificationStrategy {
+public class EventCancelledOrganizerNoNotifyTelegramStrategy implements NotificationStrategy<EventLogPayload.EventCanceled> {
 
-    private final ObjectMapper objectMapper;
     private final BinaryLinkGenerator binaryLinkGenerator;
     private final MessageFormatter messageFormatter;
     private final ITelegramOutboxMessagePublisher telegramOutboxMessagePublisher;
-    private final IUserService userService;
+    private final NotificationPreferenceResolver preferenceResolver;
 
     @Override
     public NotificationChannel getChannel() {
@@ -37,34 +35,32 @@ public class EventCancelledOrganizerNoNotifyTelegramStrategy implements Notifica
     }
 
     @Override
-    public void send(Event event, String payload) {
-        try {
-            JsonNode root = objectMapper.readTree(payload);
-            boolean notifyParticipants = root.path("notifyParticipants").asBoolean(false);
-
-            // Only execute if notifyParticipants is false
-            if (notifyParticipants) {
-                log.trace("Skipping {} - notifyParticipants is true", getClass().getSimpleName());
-                return;
-            }
+    public void send(Event event, EventLogPayload.EventCanceled payload, NotificationBatchContext context) {
+        // Only execute if notifyParticipants is false
+        if (payload.notifyParticipants()) {
+            log.trace("Skipping {} - notifyParticipants is true", getClass().getSimpleName());
+            return;
+        }
 
-            Map<String, Object> params = new HashMap<>();
-            params.put("notifyParticipants", false);
+        if (!preferenceResolver.isEnabled(event.getAuthorId(), StrategyNotificationType.EVENT_CANCELLED,
+                NotificationRole.AUTHOR, getChannel())) {
+            log.trace("Skipping {} - organizer opted out", getClass().getSimpleName());
+            return;
+        }
 
-            String eventLink = createEventLink(event);
-            params.put("eventLink", eventLink);
+        Map<String, Object> params = new HashMap<>();
+        params.put("notifyParticipants", false);
 
-            var author = userService.getUser(event.getAuthorId());
-            String message = messageFormatter.formatMessageFromTemplate(
-                    "event.cancelled.organizer.not-notify-participants",
-                    TemplateType.TELEGRAM, event, author, params);
+        String eventLink = createEventLink(event);
+        params.put("eventLink", eventLink);
 
-            // Send only to organizer
-            publishMessage(event.getAuthorId(), message);
+        var author = context.author(event);
+        String message = messageFormatter.formatMessageFromTemplate(
+                "event.cancelled.organizer.not-notify-participants",
+                TemplateType.TELEGRAM, event, author, params);
 
-        } catch (Exception e) {
-            log.error("Failed to create cancelled event notification for event {}: {}", event.getId(), e.getMessage(), e);
-        }
+        // Send only to organizer
+        publishMessage(event.getAuthorId(), message);
     }
 
     private String createEventLink(Event event) {
@@ -72,12 +68,7 @@ public class EventCancelledOrganizerNoNotifyTelegramStrategy implements Notifica
     }
 
     private void publishMessage(UUID userId, String message) {
-        try {
-            telegramOutboxMessagePublisher.publish(userId, message);
-            log.debug("Published notification for user {} via strategy {}", userId, getClass().getSimpleName());
-        } catch (Exception e) {
-            log.error("Failed to publish notification for user {} via strategy {}: {}",
-                    userId, getClass().getSimpleName(), e.getMessage(), e);
-        }
+        telegramOutboxMessagePublisher.publish(userId, message);
+        log.debug("Published notification for user {} via strategy {}", userId, getClass().getSimpleName());
     }
 }
@@ -8,33 +8,31 @@ import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.data.model.repository.EventParticipantProjectionRepository;
 import me.geohod.geohodbackend.data.model.repository.EventParticipantProjectionRepository.EventParticipantContactInfo;
 import me.geohod.geohodbackend.service.ITelegramOutboxMessagePublisher;
-import me.geohod.geohodbackend.service.IUserService;
 import me.geohod.geohodbackend.service.link.BinaryLinkGenerator;
 import me.geohod.geohodbackend.service.link.LinkAction;
 import me.geohod.geohodbackend.service.notification.NotificationChannel;
+import me.geohod.geohodbackend.service.notification.NotificationPreferenceResolver;
+import me.geohod.geohodbackend.service.notification.NotificationRole;
 import me.geohod.geohodbackend.service.notification.processor.strategy.message.MessageFormatter;
 import me.geohod.geohodbackend.service.notification.processor.strategy.message.TemplateType;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class EventCancelledOrganizerNotifyParticipantsTelegramStrategy implements NotificationStrategy {
+public class EventCancelledOrganizerNotifyParticipantsTelegramStrategy implements NotificationStrategy<EventLogPayload.EventCanceled> {
 
     private final EventParticipantProjectionRepository eventParticipantProjectionRepository;
-    private final ObjectMapper objectMapper;
     private final BinaryLinkGenerator binaryLinkGenerator;
     private final MessageFormatter messageFormatter;
     private final ITelegramOutboxMessagePublisher telegramOutboxMessagePublisher;
-    private final IUserService userService;
+    private final NotificationPreferenceResolver preferenceResolver;
 
     @Override
     public NotificationChannel getChannel() {
@@ -42,35 +40,34 @@ public class EventCancelledOrganizerNotifyParticipantsTelegramStrategy implement
     }
 
     @Override
-    public void send(Event event, String payload) {
-        try {
-            JsonNode root = objectMapper.readTree(payload);
-            boolean notifyParticipants = root.path("notifyParticipants").asBoolean(false);
-
-            if (!notifyParticipants) {
-                log.trace("Skipping {} - notifyParticipants is false", getClass().getSimpleName());
-                return;
-            }
-
-            Map<String, Object> params = new HashMap<>();
-            String participantList = buildParticipantList(event.getId());
-            params.put("participantList", participantList);
-            params.put("notifyParticipants", true);
-
-            String eventLink = createEventLink(event);
-            params.put("eventLink", eventLink);
-
-            var author = userService.getUser(event.getAuthorId());
-            String message = messageFormatter.formatMessageFromTemplate(
-                    "event.cancelled.organizer.notify-participants",
-                    TemplateType.TELEGRAM, event, author, params);
-
-            var sendTo = event.getAuthorId();
-
-            publishMessage(sendTo, message);
-        } catch (Exception e) {
-            log.error("Failed to create cancelled event notification for event {}: {}", event.getId(), e.getMessage(), e);
+    public void send(Event event, EventLogPayload.EventCanceled payload, NotificationBatchContext context) {
+        if (!payload.notifyParticipants()) {
+            log.trace("Skipping {} - notifyParticipants is false", getClass().getSimpleName());
+            return;
+        }
+
+        if (!preferenceResolver.isEnabled(event.getAuthorId(), StrategyNotificationType.EVENT_CANCELLED,
+                NotificationRole.AUTHOR, getChannel())) {
+            log.trace("Skipping {} - organizer opted out", getClass().getSimpleName());
+            return;
         }
+
+        Map<String, Object> params = new HashMap<>();
+        String participantList = buildParticipantList(event.getId());
+        params.put("participantList", participantList);
+        params.put("notifyParticipants", true);
+
+        String eventLink = createEventLink(event);
+        params.put("eventLink", eventLink);
+
+        var author = context.author(event);
+        String message = messageFormatter.formatMessageFromTemplate(
+                "event.cancelled.organizer.notify-participants",
+                TemplateType.TELEGRAM, event, author, params);
+
+        var sendTo = event.getAuthorId();
+
+        publishMessage(sendTo, message);
     }
 
     private String createEventLink(Event event) {
@@ -110,12 +107,7 @@ public class EventCancelledOrganizerNotifyParticipantsTelegramStrategy implement
     }
 
     private void publishMessage(UUID userId, String message) {
-        try {
-            telegramOutboxMessagePublisher.publish(userId, message);
-            log.debug("Published notification for user {} via strategy {}", userId, getClass().getSimpleName());
-        } catch (Exception e) {
-            log.error("Failed to publish notification for user {} via strategy {}: {}",
-                    userId, getClass().getSimpleName(), e.getMessage(), e);
-        }
+        telegramOutboxMessagePublisher.publish(userId, message);
+        log.debug("Published notification for user {} via strategy {}", userId, getClass().getSimpleName());
     }
 }
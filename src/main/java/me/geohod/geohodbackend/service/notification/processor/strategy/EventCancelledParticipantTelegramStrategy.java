@@ -1,6 +1,7 @@
 package me.geohod.geohodbackend.service.notification.processor.strategy;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -8,33 +9,31 @@ import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import me.geohod.geohodbackend.data.model.Event;
 import me.geohod.geohodbackend.data.model.EventParticipant;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.data.model.repository.EventParticipantRepository;
 import me.geohod.geohodbackend.service.ITelegramOutboxMessagePublisher;
-import me.geohod.geohodbackend.service.IUserService;
 import me.geohod.geohodbackend.service.link.BinaryLinkGenerator;
 import me.geohod.geohodbackend.service.link.LinkAction;
 import me.geohod.geohodbackend.service.notification.NotificationChannel;
+import me.geohod.geohodbackend.service.notification.NotificationPreferenceResolver;
+import me.geohod.geohodbackend.service.notification.NotificationRole;
 import me.geohod.geohodbackend.service.notification.processor.strategy.message.MessageFormatter;
 import me.geohod.geohodbackend.service.notification.processor.strategy.message.TemplateType;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class EventCancelledParticipantTelegramStrategy implements NotificationStrategy {
+public class EventCancelledParticipantTelegramStrategy implements NotificationStrategy<EventLogPayload.EventCanceled> {
 
     private final EventParticipantRepository eventParticipantRepository;
-    private final ObjectMapper objectMapper;
     private final BinaryLinkGenerator binaryLinkGenerator;
     private final MessageFormatter messageFormatter;
     private final ITelegramOutboxMessagePublisher telegramOutboxMessagePublisher;
-    private final IUserService userService;
+    private final NotificationPreferenceResolver preferenceResolver;
 
     @Override
     public NotificationChannel getChannel() {
@@ -42,33 +41,31 @@ public class EventCancelledParticipantTelegramStrategy implements NotificationSt
     }
 
     @Override
-    public void send(Event event, String payload) {
-        try {
-            JsonNode root = objectMapper.readTree(payload);
-            boolean notifyParticipants = root.path("notifyParticipants").asBoolean(false);
-
-            // Only execute if notifyParticipants is true
-            if (!notifyParticipants) {
-                log.trace("Skipping {} - notifyParticipants is false", getClass().getSimpleName());
-                return;
-            }
+    public void send(Event event, EventLogPayload.EventCanceled payload, NotificationBatchContext context) {
+        // Only execute if notifyParticipants is true
+        if (!payload.notifyParticipants()) {
+            log.trace("Skipping {} - notifyParticipants is false", getClass().getSimpleName());
+            return;
+        }
 
-            Map<String, Object> params = new HashMap<>();
-            String eventLink = createEventLink(event);
-            params.put("eventLink", eventLink);
+        // Send only to participants, not the organizer
+        List<UUID> participantIds = preferenceResolver.filterEnabled(getParticipants(event),
+                StrategyNotificationType.EVENT_CANCELLED, NotificationRole.PARTICIPANT, getChannel());
+        if (participantIds.isEmpty()) {
+            log.trace("Skipping {} - no participants to notify", getClass().getSimpleName());
+            return;
+        }
 
-            var author = userService.getUser(event.getAuthorId());
-            String message = messageFormatter.formatMessageFromTemplate(
-                    "event.cancelled",
-                    TemplateType.TELEGRAM, event, author, params);
+        Map<String, Object> params = new HashMap<>();
+        String eventLink = createEventLink(event);
+        params.put("eventLink", eventLink);
 
-            // Send only to participants, not the organizer
-            Set<UUID> participantIds = getParticipants(event);
-            participantIds.forEach(userId -> publishMessage(userId, message));
+        var author = context.author(event);
+        String message = messageFormatter.formatMessageFromTemplate(
+                "event.cancelled",
+                TemplateType.TELEGRAM, event, author, params);
 
-        } catch (Exception e) {
-            log.error("Failed to create cancelled event notification for event {}: {}", event.getId(), e.getMessage(), e);
-        }
+        publishBroadcast(participantIds, message);
     }
 
     private String createEventLink(Event event) {
@@ -81,13 +78,8 @@ public class EventCancelledParticipantTelegramStrategy implements NotificationSt
                 .collect(Collectors.toSet());
     }
 
-    private void publishMessage(UUID userId, String message) {
-        try {
-            telegramOutboxMessagePublisher.publish(userId, message);
-            log.debug("Published notification for user {} via strategy {}", userId, getClass().getSimpleName());
-        } catch (Exception e) {
-            log.error("Failed to publish notification for user {} via strategy {}: {}",
-                    userId, getClass().getSimpleName(), e.getMessage(), e);
-        }
+    private void publishBroadcast(List<UUID> userIds, String message) {
+        telegramOutboxMessagePublisher.publishBroadcast(userIds, message);
+        log.debug("Published notification for {} users via strategy {}", userIds.size(), getClass().getSimpleName());
     }
 }
\ No newline at end of file
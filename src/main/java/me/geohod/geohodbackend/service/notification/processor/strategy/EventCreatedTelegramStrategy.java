@@ -9,23 +9,25 @@ import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.service.ITelegramOutboxMessagePublisher;
-import me.geohod.geohodbackend.service.IUserService;
 import me.geohod.geohodbackend.service.link.BinaryLinkGenerator;
 import me.geohod.geohodbackend.service.link.LinkAction;
 import me.geohod.geohodbackend.service.notification.NotificationChannel;
+import me.geohod.geohodbackend.service.notification.NotificationPreferenceResolver;
+import me.geohod.geohodbackend.service.notification.NotificationRole;
 import me.geohod.geohodbackend.service.notification.processor.strategy.message.MessageFormatter;
 import me.geohod.geohodbackend.service.notification.processor.strategy.message.TemplateType;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class EventCreatedTelegramStrategy implements NotificationStrategy {
+public class EventCreatedTelegramStrategy implements NotificationStrategy<EventLogPayload.EventCreated> {
 
     private final BinaryLinkGenerator binaryLinkGenerator;
     private final MessageFormatter messageFormatter;
     private final ITelegramOutboxMessagePublisher telegramOutboxMessagePublisher;
-    private final IUserService userService;
+    private final NotificationPreferenceResolver preferenceResolver;
 
     @Override
     public NotificationChannel getChannel() {
@@ -33,24 +35,26 @@ public class EventCreatedTelegramStrategy implements NotificationStrategy {
     }
 
     @Override
-    public void send(Event event, String payload) {
-        try {
-            Map<String, Object> params = new HashMap<>();
+    public void send(Event event, EventLogPayload.EventCreated payload, NotificationBatchContext context) {
+        if (!preferenceResolver.isEnabled(event.getAuthorId(), StrategyNotificationType.EVENT_CREATED,
+                NotificationRole.AUTHOR, getChannel())) {
+            log.trace("Skipping {} - organizer opted out", getClass().getSimpleName());
+            return;
+        }
 
-            String registerLink = createRegisterLink(event);
-            params.put("registerLink", registerLink);
+        Map<String, Object> params = new HashMap<>();
 
-            String eventLink = createEventLink(event);
-            params.put("eventLink", eventLink);
+        String registerLink = createRegisterLink(event);
+        params.put("registerLink", registerLink);
 
-            var author = userService.getUser(event.getAuthorId());
-            String message = messageFormatter.formatMessageFromTemplate("event.created",
-                    TemplateType.TELEGRAM, event, author, params);
+        String eventLink = createEventLink(event);
+        params.put("eventLink", eventLink);
 
-            publishMessage(event.getAuthorId(), message);
-        } catch (Exception e) {
-            log.error("Failed to create event notification for event {}: {}", event.getId(), e.getMessage(), e);
-        }
+        var author = context.author(event);
+        String message = messageFormatter.formatMessageFromTemplate("event.created",
+                TemplateType.TELEGRAM, event, author, params);
+
+        publishMessage(event.getAuthorId(), message);
     }
 
     private String createRegisterLink(Event event) {
@@ -62,12 +66,7 @@ public class EventCreatedTelegramStrategy implements NotificationStrategy {
     }
 
     private void publishMessage(UUID userId, String message) {
-        try {
-            telegramOutboxMessagePublisher.publish(userId, message);
-            log.debug("Published notification for user {} via strategy {}", userId, getClass().getSimpleName());
-        } catch (Exception e) {
-            log.error("Failed to publish notification for user {} via strategy {}: {}",
-                    userId, getClass().getSimpleName(), e.getMessage(), e);
-        }
+        telegramOutboxMessagePublisher.publish(userId, message);
+        log.debug("Published notification for user {} via strategy {}", userId, getClass().getSimpleName());
     }
 }
@@ -1,25 +1,35 @@
 package me.geohod.geohodbackend.service.notification.processor.strategy;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import me.geohod.geohodbackend.data.dto.NotificationCreateDto;
 import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.data.model.EventParticipant;
 import me.geohod.geohodbackend.data.model.repository.EventParticipantRepository;
 import me.geohod.geohodbackend.service.notification.IAppNotificationService;
 import me.geohod.geohodbackend.service.notification.NotificationChannel;
+import me.geohod.geohodbackend.service.notification.NotificationPreferenceResolver;
+import me.geohod.geohodbackend.service.notification.NotificationRole;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class EventFinishedInAppStrategy implements NotificationStrategy {
+public class EventFinishedInAppStrategy implements NotificationStrategy<EventLogPayload.EventFinished> {
 
     private final EventParticipantRepository eventParticipantRepository;
     private final IAppNotificationService appNotificationService;
+    private final NotificationPreferenceResolver preferenceResolver;
+    private final ObjectMapper objectMapper;
 
     @Override
     public NotificationChannel getChannel() {
@@ -27,24 +37,34 @@ public class EventFinishedInAppStrategy implements NotificationStrategy {
     }
 
     @Override
-    public void send(Event event, String payload) {
-        eventParticipantRepository.findEventParticipantByEventId(event.getId()).stream()
-                .map(EventParticipant::getUserId)
-                .forEach(userId -> createNotification(userId, event, payload));
+    public void send(Event event, EventLogPayload.EventFinished payload, NotificationBatchContext context) {
+        List<UUID> participants = preferenceResolver.filterEnabled(
+                eventParticipantRepository.findEventParticipantByEventId(event.getId()).stream()
+                        .map(EventParticipant::getUserId)
+                        .toList(),
+                StrategyNotificationType.EVENT_FINISHED, NotificationRole.PARTICIPANT, getChannel());
+        if (!participants.isEmpty()) {
+            createNotifications(participants, event, toJson(payload));
+        }
+    }
+
+    private void createNotifications(Collection<UUID> userIds, Event event, String payload) {
+        List<NotificationCreateDto> requests = userIds.stream()
+                .map(userId -> new NotificationCreateDto(
+                        userId,
+                        StrategyNotificationType.EVENT_FINISHED,
+                        payload,
+                        event.getId()))
+                .toList();
+        appNotificationService.createNotifications(requests);
+        log.debug("Created {} in-app notifications via strategy {}", requests.size(), getClass().getSimpleName());
     }
 
-    private void createNotification(UUID userId, Event event, String payload) {
+    private String toJson(EventLogPayload payload) {
         try {
-            NotificationCreateDto request = new NotificationCreateDto(
-                    userId,
-                    StrategyNotificationType.EVENT_FINISHED,
-                    payload,
-                    event.getId());
-            appNotificationService.createNotification(request);
-            log.debug("Created in-app notification for user {} via strategy {}", userId, getClass().getSimpleName());
-        } catch (Exception e) {
-            log.error("Failed to create in-app notification for user {} via strategy {}: {}",
-                    userId, getClass().getSimpleName(), e.getMessage(), e);
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize payload " + payload, e);
         }
     }
 }
@@ -1,38 +1,37 @@
 package me.geohod.geohodbackend.service.notification.processor.strategy;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import me.geohod.geohodbackend.data.model.Event;
 import me.geohod.geohodbackend.data.model.EventParticipant;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.data.model.repository.EventParticipantRepository;
 import me.geohod.geohodbackend.service.ITelegramOutboxMessagePublisher;
-import me.geohod.geohodbackend.service.IUserService;
 import me.geohod.geohodbackend.service.link.BinaryLinkGenerator;
 import me.geohod.geohodbackend.service.link.LinkAction;
 import me.geohod.geohodbackend.service.notification.NotificationChannel;
+import me.geohod.geohodbackend.service.notification.NotificationPreferenceResolver;
+import me.geohod.geohodbackend.service.notification.NotificationRole;
 import me.geohod.geohodbackend.service.notification.processor.strategy.message.MessageFormatter;
 import me.geohod.geohodbackend.service.notification.processor.strategy.message.TemplateType;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class EventFinishedTelegramStrategy implements NotificationStrategy {
+public class EventFinishedTelegramStrategy implements NotificationStrategy<EventLogPayload.EventFinished> {
 
     private final EventParticipantRepository eventParticipantRepository;
-    private final ObjectMapper objectMapper;
     private final BinaryLinkGenerator binaryLinkGenerator;
     private final MessageFormatter messageFormatter;
     private final ITelegramOutboxMessagePublisher telegramOutboxMessagePublisher;
-    private final IUserService userService;
+    private final NotificationPreferenceResolver preferenceResolver;
 
     @Override
     public NotificationChannel getChannel() {
@@ -40,33 +39,33 @@ public class EventFinishedTelegramStrategy implements NotificationStrategy {
     }
 
     @Override
-    public void send(Event event, String payload) {
-        try {
-            JsonNode root = objectMapper.readTree(payload);
-            boolean sendPollLink = root.path("sendPollLink").asBoolean(false);
-
-            Map<String, Object> params = new HashMap<>();
+    public void send(Event event, EventLogPayload.EventFinished payload, NotificationBatchContext context) {
+        List<UUID> participantIds = preferenceResolver.filterEnabled(
+                eventParticipantRepository.findEventParticipantByEventId(event.getId()).stream()
+                        .map(EventParticipant::getUserId)
+                        .distinct()
+                        .toList(),
+                StrategyNotificationType.EVENT_FINISHED, NotificationRole.PARTICIPANT, getChannel());
+        if (participantIds.isEmpty()) {
+            log.trace("Skipping {} - no participants to notify", getClass().getSimpleName());
+            return;
+        }
 
-            String eventLink = createEventLink(event);
-            params.put("eventLink", eventLink);
+        Map<String, Object> params = new HashMap<>();
 
-            if (sendPollLink) {
-                String reviewLink = createReviewLink(event);
-                params.put("reviewLink", reviewLink);
-            }
+        String eventLink = createEventLink(event);
+        params.put("eventLink", eventLink);
 
-            var author = userService.getUser(event.getAuthorId());
-            String message = messageFormatter.formatMessageFromTemplate("event.finished",
-                    TemplateType.TELEGRAM, event, author, params);
+        if (payload.sendPollLink()) {
+            String reviewLink = createReviewLink(event);
+            params.put("reviewLink", reviewLink);
+        }
 
-            eventParticipantRepository.findEventParticipantByEventId(event.getId()).stream()
-                    .map(EventParticipant::getUserId)
-                    .forEach(userId -> publishMessage(userId, message));
+        var author = context.author(event);
+        String message = messageFormatter.formatMessageFromTemplate("event.finished",
+                TemplateType.TELEGRAM, event, author, params);
 
-        } catch (Exception e) {
-            log.error("Failed to create finished event notification for event {}: {}", event.getId(), e.getMessage(),
-                    e);
-        }
+        publishBroadcast(participantIds, message);
     }
 
     private String createReviewLink(Event event) {
@@ -77,13 +76,8 @@ public class EventFinishedTelegramStrategy implements NotificationStrategy {
         return binaryLinkGenerator.generateLink(LinkAction.OPEN_EVENT, event.getId());
     }
 
-    private void publishMessage(UUID userId, String message) {
-        try {
-            telegramOutboxMessagePublisher.publish(userId, message);
-            log.debug("Published notification for user {} via strategy {}", userId, getClass().getSimpleName());
-        } catch (Exception e) {
-            log.error("Failed to publish notification for user {} via strategy {}: {}",
-                    userId, getClass().getSimpleName(), e.getMessage(), e);
-        }
+    private void publishBroadcast(List<UUID> userIds, String message) {
+        telegramOutboxMessagePublisher.publishBroadcast(userIds, message);
+        log.debug("Published notification for {} users via strategy {}", userIds.size(), getClass().getSimpleName());
     }
 }
@@ -0,0 +1,43 @@
+package me.geohod.geohodbackend.service.notification.processor.strategy;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.User;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
+
+/**
+ * Entities preloaded for one batch of event logs, shared by every strategy that handles the batch.
+ * Payloads are keyed by event log id and parsed once per batch.
+ */
+public record NotificationBatchContext(Map<UUID, Event> events, Map<UUID, User> users,
+        Map<UUID, EventLogPayload> payloads) {
+
+    public NotificationBatchContext {
+        events = Map.copyOf(events);
+        users = Map.copyOf(users);
+        payloads = Map.copyOf(payloads);
+    }
+
+    public static NotificationBatchContext empty() {
+        return new NotificationBatchContext(Map.of(), Map.of(), Map.of());
+    }
+
+    public Optional<EventLogPayload> findPayload(UUID eventLogId) {
+        return Optional.ofNullable(payloads.get(eventLogId));
+    }
+
+    public Optional<Event> findEvent(UUID eventId) {
+        return Optional.ofNullable(events.get(eventId));
+    }
+
+    public User author(Event event) {
+        User author = users.get(event.getAuthorId());
+        if (author == null) {
+            throw new IllegalArgumentException("User not found");
+        }
+        return author;
+    }
+}
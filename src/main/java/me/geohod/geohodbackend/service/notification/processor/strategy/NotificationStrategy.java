@@ -1,10 +1,14 @@
 package me.geohod.geohodbackend.service.notification.processor.strategy;
 
 import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.service.notification.NotificationChannel;
 
-public interface NotificationStrategy {
+public interface NotificationStrategy<P extends EventLogPayload> {
     NotificationChannel getChannel();
 
-    void send(Event event, String payload);
-}
\ No newline at end of file
+    /**
+     * Failures propagate to the caller, which logs them and counts them per strategy.
+     */
+    void send(Event event, P payload, NotificationBatchContext context);
+}
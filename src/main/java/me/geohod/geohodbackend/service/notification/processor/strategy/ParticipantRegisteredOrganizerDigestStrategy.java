@@ -0,0 +1,41 @@
+package me.geohod.geohodbackend.service.notification.processor.strategy;
+
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
+import me.geohod.geohodbackend.service.notification.NotificationChannel;
+import me.geohod.geohodbackend.service.notification.NotificationPreferenceResolver;
+import me.geohod.geohodbackend.service.notification.NotificationRole;
+import me.geohod.geohodbackend.service.notification.OrganizerDigestService;
+
+/**
+ * Counts registrations into the organizer's digest instead of messaging the organizer each time.
+ */
+@Component
+@RequiredArgsConstructor
+public class ParticipantRegisteredOrganizerDigestStrategy implements NotificationStrategy<EventLogPayload.ParticipantRegistered> {
+
+    private final OrganizerDigestService organizerDigestService;
+    private final NotificationPreferenceResolver preferenceResolver;
+
+    @Override
+    public NotificationChannel getChannel() {
+        return NotificationChannel.TELEGRAM;
+    }
+
+    @Override
+    public void send(Event event, EventLogPayload.ParticipantRegistered payload, NotificationBatchContext context) {
+        UUID organizerId = event.getAuthorId();
+        if (!organizerDigestService.isEnabled() || organizerId == null || organizerId.equals(payload.userId())) {
+            return;
+        }
+        if (preferenceResolver.isEnabled(organizerId, StrategyNotificationType.PARTICIPANT_REGISTERED,
+                NotificationRole.AUTHOR, getChannel())) {
+            organizerDigestService.record(event, 1, 0);
+        }
+    }
+}
@@ -1,26 +1,31 @@
 package me.geohod.geohodbackend.service.notification.processor.strategy;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import me.geohod.geohodbackend.data.dto.NotificationCreateDto;
 import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.service.notification.IAppNotificationService;
 import me.geohod.geohodbackend.service.notification.NotificationChannel;
+import me.geohod.geohodbackend.service.notification.NotificationPreferenceResolver;
+import me.geohod.geohodbackend.service.notification.NotificationRole;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class ParticipantUnregisteredInAppStrategy implements NotificationStrategy {
+public class ParticipantUnregisteredInAppStrategy implements NotificationStrategy<EventLogPayload.ParticipantUnregistered> {
 
     private final IAppNotificationService appNotificationService;
+    private final NotificationPreferenceResolver preferenceResolver;
     private final ObjectMapper objectMapper;
 
     @Override
@@ -29,33 +34,30 @@ public class ParticipantUnregisteredInAppStrategy implements NotificationStrateg
     }
 
     @Override
-    public void send(Event event, String payload) {
-        try {
-            JsonNode root = objectMapper.readTree(payload);
-            String userIdStr = root.path("userId").asText();
-            if (userIdStr != null && !userIdStr.isEmpty()) {
-                UUID userId = UUID.fromString(userIdStr);
-                createNotification(userId, event, payload);
-            }
-        } catch (JsonProcessingException e) {
-            log.error("Failed to parse payload for PARTICIPANT_UNREGISTERED: {}", payload, e);
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid UUID in payload for PARTICIPANT_UNREGISTERED: {}", payload, e);
+    public void send(Event event, EventLogPayload.ParticipantUnregistered payload, NotificationBatchContext context) {
+        if (payload.userId() != null && preferenceResolver.isEnabled(payload.userId(),
+                StrategyNotificationType.PARTICIPANT_UNREGISTERED, NotificationRole.PARTICIPANT, getChannel())) {
+            createNotifications(List.of(payload.userId()), event, toJson(payload));
         }
     }
 
-    private void createNotification(UUID userId, Event event, String payload) {
+    private void createNotifications(Collection<UUID> userIds, Event event, String payload) {
+        List<NotificationCreateDto> requests = userIds.stream()
+                .map(userId -> new NotificationCreateDto(
+                        userId,
+                        StrategyNotificationType.PARTICIPANT_UNREGISTERED,
+                        payload,
+                        event.getId()))
+                .toList();
+        appNotificationService.createNotifications(requests);
+        log.debug("Created {} in-app notifications via strategy {}", requests.size(), getClass().getSimpleName());
+    }
+
+    private String toJson(EventLogPayload payload) {
         try {
-            NotificationCreateDto request = new NotificationCreateDto(
-                    userId,
-                    StrategyNotificationType.PARTICIPANT_UNREGISTERED,
-                    payload,
-                    event.getId());
-            appNotificationService.createNotification(request);
-            log.debug("Created in-app notification for user {} via strategy {}", userId, getClass().getSimpleName());
-        } catch (Exception e) {
-            log.error("Failed to create in-app notification for user {} via strategy {}: {}",
-                    userId, getClass().getSimpleName(), e.getMessage(), e);
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize payload " + payload, e);
         }
     }
 }
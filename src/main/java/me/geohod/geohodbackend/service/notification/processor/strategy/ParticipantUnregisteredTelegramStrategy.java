@@ -6,30 +6,28 @@ import java.util.UUID;
 
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.service.ITelegramOutboxMessagePublisher;
-import me.geohod.geohodbackend.service.IUserService;
 import me.geohod.geohodbackend.service.link.BinaryLinkGenerator;
 import me.geohod.geohodbackend.service.link.LinkAction;
 import me.geohod.geohodbackend.service.notification.NotificationChannel;
+import me.geohod.geohodbackend.service.notification.NotificationPreferenceResolver;
+import me.geohod.geohodbackend.service.notification.NotificationRole;
 import me.geohod.geohodbackend.service.notification.processor.strategy.message.MessageFormatter;
 import me.geohod.geohodbackend.service.notification.processor.strategy.message.TemplateType;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class ParticipantUnregisteredTelegramStrategy implements NotificationStrategy {
+public class ParticipantUnregisteredTelegramStrategy implements NotificationStrategy<EventLogPayload.ParticipantUnregistered> {
 
-    private final ObjectMapper objectMapper;
     private final BinaryLinkGenerator binaryLinkGenerator;
     private final MessageFormatter messageFormatter;
     private final ITelegramOutboxMessagePublisher telegramOutboxMessagePublisher;
-    private final IUserService userService;
+    private final NotificationPreferenceResolver preferenceResolver;
 
     @Override
     public NotificationChannel getChannel() {
@@ -37,26 +35,20 @@ public class ParticipantUnregisteredTelegramStrategy implements NotificationStra
     }
 
     @Override
-    public void send(Event event, String payload) {
-        try {
-            JsonNode root = objectMapper.readTree(payload);
-            String userIdStr = root.path("userId").asText();
-            if (userIdStr != null && !userIdStr.isEmpty()) {
-                Map<String, Object> params = new HashMap<>();
-
-                String eventLink = createEventLink(event);
-                params.put("eventLink", eventLink);
+    public void send(Event event, EventLogPayload.ParticipantUnregistered payload, NotificationBatchContext context) {
+        UUID userId = payload.userId();
+        if (userId != null && preferenceResolver.isEnabled(userId, StrategyNotificationType.PARTICIPANT_UNREGISTERED,
+                NotificationRole.PARTICIPANT, getChannel())) {
+            Map<String, Object> params = new HashMap<>();
 
-                UUID userId = UUID.fromString(userIdStr);
+            String eventLink = createEventLink(event);
+            params.put("eventLink", eventLink);
 
-                var author = userService.getUser(event.getAuthorId());
-                String message = messageFormatter.formatMessageFromTemplate("participant.unregistered",
-                        TemplateType.TELEGRAM, event, author, params);
+            var author = context.author(event);
+            String message = messageFormatter.formatMessageFromTemplate("participant.unregistered",
+                    TemplateType.TELEGRAM, event, author, params);
 
-                publishMessage(userId, message);
-            }
-        } catch (Exception e) {
-            log.error("Failed to create participant unregistered notification for event {}: {}", event.getId(), e.getMessage(), e);
+            publishMessage(userId, message);
         }
     }
 
@@ -65,12 +57,7 @@ public class ParticipantUnregisteredTelegramStrategy implements NotificationStra
     }
 
     private void publishMessage(UUID userId, String message) {
-        try {
-            telegramOutboxMessagePublisher.publish(userId, message);
-            log.debug("Published notification for user {} via strategy {}", userId, getClass().getSimpleName());
-        } catch (Exception e) {
-            log.error("Failed to publish notification for user {} via strategy {}: {}",
-                    userId, getClass().getSimpleName(), e.getMessage(), e);
-        }
+        telegramOutboxMessagePublisher.publish(userId, message);
+        log.debug("Published notification for user {} via strategy {}", userId, getClass().getSimpleName());
     }
 }
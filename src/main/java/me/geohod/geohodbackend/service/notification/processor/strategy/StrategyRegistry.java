@@ -13,13 +13,13 @@ import me.geohod.geohodbackend.service.notification.NotificationChannel;
 @Component
 public class StrategyRegistry {
 
-    private final Map<EventType, List<NotificationStrategy>> strategies = new EnumMap<>(EventType.class);
+    private final Map<EventType, List<NotificationStrategy<?>>> strategies = new EnumMap<>(EventType.class);
 
-    public void register(EventType type, NotificationStrategy strategy) {
+    public void register(EventType type, NotificationStrategy<?> strategy) {
         strategies.computeIfAbsent(type, k -> new ArrayList<>()).add(strategy);
     }
 
-    public List<NotificationStrategy> getStrategies(EventType type, NotificationChannel channel) {
+    public List<NotificationStrategy<?>> getStrategies(EventType type, NotificationChannel channel) {
         return strategies.getOrDefault(type, List.of()).stream()
                 .filter(s -> s.getChannel() == channel)
                 .toList();
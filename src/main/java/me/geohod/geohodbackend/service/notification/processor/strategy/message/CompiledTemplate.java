@@ -0,0 +1,293 @@
+package me.geohod.geohodbackend.service.notification.processor.strategy.message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A message template parsed once into an immutable node tree, rendered in a single pass.
+ * <p>
+ * Syntax: {@code {{variable}}}, {@code {{variable|fallback}}}, {@code {{variable:50}}} and
+ * {@code {#if condition}...{#else}...{/if}}, where conditionals may nest. Variable values are
+ * never interpreted as template syntax.
+ * <p>
+ * A template compiled for a {@link TemplateType} treats its literals and explicit fallbacks as
+ * markup that is already escaped and escapes each variable value for the markup context it is
+ * written in, e.g. link text or link URL in Telegram MarkdownV2. Without a type values are
+ * inserted as is.
+ */
+public final class CompiledTemplate {
+    private static final int VARIABLE_SIZE_HINT = 16;
+
+    private final String source;
+    private final List<Node> nodes;
+    private final int sizeHint;
+
+    private CompiledTemplate(String source, List<Node> nodes, int sizeHint) {
+        this.source = source;
+        this.nodes = nodes;
+        this.sizeHint = sizeHint;
+    }
+
+    public static CompiledTemplate compile(String template) {
+        return compile(template, null);
+    }
+
+    public static CompiledTemplate compile(String template, TemplateType type) {
+        if (template == null || template.isBlank()) {
+            return new CompiledTemplate(template == null ? "" : template, List.of(), 0);
+        }
+        Parser parser = new Parser(template, type);
+        List<Node> nodes = parser.parse();
+        return new CompiledTemplate(template, nodes, parser.literalLength + parser.variables * VARIABLE_SIZE_HINT);
+    }
+
+    public String source() {
+        return source;
+    }
+
+    /**
+     * Renders the template, using {@code fallbackValue} for missing variables without an
+     * explicit fallback. Leading and trailing whitespace of the result is trimmed.
+     */
+    public String render(Map<String, Object> data, String fallbackValue) {
+        if (nodes.isEmpty()) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(sizeHint);
+        for (Node node : nodes) {
+            node.render(out, data, fallbackValue);
+        }
+        return trimmed(out);
+    }
+
+    private static String trimmed(StringBuilder out) {
+        int start = 0;
+        int end = out.length();
+        while (start < end && out.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && out.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return out.substring(start, end);
+    }
+
+    private interface Node {
+        void render(StringBuilder out, Map<String, Object> data, String fallbackValue);
+    }
+
+    private record Literal(String text) implements Node {
+        @Override
+        public void render(StringBuilder out, Map<String, Object> data, String fallbackValue) {
+            out.append(text);
+        }
+    }
+
+    private record Variable(String name, String fallback, int maxLength, ValueEscaper escaper) implements Node {
+        @Override
+        public void render(StringBuilder out, Map<String, Object> data, String fallbackValue) {
+            Object value = data.get(name);
+            if (value == null) {
+                String text = fallback != null ? fallback : fallbackValue;
+                if (text != null) {
+                    out.append(truncated(text));
+                }
+                return;
+            }
+            escaper.append(out, truncated(String.valueOf(value)));
+        }
+
+        private String truncated(String text) {
+            return maxLength >= 0 && text.length() > maxLength ? text.substring(0, maxLength) : text;
+        }
+    }
+
+    private record Conditional(String condition, List<Node> then, List<Node> otherwise) implements Node {
+        @Override
+        public void render(StringBuilder out, Map<String, Object> data, String fallbackValue) {
+            for (Node node : isTrue(data) ? then : otherwise) {
+                node.render(out, data, fallbackValue);
+            }
+        }
+
+        private boolean isTrue(Map<String, Object> data) {
+            if ("true".equalsIgnoreCase(condition) || "false".equalsIgnoreCase(condition)) {
+                return Boolean.parseBoolean(condition);
+            }
+            Object value = data.get(condition);
+            if (value instanceof Boolean bool) {
+                return bool;
+            }
+            if (value instanceof String string) {
+                return !string.isEmpty();
+            }
+            if (value instanceof Number number) {
+                return number.doubleValue() != 0;
+            }
+            return false;
+        }
+    }
+
+    private static final class Parser {
+        private static final String IF_OPEN = "{#if";
+        private static final String ELSE = "{#else}";
+        private static final String IF_CLOSE = "{/if}";
+
+        private final String source;
+        private final TemplateType type;
+        private MarkupContext context = MarkupContext.TEXT;
+        private int pos;
+        private int literalLength;
+        private int variables;
+
+        private Parser(String source, TemplateType type) {
+            this.source = source;
+            this.type = type;
+        }
+
+        private List<Node> parse() {
+            List<Node> nodes = new ArrayList<>();
+            String end = parseNodes(nodes, false);
+            if (end != null) {
+                throw error("Unexpected " + end);
+            }
+            return List.copyOf(nodes);
+        }
+
+        /**
+         * Parses nodes up to the end of the source or, inside a conditional, up to its
+         * {@code {#else}} or {@code {/if}}, which is consumed and returned.
+         */
+        private String parseNodes(List<Node> nodes, boolean inConditional) {
+            StringBuilder literal = new StringBuilder();
+            while (pos < source.length()) {
+                char c = source.charAt(pos);
+                if (c != '{') {
+                    literal.append(c);
+                    pos++;
+                    continue;
+                }
+                if (source.startsWith(IF_CLOSE, pos) || source.startsWith(ELSE, pos)) {
+                    String end = source.startsWith(IF_CLOSE, pos) ? IF_CLOSE : ELSE;
+                    if (!inConditional) {
+                        throw error("Unexpected " + end);
+                    }
+                    flush(literal, nodes);
+                    pos += end.length();
+                    return end;
+                }
+                if (isIfOpen()) {
+                    flush(literal, nodes);
+                    nodes.add(parseConditional());
+                    continue;
+                }
+                int close = placeholderClose();
+                if (close >= 0) {
+                    flush(literal, nodes);
+                    nodes.add(parseVariable(close));
+                    continue;
+                }
+                literal.append(c);
+                pos++;
+            }
+            flush(literal, nodes);
+            return null;
+        }
+
+        private boolean isIfOpen() {
+            return source.startsWith(IF_OPEN, pos)
+                    && pos + IF_OPEN.length() < source.length()
+                    && Character.isWhitespace(source.charAt(pos + IF_OPEN.length()));
+        }
+
+        private Node parseConditional() {
+            int start = pos;
+            int close = source.indexOf('}', start);
+            String condition = close < 0 ? "" : source.substring(start + IF_OPEN.length(), close).trim();
+            if (condition.isEmpty()) {
+                throw error("Missing condition or closing brace of {#if");
+            }
+            pos = close + 1;
+
+            List<Node> then = new ArrayList<>();
+            List<Node> otherwise = new ArrayList<>();
+            MarkupContext entry = context;
+            String end = parseNodes(then, true);
+            if (ELSE.equals(end)) {
+                MarkupContext afterThen = context;
+                context = entry;
+                end = parseNodes(otherwise, true);
+                context = afterThen;
+                if (ELSE.equals(end)) {
+                    pos -= ELSE.length();
+                    throw error("Duplicate {#else}");
+                }
+            }
+            if (end == null) {
+                pos = start;
+                throw error("Missing {/if} for conditional");
+            }
+            return new Conditional(condition, List.copyOf(then), List.copyOf(otherwise));
+        }
+
+        /**
+         * Returns the index of the closing braces of the {@code {{expression}}} at the current
+         * position, or -1 when the brace does not start a complete placeholder and is literal text.
+         */
+        private int placeholderClose() {
+            if (!source.startsWith("{{", pos)) {
+                return -1;
+            }
+            int close = source.indexOf('}', pos + 2);
+            return close > pos + 2 && source.startsWith("}}", close) ? close : -1;
+        }
+
+        private Node parseVariable(int close) {
+            String expression = source.substring(pos + 2, close).trim();
+            pos = close + 2;
+            variables++;
+            return variable(expression, type != null ? ValueEscaper.of(type, context) : ValueEscaper.NONE);
+        }
+
+        private static Node variable(String expression, ValueEscaper escaper) {
+            int colon = expression.indexOf(':');
+            if (colon > 0 && colon == expression.lastIndexOf(':') && colon < expression.length() - 1
+                    && isDigits(expression, colon + 1)) {
+                String name = expression.substring(0, colon).trim();
+                if (!name.isEmpty()) {
+                    return new Variable(name, null, Integer.parseInt(expression.substring(colon + 1)), escaper);
+                }
+            }
+            int bar = expression.indexOf('|');
+            if (bar >= 0) {
+                return new Variable(expression.substring(0, bar).trim(), expression.substring(bar + 1).trim(), -1, escaper);
+            }
+            return new Variable(expression, null, -1, escaper);
+        }
+
+        private static boolean isDigits(String value, int from) {
+            for (int i = from; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void flush(StringBuilder literal, List<Node> nodes) {
+            if (!literal.isEmpty()) {
+                String text = literal.toString();
+                nodes.add(new Literal(text));
+                literalLength += text.length();
+                context = context.after(text);
+                literal.setLength(0);
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos + " of template");
+        }
+    }
+}
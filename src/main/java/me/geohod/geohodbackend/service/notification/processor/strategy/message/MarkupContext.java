@@ -0,0 +1,40 @@
+package me.geohod.geohodbackend.service.notification.processor.strategy.message;
+
+/**
+ * Where in Telegram markup a template variable is written: plain text, the text of a
+ * {@code [text](url)} link or its URL. Tracked over the template literals at compile time.
+ */
+enum MarkupContext {
+    TEXT,
+    LINK_TEXT,
+    LINK_URL;
+
+    /**
+     * Returns the context after the given pre-escaped markup has been written in this one.
+     */
+    MarkupContext after(String markup) {
+        MarkupContext context = this;
+        for (int i = 0; i < markup.length(); i++) {
+            char c = markup.charAt(i);
+            if (c == '\\') {
+                i++;
+                continue;
+            }
+            context = switch (context) {
+                case TEXT -> c == '[' ? LINK_TEXT : TEXT;
+                case LINK_TEXT -> {
+                    if (c != ']') {
+                        yield LINK_TEXT;
+                    }
+                    if (i + 1 < markup.length() && markup.charAt(i + 1) == '(') {
+                        i++;
+                        yield LINK_URL;
+                    }
+                    yield TEXT;
+                }
+                case LINK_URL -> c == ')' ? TEXT : LINK_URL;
+            };
+        }
+        return context;
+    }
+}
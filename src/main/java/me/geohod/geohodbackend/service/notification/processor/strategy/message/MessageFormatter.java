@@ -15,13 +15,13 @@ public class MessageFormatter {
 
     private final TemplateEngine templateEngine;
     private final MessageTemplateRegistry templateRegistry;
-    private final TelegramMarkdownV2Formatter telegramMarkdownV2Formatter;
+    private final RenderedMessageCache renderCache;
 
     public MessageFormatter(TemplateEngine templateEngine, MessageTemplateRegistry templateRegistry,
-            TelegramMarkdownV2Formatter telegramMarkdownV2Formatter) {
+            RenderedMessageCache renderCache) {
         this.templateEngine = templateEngine;
         this.templateRegistry = templateRegistry;
-        this.telegramMarkdownV2Formatter = telegramMarkdownV2Formatter;
+        this.renderCache = renderCache;
     }
 
     public String formatMessageFromTemplate(String templateId, TemplateType templateType,
@@ -30,19 +30,23 @@ public class MessageFormatter {
         MessageTemplate template = templateRegistry.getTemplate(templateId, templateType);
         if (template == null) {
             log.error("Template not found: {} for type: {}", templateId, templateType);
-            return formatFallbackMessage(templateId, event);
+            return formatFallbackMessage(templateId, templateType, event);
         }
 
-        return formatWithTemplate(template, event, author, variables);
+        CompiledTemplate compiled = templateRegistry.getCompiledTemplate(templateId, templateType);
+        return renderCache.get(templateId, templateType, event, author, variables,
+                () -> formatWithTemplate(compiled, event, author, variables));
     }
 
-    private String formatWithTemplate(MessageTemplate template, Event event, User author,
+    /**
+     * The compiled template escapes values for the markup of its type while rendering,
+     * so the result is sent as is.
+     */
+    private String formatWithTemplate(CompiledTemplate compiled, Event event, User author,
             Map<String, Object> variables) {
         Map<String, Object> dataContext = buildDataContext(event, author, variables);
 
-        String formattedMessage = templateEngine.processTemplate(template.template(), dataContext);
-
-        return applyChannelFormatting(formattedMessage, template.type());
+        return templateEngine.render(compiled, dataContext);
     }
 
     private Map<String, Object> buildDataContext(Event event, User author, Map<String, Object> variables) {
@@ -72,37 +76,18 @@ public class MessageFormatter {
         return data;
     }
 
-    private String applyChannelFormatting(String message, TemplateType templateType) {
-        return switch (templateType) {
-            case TELEGRAM -> applyTelegramFormatting(message);
-            case IN_APP -> applyInAppFormatting(message);
-        };
-    }
-
-    private String applyTelegramFormatting(String message) {
-        if (message == null)
-            return "";
-        return telegramMarkdownV2Formatter.format(message);
-    }
-
-    private String applyInAppFormatting(String message) {
-        return message
-                .replace("**", "")
-                .replace("*", "")
-                .replace("_", "")
-                .replace("`", "")
-                .replace("[", "")
-                .replace("]", "")
-                .replace("(", "")
-                .replace(")", "");
-    }
-
-    private String formatFallbackMessage(String templateId, Event event) {
+    private String formatFallbackMessage(String templateId, TemplateType templateType, Event event) {
         log.warn("Using fallback message for template: {}", templateId);
-        return String.format("Event notification (%s): %s on %s",
+        String message = String.format("Event notification (%s): %s on %s",
                 templateId,
                 event.getName(),
                 formatEventDate(event.getDate()));
+        if (templateType == TemplateType.TELEGRAM) {
+            StringBuilder escaped = new StringBuilder(message.length() + 16);
+            TelegramMarkdownV2Formatter.appendEscaped(escaped, message);
+            return escaped.toString();
+        }
+        return message;
     }
 
     private String formatEventDate(java.time.Instant eventDate) {
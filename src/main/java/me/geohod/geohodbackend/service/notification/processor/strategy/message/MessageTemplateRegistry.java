@@ -13,14 +13,18 @@ import lombok.extern.slf4j.Slf4j;
 public class MessageTemplateRegistry {
 
         private final Map<String, Map<TemplateType, MessageTemplate>> templates = new HashMap<>();
+        private final Map<String, Map<TemplateType, CompiledTemplate>> compiledTemplates = new HashMap<>();
 
         public void registerTemplate(MessageTemplate template) {
                 if (template == null) {
                         throw new IllegalArgumentException("Template cannot be null");
                 }
 
+                CompiledTemplate compiled = CompiledTemplate.compile(template.template(), template.type());
                 templates.computeIfAbsent(template.id(), k -> new HashMap<>())
                                 .put(template.type(), template);
+                compiledTemplates.computeIfAbsent(template.id(), k -> new HashMap<>())
+                                .put(template.type(), compiled);
 
                 log.debug("Registered template: {} for type: {}", template.id(), template.type());
         }
@@ -44,6 +48,14 @@ public class MessageTemplateRegistry {
                 return template;
         }
 
+        /**
+         * Returns the template parsed at registration, ready to render.
+         */
+        public CompiledTemplate getCompiledTemplate(String templateId, TemplateType templateType) {
+                Map<TemplateType, CompiledTemplate> typeTemplates = compiledTemplates.get(templateId);
+                return typeTemplates != null ? typeTemplates.get(templateType) : null;
+        }
+
         public MessageTemplate getTemplateWithFallback(String templateId, TemplateType preferredType,
                         TemplateType fallbackType) {
                 MessageTemplate template = getTemplate(templateId, preferredType);
@@ -115,7 +127,7 @@ public class MessageTemplateRegistry {
 
                                                 [{{eventName}}]({{eventLink}})
                                                 {{eventDate}}
-                                                [{{contactName}}]({{contactLink}})""",
+                                                {#if contactLink}[{{contactName}}]({{contactLink}}){#else}{{contactName}}{/if}""",
                                 TemplateType.TELEGRAM,
                                 Map.of(),
                                 Map.of("contactName", "Информация недоступна", "contactLink", "")));
@@ -127,7 +139,7 @@ public class MessageTemplateRegistry {
 
                                                 [{{eventName}}]({{eventLink}})
                                                 {{eventDate}}
-                                                [{{contactName}}]({{contactLink}})""",
+                                                {#if contactLink}[{{contactName}}]({{contactLink}}){#else}{{contactName}}{/if}""",
                                 TemplateType.TELEGRAM,
                                 Map.of(),
                                 Map.of("contactName", "", "contactLink", "")));
@@ -156,6 +168,20 @@ public class MessageTemplateRegistry {
                                 Map.of(),
                                 Map.of()));
 
+                registerTemplate(MessageTemplate.withFallbacks(
+                                "organizer.registration-digest",
+                                """
+                                                Регистрации на ваше событие:
+
+                                                [{{eventName}}]({{eventLink}})
+                                                {{eventDate}}
+
+                                                {{registrationSummary}}
+                                                Занято мест: {{seats}}""",
+                                TemplateType.TELEGRAM,
+                                Map.of(),
+                                Map.of()));
+
                 log.info("Initialized {} default templates", templates.size());
         }
 }
\ No newline at end of file
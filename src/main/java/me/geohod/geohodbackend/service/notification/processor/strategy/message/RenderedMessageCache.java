@@ -0,0 +1,129 @@
+package me.geohod.geohodbackend.service.notification.processor.strategy.message;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.relational.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties;
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.User;
+
+/**
+ * Bounded LRU cache of rendered template messages. Strategies handling the same event, and
+ * batches replayed after a failure, render the same template with the same parameters again.
+ * <p>
+ * Entries are keyed by template, type, event and author together with their versions and the
+ * template parameters, so a saved event or user is never served stale text. Saves also drop
+ * the entries of that event or user right away, instead of leaving them to LRU eviction.
+ */
+@Component
+@Slf4j
+public class RenderedMessageCache {
+    private final int maxSize;
+    private final Map<Key, String> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public RenderedMessageCache(NotificationProcessorProperties properties, MeterRegistry meterRegistry) {
+        this(properties.renderCache().maxSize(), meterRegistry);
+    }
+
+    RenderedMessageCache(int maxSize, MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        Gauge.builder("geohod.notification.render_cache.size", this, RenderedMessageCache::size)
+                .description("Rendered notification messages held in the cache")
+                .register(meterRegistry);
+        this.hits = Counter.builder("geohod.notification.render_cache.hits")
+                .description("Notification messages served from the render cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("geohod.notification.render_cache.misses")
+                .description("Notification messages rendered because they were not cached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached message or renders and caches it. Entities without a version, i.e.
+     * not loaded from the database, are rendered without caching.
+     */
+    public String get(String templateId, TemplateType type, Event event, User author, Map<String, Object> params,
+            Supplier<String> render) {
+        if (maxSize == 0 || event.getVersion() == null || author.getVersion() == null) {
+            return render.get();
+        }
+
+        Key key = new Key(templateId, type, event.getId(), event.getVersion(), author.getId(), author.getVersion(),
+                params == null ? Map.of() : Collections.unmodifiableMap(new HashMap<>(params)));
+        String message;
+        synchronized (cache) {
+            message = cache.get(key);
+        }
+        if (message != null) {
+            hits.increment();
+            return message;
+        }
+
+        misses.increment();
+        message = render.get();
+        synchronized (cache) {
+            cache.put(key, message);
+        }
+        return message;
+    }
+
+    public void invalidateEvent(UUID eventId) {
+        evictIf(key -> key.eventId().equals(eventId));
+    }
+
+    public void invalidateUser(UUID userId) {
+        evictIf(key -> key.authorId().equals(userId));
+    }
+
+    @EventListener
+    public void onSaved(AfterSaveEvent<?> saved) {
+        Object entity = saved.getEntity();
+        if (entity instanceof Event event) {
+            invalidateEvent(event.getId());
+        } else if (entity instanceof User user) {
+            invalidateUser(user.getId());
+        }
+    }
+
+    private void evictIf(Predicate<Key> stale) {
+        synchronized (cache) {
+            if (cache.keySet().removeIf(stale)) {
+                log.trace("Dropped stale rendered messages");
+            }
+        }
+    }
+
+    private int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private record Key(String templateId, TemplateType type, UUID eventId, long eventVersion,
+            UUID authorId, long authorVersion, Map<String, Object> params) {
+    }
+}
@@ -9,106 +9,77 @@ import org.springframework.stereotype.Component;
 public class TelegramMarkdownV2Formatter {
 
     private static final Pattern LINK_PATTERN = Pattern.compile("\\[([^\\]]+)\\]\\(([^)]+)\\)");
-    
-    // Regex to identify plain URLs (for preservation - not escaping)
-    private static final Pattern PLAIN_URL_PATTERN = Pattern.compile("https?://[^\\s]+");
 
     public String format(String message) {
         if (message == null || message.isEmpty()) {
             return "";
         }
 
-        StringBuilder result = new StringBuilder();
+        StringBuilder result = new StringBuilder(message.length() + 16);
         Matcher matcher = LINK_PATTERN.matcher(message);
         int lastIndex = 0;
 
         while (matcher.find()) {
             // 1. APPEND PRECEDING TEXT (Strictly Escaped)
-            String plainText = message.substring(lastIndex, matcher.start());
-            result.append(escapeMarkdownV2(plainText));
+            appendEscaped(result, message.substring(lastIndex, matcher.start()));
 
-            // 2. PROCESS THE LINK
-            String linkText = matcher.group(1);
-            String linkUrl = matcher.group(2);
-            
-            // Reconstruct the link: [Escaped Text](Escaped Url)
-            result.append("[")
-                  .append(escapeMarkdownV2(linkText)) // Text inside [] must be escaped
-                  .append("](")
-                  .append(escapeUrl(linkUrl))         // URL inside () has specific rules
-                  .append(")");
+            // 2. PROCESS THE LINK: [Escaped Text](Escaped Url)
+            result.append('[');
+            appendEscaped(result, matcher.group(1)); // Text inside [] must be escaped
+            result.append("](");
+            appendEscapedUrl(result, matcher.group(2)); // URL inside () has specific rules
+            result.append(')');
 
             lastIndex = matcher.end();
         }
 
         // 3. APPEND REMAINING TEXT (Strictly Escaped)
         if (lastIndex < message.length()) {
-            String remaining = message.substring(lastIndex);
-            result.append(escapeMarkdownV2(remaining));
+            appendEscaped(result, message.substring(lastIndex));
         }
 
         return result.toString();
     }
 
     /**
-     * STRICTLY escapes all characters reserved in MarkdownV2.
-     * Preserves plain URLs to keep them readable.
+     * STRICTLY escapes all characters reserved in MarkdownV2, e.g. of a template variable value.
+     * Plain URLs are escaped like any other text; Telegram shows escaped characters as is and
+     * still recognizes the URL.
      */
-    private String escapeMarkdownV2(String text) {
-        if (text == null) return "";
-        StringBuilder result = new StringBuilder();
-        Matcher urlMatcher = PLAIN_URL_PATTERN.matcher(text);
-        int lastIndex = 0;
-        
-        while (urlMatcher.find()) {
-            // Add text before URL with strict escaping
-            String beforeUrl = text.substring(lastIndex, urlMatcher.start());
-            result.append(escapeWithSpecialRules(beforeUrl));
-            
-            // Preserve the URL as-is
-            result.append(urlMatcher.group());
-            
-            lastIndex = urlMatcher.end();
+    public static void appendEscaped(StringBuilder out, String text) {
+        if (text == null) {
+            return;
         }
-        
-        // Add remaining text with strict escaping
-        if (lastIndex < text.length()) {
-            result.append(escapeWithSpecialRules(text.substring(lastIndex)));
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isSpecialChar(c)) {
+                out.append('\\');
+            }
+            out.append(c);
         }
-        
-        return result.toString();
     }
 
     /**
-     * Strict escaping for text, with special rules for readability
+     * Escapes URL specifically for the (...) part of a link.
+     * Spec: Inside (...) part... all ')' and '\' must be escaped.
      */
-    private String escapeWithSpecialRules(String text) {
-        if (text == null || text.isEmpty()) return "";
-        
-        StringBuilder sb = new StringBuilder();
-        for (char c : text.toCharArray()) {
-            if (isSpecialChar(c)) {
-                sb.append('\\');
+    public static void appendEscapedUrl(StringBuilder out, String url) {
+        if (url == null) {
+            return;
+        }
+        for (int i = 0; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == '\\' || c == ')') {
+                out.append('\\');
             }
-            sb.append(c);
+            out.append(c);
         }
-        return sb.toString();
     }
 
-    private boolean isSpecialChar(char c) {
+    private static boolean isSpecialChar(char c) {
         return switch (c) {
-            case '_', '*', '[', ']', '(', ')', '~', '`', '>', '#', '+', '=', '|', '{', '}', '!' -> true;
+            case '\\', '_', '*', '[', ']', '(', ')', '~', '`', '>', '#', '+', '-', '=', '|', '{', '}', '.', '!' -> true;
             default -> false;
         };
     }
-
-    /**
-     * Escapes URL specifically for the (...) part of a link.
-     * Spec: Inside (...) part... all ')' and '\' must be escaped.
-     */
-    private String escapeUrl(String url) {
-        if (url == null) return "";
-        return url.replace("\\", "\\\\")
-                  .replace(")", "\\)");
-    }
-}
\ No newline at end of file
+}
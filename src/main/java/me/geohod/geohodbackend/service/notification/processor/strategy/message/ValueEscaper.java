@@ -0,0 +1,37 @@
+package me.geohod.geohodbackend.service.notification.processor.strategy.message;
+
+/**
+ * Writes a variable value into a rendered template so that it reads as plain text in the
+ * markup of the target {@link TemplateType}. Telegram values are escaped for the full
+ * MarkdownV2 reserved set, including {@code .} and {@code -} of dates and numbers, except
+ * inside link URLs where only {@code )} and {@code \} are reserved.
+ */
+@FunctionalInterface
+interface ValueEscaper {
+    ValueEscaper NONE = StringBuilder::append;
+
+    void append(StringBuilder out, String value);
+
+    static ValueEscaper of(TemplateType type, MarkupContext context) {
+        return switch (type) {
+            case TELEGRAM -> context == MarkupContext.LINK_URL
+                    ? TelegramMarkdownV2Formatter::appendEscapedUrl
+                    : TelegramMarkdownV2Formatter::appendEscaped;
+            case IN_APP -> ValueEscaper::appendInAppText;
+        };
+    }
+
+    /**
+     * In-app messages have no markup, so markdown characters are dropped from values.
+     */
+    private static void appendInAppText(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '*', '_', '`', '[', ']', '(', ')' -> {
+                }
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -9,6 +9,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -17,16 +20,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import me.geohod.geohodbackend.data.model.Event;
 import me.geohod.geohodbackend.data.model.EventParticipant;
 import me.geohod.geohodbackend.data.model.User;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.data.model.repository.EventParticipantRepository;
 import me.geohod.geohodbackend.data.model.repository.UserRepository;
 import me.geohod.geohodbackend.service.ITelegramOutboxMessagePublisher;
-import me.geohod.geohodbackend.service.IUserService;
+import me.geohod.geohodbackend.service.notification.NotificationPreferenceResolver;
 import me.geohod.geohodbackend.service.notification.processor.strategy.EventCancelledParticipantTelegramStrategy;
+import me.geohod.geohodbackend.service.notification.processor.strategy.NotificationBatchContext;
 import me.geohod.geohodbackend.service.notification.processor.strategy.message.MessageFormatter;
 import me.geohod.geohodbackend.service.notification.processor.strategy.message.TemplateType;
 
@@ -39,8 +42,6 @@ class EventCancelledParticipantTelegramStrategyTest {
     @Mock
     private UserRepository userRepository;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
     @Mock
     private MessageFormatter messageFormatter;
 
@@ -48,10 +49,10 @@ class EventCancelledParticipantTelegramStrategyTest {
     private ITelegramOutboxMessagePublisher telegramOutboxMessagePublisher;
 
     @Mock
-    private IUserService userService;
+    private me.geohod.geohodbackend.service.link.BinaryLinkGenerator binaryLinkGenerator;
 
     @Mock
-    private me.geohod.geohodbackend.service.link.BinaryLinkGenerator binaryLinkGenerator;
+    private NotificationPreferenceResolver preferenceResolver;
 
     private EventCancelledParticipantTelegramStrategy strategy;
 
@@ -68,19 +69,20 @@ class EventCancelledParticipantTelegramStrategyTest {
 
         event = new Event("Test Event", "Description", java.time.Instant.now(), 10, authorId);
         strategy = new EventCancelledParticipantTelegramStrategy(
-            eventParticipantRepository, objectMapper, binaryLinkGenerator, messageFormatter, telegramOutboxMessagePublisher, userService
+            eventParticipantRepository, binaryLinkGenerator, messageFormatter, telegramOutboxMessagePublisher, preferenceResolver
         );
     }
 
     @Test
     void testSendNotificationToParticipantsOnly() throws Exception {
-        String payload = "{\"notifyParticipants\": true}";
+        EventLogPayload.EventCanceled payload = new EventLogPayload.EventCanceled(true);
         EventParticipant participant = new EventParticipant(eventId, participantId);
         User author = new User("123456", "test_author", "Test", "Author", null);
 
         when(eventParticipantRepository.findEventParticipantByEventId(event.getId()))
             .thenReturn(java.util.List.of(participant));
-        when(userService.getUser(authorId)).thenReturn(author);
+        when(preferenceResolver.filterEnabled(any(), any(), any(), any()))
+            .thenAnswer(invocation -> List.copyOf(invocation.<Collection<UUID>>getArgument(0)));
 
         when(messageFormatter.formatMessageFromTemplate(
             anyString(),
@@ -90,19 +92,34 @@ class EventCancelledParticipantTelegramStrategyTest {
             any()))
             .thenReturn("Event was cancelled");
 
-        strategy.send(event, payload);
+        strategy.send(event, payload, new NotificationBatchContext(Map.of(event.getId(), event), Map.of(authorId, author),
+                Map.of()));
 
-        verify(telegramOutboxMessagePublisher, times(1)).publish(eq(participantId), eq("Event was cancelled"));
+        verify(telegramOutboxMessagePublisher, times(1))
+            .publishBroadcast(eq(List.of(participantId)), eq("Event was cancelled"));
         verify(telegramOutboxMessagePublisher, never()).publish(eq(authorId), anyString());
     }
 
     @Test
     void testSkipWhenNotifyParticipantsIsFalse() {
-        String payload = "{\"notifyParticipants\": false}";
+        EventLogPayload.EventCanceled payload = new EventLogPayload.EventCanceled(false);
 
-        strategy.send(event, payload);
+        strategy.send(event, payload, NotificationBatchContext.empty());
 
         verifyNoInteractions(telegramOutboxMessagePublisher);
     }
-}
 
+    @Test
+    void testSkipOptedOutParticipants() {
+        EventLogPayload.EventCanceled payload = new EventLogPayload.EventCanceled(true);
+        EventParticipant participant = new EventParticipant(eventId, participantId);
+
+        when(eventParticipantRepository.findEventParticipantByEventId(event.getId()))
+            .thenReturn(java.util.List.of(participant));
+        when(preferenceResolver.filterEnabled(any(), any(), any(), any())).thenReturn(List.of());
+
+        strategy.send(event, payload, NotificationBatchContext.empty());
+
+        verifyNoInteractions(messageFormatter, telegramOutboxMessagePublisher);
+    }
+}
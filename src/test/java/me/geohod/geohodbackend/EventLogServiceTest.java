@@ -3,12 +3,14 @@ package me.geohod.geohodbackend;
 import me.geohod.geohodbackend.data.model.Event;
 import me.geohod.geohodbackend.data.model.User;
 import me.geohod.geohodbackend.data.model.eventlog.EventLog;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.data.model.eventlog.EventType;
 import me.geohod.geohodbackend.data.model.repository.EventLogRepository;
 import me.geohod.geohodbackend.data.model.repository.EventRepository;
 import me.geohod.geohodbackend.data.model.repository.NotificationProcessorProgressRepository;
 import me.geohod.geohodbackend.data.model.repository.UserRepository;
 import me.geohod.geohodbackend.service.impl.EventLogServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -47,21 +49,35 @@ public class EventLogServiceTest extends AbstractIntegrationTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        eventLogService = new EventLogServiceImpl(eventLogRepository, progressRepository);
+        eventLogService = new EventLogServiceImpl(eventLogRepository, progressRepository, new ObjectMapper());
     }
 
     @Test
     void testCreateLogEntry() {
         UUID eventId = UUID.randomUUID();
-        EventType type = EventType.EVENT_REGISTERED;
-        String payload = "{\"userId\":\"abc\"}";
-        eventLogService.createLogEntry(eventId, type, payload);
+        UUID userId = UUID.randomUUID();
+        EventLogPayload payload = new EventLogPayload.ParticipantRegistered(userId, eventId);
+        eventLogService.createLogEntry(eventId, payload);
         ArgumentCaptor<EventLog> captor = ArgumentCaptor.forClass(EventLog.class);
         verify(eventLogRepository, times(1)).save(captor.capture());
         EventLog saved = captor.getValue();
         assertEquals(eventId, saved.getEventId());
-        assertEquals(type, saved.getType());
-        assertEquals(payload, saved.getPayload().value());
+        assertEquals(EventType.EVENT_REGISTERED, saved.getType());
+        assertEquals("{\"userId\":\"" + userId + "\",\"eventId\":\"" + eventId + "\"}", saved.getPayload().value());
+    }
+
+    @Test
+    void testReadPayload() {
+        UUID eventId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        EventLog registered = new EventLog(eventId, EventType.EVENT_REGISTERED,
+                String.format("{\"userId\": \"%s\", \"eventId\": \"%s\"}", userId, eventId));
+        EventLog canceled = new EventLog(eventId, EventType.EVENT_CANCELED, "{\"notifyParticipants\":true}");
+
+        assertEquals(new EventLogPayload.ParticipantRegistered(userId, eventId), eventLogService.readPayload(registered));
+        assertEquals(new EventLogPayload.EventCanceled(true), eventLogService.readPayload(canceled));
+        assertThrows(IllegalArgumentException.class, () -> eventLogService.readPayload(
+                new EventLog(eventId, EventType.EVENT_CREATED, "not json")));
     }
 
     @Test
@@ -1,6 +1,5 @@
 package me.geohod.geohodbackend;
 
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -18,7 +17,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import me.geohod.geohodbackend.api.dto.request.UpdateParticipantStateRequest;
 import me.geohod.geohodbackend.data.model.Event;
-import me.geohod.geohodbackend.data.model.eventlog.EventType;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
 import me.geohod.geohodbackend.data.model.repository.EventParticipantRepository;
 import me.geohod.geohodbackend.data.model.repository.EventRepository;
 import me.geohod.geohodbackend.service.IEventLogService;
@@ -52,7 +51,8 @@ class EventParticipantServiceTest {
         service.registerForEvent(userId, eventId, 1);
 
         // Then
-        verify(eventLogService, times(1)).createLogEntry(eq(eventId), eq(EventType.EVENT_REGISTERED), anyString());
+        verify(eventLogService, times(1)).createLogEntry(eq(eventId),
+                eq(new EventLogPayload.ParticipantRegistered(userId, eventId)));
     }
 
     @Test
@@ -76,7 +76,8 @@ class EventParticipantServiceTest {
         service.unregisterFromEvent(userId, eventId);
 
         // Then
-        verify(eventLogService, times(1)).createLogEntry(eq(eventId), eq(EventType.EVENT_UNREGISTERED), anyString());
+        verify(eventLogService, times(1)).createLogEntry(eq(eventId),
+                eq(new EventLogPayload.ParticipantUnregistered(userId, eventId)));
     }
 
     @Test
@@ -1,11 +1,14 @@
 package me.geohod.geohodbackend;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -40,4 +43,30 @@ public class NotificationProcessorProgressServiceTest {
         verify(repository, times(1)).findByProcessorName(processorName);
         verify(repository, times(1)).save(progress);
     }
+
+    @Test
+    void testFindStoredShards() {
+        NotificationProcessorProgress progress = new NotificationProcessorProgress("proc", Instant.now(), UUID.randomUUID());
+        progress.updateShards(4);
+        when(repository.findByProcessorName("proc")).thenReturn(Optional.of(progress));
+
+        assertThat(service.findShards("proc")).contains(4);
+    }
+
+    @Test
+    void testInferShardsOfProgressWrittenBeforeTheyWereStored() {
+        when(repository.findByProcessorName("proc"))
+                .thenReturn(Optional.of(new NotificationProcessorProgress("proc", Instant.now(), UUID.randomUUID())));
+        when(repository.findByProcessorNameStartingWith("proc#"))
+                .thenReturn(List.of(new NotificationProcessorProgress("proc#2/4", Instant.now(), UUID.randomUUID())));
+        when(repository.findByProcessorNameStartingWith("single#")).thenReturn(List.of());
+        when(repository.findByProcessorNameStartingWith("new#")).thenReturn(List.of());
+        when(repository.findByProcessorName("single"))
+                .thenReturn(Optional.of(new NotificationProcessorProgress("single", Instant.now(), UUID.randomUUID())));
+        when(repository.findByProcessorName("new")).thenReturn(Optional.empty());
+
+        assertThat(service.findShards("proc")).contains(4);
+        assertThat(service.findShards("single")).contains(1);
+        assertThat(service.findShards("new")).isEmpty();
+    }
 }
@@ -4,9 +4,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,10 +18,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import me.geohod.geohodbackend.data.dto.NotificationCreateDto;
 import me.geohod.geohodbackend.data.dto.NotificationDto;
 import me.geohod.geohodbackend.data.mapper.NotificationMapper;
 import me.geohod.geohodbackend.data.model.eventlog.JsonbString;
 import me.geohod.geohodbackend.data.model.notification.Notification;
+import me.geohod.geohodbackend.data.model.repository.NotificationBatchRepository;
 import me.geohod.geohodbackend.data.model.repository.NotificationRepository;
 import me.geohod.geohodbackend.service.impl.AppNotificationServiceImpl;
 import me.geohod.geohodbackend.service.notification.NotificationType;
@@ -28,6 +33,9 @@ public class NotificationServiceTest {
     @Mock
     private NotificationRepository notificationRepository;
     
+    @Mock
+    private NotificationBatchRepository notificationBatchRepository;
+
     @Mock
     private NotificationMapper notificationMapper;
     
@@ -36,7 +44,7 @@ public class NotificationServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        notificationService = new AppNotificationServiceImpl(notificationRepository, notificationMapper);
+        notificationService = new AppNotificationServiceImpl(notificationRepository, notificationBatchRepository, notificationMapper);
     }
 
     @Test
@@ -65,4 +73,24 @@ public class NotificationServiceTest {
         notificationService.dismiss(notificationId, userId);
         assertTrue(notification.isRead());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateNotificationsInsertsOneBatch() {
+        UUID eventId = UUID.randomUUID();
+        List<NotificationCreateDto> requests = List.of(
+                new NotificationCreateDto(UUID.randomUUID(), StrategyNotificationType.EVENT_CANCELLED, "{}", eventId),
+                new NotificationCreateDto(UUID.randomUUID(), StrategyNotificationType.EVENT_CANCELLED, "{}", eventId));
+
+        notificationService.createNotifications(requests);
+
+        verify(notificationBatchRepository).insertAll(requests);
+        verify(notificationRepository, never()).save(any(Notification.class));
+    }
+
+    @Test
+    void testCreateNotificationsSkipsEmptyBatch() {
+        notificationService.createNotifications(List.of());
+
+        verify(notificationBatchRepository, never()).insertAll(any());
+    }
+}
@@ -30,7 +30,7 @@ class TelegramInitDataVerifierTest {
 
     @BeforeEach
     void setUp() {
-        var telegramBot = new GeohodProperties.TelegramBot(BOT_TOKEN, "testbot");
+        var telegramBot = new GeohodProperties.TelegramBot(BOT_TOKEN, "testbot", null);
         var telegramInitData = new GeohodProperties.TelegramInitData(Duration.ofMinutes(5));
         var security = new GeohodProperties.Security(null, null, null, null, telegramInitData, null);
         var properties = new GeohodProperties(telegramBot, null, null, security);
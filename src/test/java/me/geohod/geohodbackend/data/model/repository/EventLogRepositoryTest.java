@@ -0,0 +1,64 @@
+package me.geohod.geohodbackend.data.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import me.geohod.geohodbackend.TestContainersPostgresConfig;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPartition;
+
+public class EventLogRepositoryTest extends TestContainersPostgresConfig {
+    private static final EventLogPartition OLDER = new EventLogPartition(YearMonth.of(2020, 1));
+    private static final EventLogPartition CURSOR = new EventLogPartition(YearMonth.of(2020, 2));
+
+    @Autowired
+    private EventLogPartitionRepository partitionRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        partitionRepository.create(OLDER);
+        partitionRepository.create(CURSOR);
+    }
+
+    @AfterEach
+    void tearDown() {
+        partitionRepository.drop(OLDER);
+        partitionRepository.drop(CURSOR);
+    }
+
+    @Test
+    void findUnprocessedAfterPrunesPartitionsBehindCursor() {
+        String plan = explain(EventLogRepository.FIND_UNPROCESSED_AFTER_SQL);
+
+        assertThat(plan).contains(CURSOR.tableName()).doesNotContain(OLDER.tableName());
+    }
+
+    @Test
+    void countUnprocessedAfterPrunesPartitionsBehindCursor() {
+        String plan = explain(EventLogRepository.COUNT_UNPROCESSED_AFTER_SQL);
+
+        assertThat(plan).contains(CURSOR.tableName()).doesNotContain(OLDER.tableName());
+    }
+
+    private String explain(String sql) {
+        Map<String, Object> params = Map.of(
+                "lastCreatedAt", Timestamp.from(CURSOR.start().plusSeconds(60)),
+                "lastId", UUID.randomUUID(),
+                "limit", 100);
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, params, String.class);
+        return String.join("\n", plan);
+    }
+}
@@ -4,17 +4,23 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
 import me.geohod.geohodbackend.TestContainersPostgresConfig;
+import me.geohod.geohodbackend.data.dto.EventCursor;
 import me.geohod.geohodbackend.data.dto.EventDetailedProjection;
+import me.geohod.geohodbackend.data.dto.EventsCursorPage;
 import me.geohod.geohodbackend.data.model.Event;
 import me.geohod.geohodbackend.data.model.EventParticipant;
 import me.geohod.geohodbackend.data.model.User;
@@ -112,6 +118,103 @@ public class EventProjectionRepositoryTest extends TestContainersPostgresConfig
                 .containsExactly("Event 3", "Event 2", "Event 1");
     }
 
+    @Test
+    void shouldWalkCursorPagesInOffsetOrder() {
+        Instant now = Instant.now();
+        createEvent("B Event", now);
+        createEvent("A Event", now.plus(1, ChronoUnit.DAYS));
+        createEvent("B Event", now.plus(2, ChronoUnit.DAYS));
+        createEvent("C Event", now.minus(1, ChronoUnit.DAYS));
+        createEvent("B Event", now.plus(3, ChronoUnit.DAYS));
+
+        for (Sort.Order order : List.of(Sort.Order.asc("name"), Sort.Order.desc("name"),
+                Sort.Order.desc("date"), Sort.Order.desc("createdAt"))) {
+            List<EventDetailedProjection> walked = walkCursorPages(order, 2);
+            List<EventDetailedProjection> offsetPage = eventProjectionRepository.events(
+                    authorId, null, null, PageRequest.of(0, 10, Sort.by(order))).getContent();
+
+            // Events with equal sort keys may come in any order, so compare by the keys
+            Function<EventDetailedProjection, Object> sortKey = order.getProperty().equals("name")
+                    ? EventDetailedProjection::name
+                    : EventDetailedProjection::date;
+            assertThat(walked).extracting(EventDetailedProjection::id).doesNotHaveDuplicates().hasSize(5);
+            assertThat(walked.stream().map(sortKey).toList())
+                    .containsExactlyElementsOf(offsetPage.stream().map(sortKey).toList());
+        }
+    }
+
+    @Test
+    void shouldPageOverEventsWithoutSortKey() {
+        createEvent("B Event", Instant.now());
+        createEvent(null, Instant.now());
+        createEvent("A Event", Instant.now());
+        createEvent(null, Instant.now());
+
+        assertThat(walkCursorPages(Sort.Order.asc("name"), 1)).extracting(EventDetailedProjection::name)
+                .containsExactly("A Event", "B Event", null, null);
+        assertThat(walkCursorPages(Sort.Order.desc("name"), 1)).extracting(EventDetailedProjection::name)
+                .containsExactly(null, null, "B Event", "A Event");
+    }
+
+    @Test
+    void shouldReturnNoCursorAfterLastPage() {
+        createEvent("Event 1", Instant.now());
+        createEvent("Event 2", Instant.now());
+
+        EventsCursorPage page = eventProjectionRepository.events(
+                authorId, null, null, null, Sort.Order.desc("createdAt"), 2);
+
+        assertThat(page.events()).hasSize(2);
+        assertThat(page.next()).isNull();
+    }
+
+    @Test
+    void shouldReadSliceWithoutCounting() {
+        createEvent("Event 1", Instant.now());
+        createEvent("Event 2", Instant.now());
+        createEvent("Event 3", Instant.now());
+
+        Slice<EventDetailedProjection> first = eventProjectionRepository.eventSlice(
+                authorId, null, null, PageRequest.of(0, 2));
+        Slice<EventDetailedProjection> last = eventProjectionRepository.eventSlice(
+                authorId, null, null, PageRequest.of(1, 2));
+
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).hasSize(1);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldCountAuthoredAndJoinedEventsOnce() {
+        createEvent("Authored", Instant.now());
+        User otherAuthor = new User("67890", "other", "Other", "Author", null);
+        userRepository.save(otherAuthor);
+        Event joined = eventRepository.save(new Event("Joined", "Description", Instant.now(), 10, otherAuthor.getId()));
+        eventParticipantRepository.save(new EventParticipant(joined.getId(), authorId));
+        eventParticipantRepository.save(new EventParticipant(joined.getId(), authorId));
+
+        assertThat(eventProjectionRepository.countEvents(authorId, authorId, null)).isEqualTo(2);
+        assertThat(eventProjectionRepository.countEvents(null, authorId, null)).isEqualTo(1);
+        assertThat(eventProjectionRepository.countEvents(authorId, null, List.of(Event.Status.CANCELED))).isZero();
+        assertThat(eventProjectionRepository.events(authorId, authorId, null, PageRequest.of(0, 1))
+                .getTotalElements()).isEqualTo(2);
+        assertThat(eventProjectionRepository.estimateEvents(authorId, authorId, null)).isNotNegative();
+    }
+
+    private List<EventDetailedProjection> walkCursorPages(Sort.Order order, int pageSize) {
+        List<EventDetailedProjection> walked = new ArrayList<>();
+        EventCursor cursor = null;
+        do {
+            EventsCursorPage page = eventProjectionRepository.events(
+                    authorId, null, null, cursor, order, pageSize);
+            assertThat(page.events()).hasSizeLessThanOrEqualTo(pageSize);
+            walked.addAll(page.events());
+            cursor = page.next() != null ? EventCursor.decode(page.next().encode()) : null;
+        } while (cursor != null);
+        return walked;
+    }
+
     private void createEvent(String name, Instant date) {
         createEvent(name, date, Event.Status.ACTIVE);
     }
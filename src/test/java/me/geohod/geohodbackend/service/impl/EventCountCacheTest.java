@@ -0,0 +1,104 @@
+package me.geohod.geohodbackend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.service.IEventProjectionService.EventsDetailedProjectionFilter;
+import me.geohod.geohodbackend.service.IEventProjectionService.TotalCount;
+
+class EventCountCacheTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicLong counts = new AtomicLong();
+
+    @Test
+    void reusesCountOfSameFilterUntilExpired() {
+        EventCountCache cache = new EventCountCache(100, Duration.ofSeconds(30), clock);
+        EventsDetailedProjectionFilter filter = new EventsDetailedProjectionFilter(USER_ID, USER_ID,
+                List.of(Event.Status.ACTIVE, Event.Status.FINISHED));
+        EventsDetailedProjectionFilter reordered = new EventsDetailedProjectionFilter(USER_ID, USER_ID,
+                List.of(Event.Status.FINISHED, Event.Status.ACTIVE));
+
+        assertThat(cache.get(filter, TotalCount.EXACT, this::count)).isEqualTo(1);
+        clock.advance(Duration.ofSeconds(29));
+        assertThat(cache.get(reordered, TotalCount.EXACT, this::count)).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(cache.get(filter, TotalCount.EXACT, this::count)).isEqualTo(2);
+    }
+
+    @Test
+    void countsFiltersAndModesSeparately() {
+        EventCountCache cache = new EventCountCache(100, Duration.ofSeconds(30), clock);
+        EventsDetailedProjectionFilter authored = new EventsDetailedProjectionFilter(USER_ID, null, null);
+        EventsDetailedProjectionFilter joined = new EventsDetailedProjectionFilter(null, USER_ID, null);
+
+        cache.get(authored, TotalCount.EXACT, this::count);
+        cache.get(authored, TotalCount.ESTIMATED, this::count);
+        cache.get(joined, TotalCount.EXACT, this::count);
+
+        assertThat(counts.get()).isEqualTo(3);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedFilter() {
+        EventCountCache cache = new EventCountCache(1, Duration.ofSeconds(30), clock);
+        EventsDetailedProjectionFilter authored = new EventsDetailedProjectionFilter(USER_ID, null, null);
+        EventsDetailedProjectionFilter joined = new EventsDetailedProjectionFilter(null, USER_ID, null);
+
+        cache.get(authored, TotalCount.EXACT, this::count);
+        cache.get(joined, TotalCount.EXACT, this::count);
+
+        assertThat(cache.get(authored, TotalCount.EXACT, this::count)).isEqualTo(3);
+    }
+
+    @Test
+    void countsEveryTimeWithZeroTtl() {
+        EventCountCache cache = new EventCountCache(100, Duration.ZERO, clock);
+        EventsDetailedProjectionFilter filter = new EventsDetailedProjectionFilter(USER_ID, null, null);
+
+        cache.get(filter, TotalCount.EXACT, this::count);
+
+        assertThat(cache.get(filter, TotalCount.EXACT, this::count)).isEqualTo(2);
+    }
+
+    private long count() {
+        return counts.incrementAndGet();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package me.geohod.geohodbackend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import me.geohod.geohodbackend.data.dto.EventDetailedProjection;
+import me.geohod.geohodbackend.data.model.repository.EventProjectionRepository;
+import me.geohod.geohodbackend.service.IEventProjectionService.EventsDetailedProjectionFilter;
+import me.geohod.geohodbackend.service.IEventProjectionService.TotalCount;
+
+@ExtendWith(MockitoExtension.class)
+class EventProjectionServiceTest {
+
+    private static final EventsDetailedProjectionFilter FILTER =
+            new EventsDetailedProjectionFilter(UUID.randomUUID(), null, null);
+
+    @Mock
+    private EventProjectionRepository eventProjectionRepository;
+
+    private EventProjectionService service;
+
+    @BeforeEach
+    void setUp() {
+        EventCountCache cache = new EventCountCache(100, Duration.ofSeconds(30), Clock.systemUTC());
+        service = new EventProjectionService(eventProjectionRepository, cache);
+    }
+
+    @Test
+    void staleCachedCountDoesNotEndPagesEarly() {
+        PageRequest first = PageRequest.of(0, 5);
+        PageRequest second = PageRequest.of(1, 5);
+        when(eventProjectionRepository.eventSlice(any(), any(), any(), any()))
+                .thenReturn(slice(first, true), slice(second, true));
+        // Counted while the list still had 6 events, then events were created before the next page
+        when(eventProjectionRepository.countEvents(any(), any(), any())).thenReturn(6L);
+
+        service.events(FILTER, first, TotalCount.EXACT);
+        Slice<EventDetailedProjection> page = service.events(FILTER, second, TotalCount.EXACT);
+
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page).isInstanceOfSatisfying(Page.class, p -> assertThat(p.getTotalElements()).isEqualTo(11));
+    }
+
+    @Test
+    void lowEstimateDoesNotEndPagesEarly() {
+        PageRequest second = PageRequest.of(1, 5);
+        when(eventProjectionRepository.eventSlice(any(), any(), any(), any())).thenReturn(slice(second, true));
+        when(eventProjectionRepository.estimateEvents(any(), any(), any())).thenReturn(3L);
+
+        Slice<EventDetailedProjection> page = service.events(FILTER, second, TotalCount.ESTIMATED);
+
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    private static Slice<EventDetailedProjection> slice(Pageable pageable, boolean hasNext) {
+        List<EventDetailedProjection> content = Collections.nCopies(pageable.getPageSize(),
+                mock(EventDetailedProjection.class));
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+}
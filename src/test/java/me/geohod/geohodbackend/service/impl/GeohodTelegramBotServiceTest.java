@@ -0,0 +1,63 @@
+package me.geohod.geohodbackend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.geohod.geohodbackend.configuration.properties.GeohodProperties;
+import me.geohod.geohodbackend.data.dto.TelegramMessagePayload;
+import me.geohod.geohodbackend.exception.TelegramNotificationException;
+
+class GeohodTelegramBotServiceTest {
+
+    private TelegramBotApiSimulator simulator;
+    private GeohodTelegramBotService botService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        simulator = new TelegramBotApiSimulator();
+        botService = new GeohodTelegramBotService(new GeohodProperties(
+                new GeohodProperties.TelegramBot("123:test-token", "test_bot", simulator.baseUrl()),
+                null, null, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulator.close();
+    }
+
+    @Test
+    void sendsMessageToConfiguredApiServer() {
+        botService.send(42L, TelegramMessagePayload.markdownV2("Hello\\!"));
+
+        assertThat(simulator.deliveredTo(42L)).isEqualTo(1);
+    }
+
+    @Test
+    void reportsRetryAfterOfRateLimitedRequests() {
+        simulator.rateLimits(0, 30, Duration.ofSeconds(7));
+
+        assertThatThrownBy(() -> botService.send(42L, TelegramMessagePayload.markdownV2("Hello")))
+                .isInstanceOfSatisfying(TelegramNotificationException.class, e -> {
+                    assertThat(e.isRateLimited()).isTrue();
+                    assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(7));
+                });
+    }
+
+    @Test
+    void reportsBlockedChatAsPermanentFailure() {
+        simulator.blockChat(42L);
+
+        assertThatThrownBy(() -> botService.send(42L, TelegramMessagePayload.markdownV2("Hello")))
+                .isInstanceOfSatisfying(TelegramNotificationException.class, e -> {
+                    assertThat(e.getErrorCode()).isEqualTo(403);
+                    assertThat(e.isPermanent()).isTrue();
+                });
+    }
+}
@@ -0,0 +1,202 @@
+package me.geohod.geohodbackend.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the Telegram Bot API, serving {@code sendMessage} for tests and benchmarks.
+ * <p>
+ * Every call waits a random latency between {@code minLatency} and {@code maxLatency}. Like the
+ * real API it answers 429 with {@code retry_after} when more than {@code perChatPerSecond} messages
+ * go to one chat or more than {@code globalPerSecond} messages in total within one second, and 403
+ * for chats that blocked the bot. Point {@code geohod.telegram-bot.api-base-url} at {@link #baseUrl()}.
+ */
+public class TelegramBotApiSimulator implements AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Long> blockedChats = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Window> chatWindows = new ConcurrentHashMap<>();
+    private final Window globalWindow = new Window();
+    private final AtomicInteger messageIds = new AtomicInteger();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final Map<Long, AtomicInteger> deliveredPerChat = new ConcurrentHashMap<>();
+
+    private volatile Duration minLatency = Duration.ZERO;
+    private volatile Duration maxLatency = Duration.ZERO;
+    private volatile int perChatPerSecond = Integer.MAX_VALUE;
+    private volatile int globalPerSecond = Integer.MAX_VALUE;
+    private volatile Duration retryAfter = Duration.ofSeconds(1);
+
+    public TelegramBotApiSimulator() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Base URL to configure the bot client with; the client appends the token and method name.
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/bot";
+    }
+
+    public TelegramBotApiSimulator latency(Duration min, Duration max) {
+        this.minLatency = min;
+        this.maxLatency = max;
+        return this;
+    }
+
+    public TelegramBotApiSimulator rateLimits(int perChatPerSecond, int globalPerSecond, Duration retryAfter) {
+        this.perChatPerSecond = perChatPerSecond;
+        this.globalPerSecond = globalPerSecond;
+        this.retryAfter = retryAfter;
+        return this;
+    }
+
+    public TelegramBotApiSimulator blockChat(long chatId) {
+        blockedChats.add(chatId);
+        return this;
+    }
+
+    public long delivered() {
+        return delivered.get();
+    }
+
+    public int deliveredTo(long chatId) {
+        AtomicInteger count = deliveredPerChat.get(chatId);
+        return count != null ? count.get() : 0;
+    }
+
+    public long rateLimited() {
+        return rateLimited.get();
+    }
+
+    public long blocked() {
+        return blocked.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            if (!path.endsWith("/sendMessage")) {
+                respond(exchange, 404, error(404, "Not Found: method not found"));
+                return;
+            }
+            JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                request = MAPPER.readTree(body);
+            }
+            sleep(latency());
+            long chatId = request.path("chat_id").asLong();
+
+            if (blockedChats.contains(chatId)) {
+                blocked.incrementAndGet();
+                respond(exchange, 403, error(403, "Forbidden: bot was blocked by the user"));
+                return;
+            }
+            long second = Instant.now().getEpochSecond();
+            if (!chatWindows.computeIfAbsent(chatId, k -> new Window()).tryAcquire(second, perChatPerSecond)
+                    || !globalWindow.tryAcquire(second, globalPerSecond)) {
+                rateLimited.incrementAndGet();
+                ObjectNode response = error(429, "Too Many Requests: retry after " + retryAfter.toSeconds());
+                response.putObject("parameters").put("retry_after", retryAfter.toSeconds());
+                respond(exchange, 429, response);
+                return;
+            }
+
+            delivered.incrementAndGet();
+            deliveredPerChat.computeIfAbsent(chatId, k -> new AtomicInteger()).incrementAndGet();
+            respond(exchange, 200, message(chatId, request.path("text").asText()));
+        }
+    }
+
+    private Duration latency() {
+        long min = minLatency.toNanos();
+        long max = maxLatency.toNanos();
+        return Duration.ofNanos(max > min ? ThreadLocalRandom.current().nextLong(min, max) : min);
+    }
+
+    private ObjectNode message(long chatId, String text) {
+        ObjectNode response = MAPPER.createObjectNode().put("ok", true);
+        ObjectNode result = response.putObject("result")
+                .put("message_id", messageIds.incrementAndGet())
+                .put("date", Instant.now().getEpochSecond())
+                .put("text", text);
+        result.putObject("chat").put("id", chatId).put("type", "private");
+        return response;
+    }
+
+    private static ObjectNode error(int code, String description) {
+        return MAPPER.createObjectNode()
+                .put("ok", false)
+                .put("error_code", code)
+                .put("description", description);
+    }
+
+    private static void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Fixed one-second window counter, good enough to reproduce the Bot API's flood limits.
+     */
+    private static final class Window {
+        private long second;
+        private int count;
+
+        synchronized boolean tryAcquire(long now, int limit) {
+            if (now != second) {
+                second = now;
+                count = 0;
+            }
+            if (count >= limit) {
+                return false;
+            }
+            count++;
+            return true;
+        }
+    }
+}
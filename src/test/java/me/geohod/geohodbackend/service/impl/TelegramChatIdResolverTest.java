@@ -0,0 +1,84 @@
+package me.geohod.geohodbackend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import me.geohod.geohodbackend.data.model.User;
+import me.geohod.geohodbackend.data.model.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramChatIdResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TelegramChatIdResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new TelegramChatIdResolver(userRepository, 2);
+    }
+
+    @Test
+    void loadsUncachedUsersInOneQuery() {
+        User first = user("101");
+        User second = user("102");
+        UUID unknown = UUID.randomUUID();
+        when(userRepository.findAllById(List.of(first.getId(), second.getId(), unknown)))
+                .thenReturn(List.of(first, second));
+
+        Map<UUID, Long> chatIds = resolver.resolve(List.of(first.getId(), second.getId(), unknown, first.getId()));
+
+        assertThat(chatIds).containsExactlyInAnyOrderEntriesOf(Map.of(first.getId(), 101L, second.getId(), 102L));
+    }
+
+    @Test
+    void servesCachedUsersWithoutQuery() {
+        User cached = user("101");
+        User fresh = user("102");
+        when(userRepository.findAllById(List.of(cached.getId()))).thenReturn(List.of(cached));
+        when(userRepository.findAllById(List.of(fresh.getId()))).thenReturn(List.of(fresh));
+        resolver.resolve(List.of(cached.getId()));
+
+        Map<UUID, Long> chatIds = resolver.resolve(List.of(cached.getId(), fresh.getId()));
+
+        assertThat(chatIds).containsEntry(cached.getId(), 101L).containsEntry(fresh.getId(), 102L);
+        verify(userRepository).findAllById(List.of(cached.getId()));
+    }
+
+    @Test
+    void reloadsInvalidatedUser() {
+        User user = user("101");
+        when(userRepository.findAllById(List.of(user.getId()))).thenReturn(List.of(user));
+        resolver.resolve(List.of(user.getId()));
+
+        resolver.invalidate(user.getId());
+        resolver.resolve(List.of(user.getId()));
+
+        verify(userRepository, times(2)).findAllById(List.of(user.getId()));
+    }
+
+    @Test
+    void skipsUsersWithoutNumericTelegramId() {
+        User user = user("not-a-number");
+        when(userRepository.findAllById(List.of(user.getId()))).thenReturn(List.of(user));
+
+        assertThat(resolver.resolve(List.of(user.getId()))).isEmpty();
+    }
+
+    private static User user(String tgId) {
+        return new User(tgId, "user" + tgId, "First", "Last", null);
+    }
+}
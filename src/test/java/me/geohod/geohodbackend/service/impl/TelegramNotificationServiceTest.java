@@ -6,6 +6,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
@@ -20,9 +21,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import me.geohod.geohodbackend.data.dto.TelegramMessagePayload;
 import me.geohod.geohodbackend.data.model.User;
 import me.geohod.geohodbackend.data.model.repository.UserRepository;
 import me.geohod.geohodbackend.service.ITelegramBotService;
+import me.geohod.geohodbackend.service.notification.processor.strategy.message.TelegramMarkdownV2Formatter;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("TelegramNotificationService Tests")
@@ -359,4 +362,57 @@ class TelegramNotificationServiceTest {
             verify(telegramBotService).sendMessage(123456789L, "");
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("sendToChat Tests")
+    class SendToChatTests {
+
+        @Test
+        @DisplayName("should send formatter output escaped exactly once")
+        void shouldSendFormatterOutputEscapedExactlyOnce() {
+            // Given
+            String formatted = new TelegramMarkdownV2Formatter()
+                    .format("Party! Bring *snacks* (1+1) on 2026-10-17. [details](https://example.com/a_b)");
+            TelegramMessagePayload payload = TelegramMessagePayload.markdownV2(formatted);
+
+            // When
+            telegramNotificationService.sendToChat(123456789L, payload);
+
+            // Then
+            assertThat(formatted)
+                    .isEqualTo("Party\\! Bring \\*snacks\\* \\(1\\+1\\) on 2026\\-10\\-17\\. "
+                            + "[details](https://example.com/a_b)");
+            verify(telegramBotService).send(123456789L, payload);
+            verify(telegramBotService, never()).sendMessage(anyLong(), anyString());
+            verifyNoInteractions(userRepository);
+        }
+
+        @Test
+        @DisplayName("should escape messages queued before payloads were stored final")
+        void shouldEscapeLegacyQueuedMessages() {
+            // Given
+            TelegramMessagePayload payload = new TelegramMessagePayload(TelegramMessagePayload.LEGACY_MARKDOWN_V2,
+                    "Event on 2024-01-15. [Open](https://t.me/bot)", true);
+
+            // When
+            telegramNotificationService.sendToChat(42L, payload);
+
+            // Then
+            verify(telegramBotService).send(42L, TelegramMessagePayload.markdownV2(
+                    "Event on 2024\\-01\\-15\\. [Open](https://t\\.me/bot)"));
+        }
+
+        @Test
+        @DisplayName("should keep parse mode and preview flag of the payload")
+        void shouldKeepParseModeAndPreviewFlagOfThePayload() {
+            // Given
+            TelegramMessagePayload payload = new TelegramMessagePayload(null, "plain *text*", false);
+
+            // When
+            telegramNotificationService.sendToChat(42L, payload);
+
+            // Then
+            verify(telegramBotService).send(42L, new TelegramMessagePayload(null, "plain *text*", false));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package me.geohod.geohodbackend.service.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import me.geohod.geohodbackend.data.dto.TelegramMessagePayload;
+import me.geohod.geohodbackend.data.model.TelegramOutboxMessage;
+import me.geohod.geohodbackend.data.model.repository.TelegramOutboxBroadcastRepository;
+import me.geohod.geohodbackend.data.model.repository.TelegramOutboxMessageRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramOutboxMessagePublisherTest {
+
+    @Mock
+    private TelegramOutboxMessageRepository repository;
+    @Mock
+    private TelegramOutboxBroadcastRepository broadcastRepository;
+
+    @InjectMocks
+    private TelegramOutboxMessagePublisher publisher;
+
+    @Test
+    void storesBroadcastBodyOnceForDistinctRecipients() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        TelegramMessagePayload payload = TelegramMessagePayload.markdownV2("Event finished");
+        when(broadcastRepository.insertBody(eq(payload), any())).thenReturn(7L);
+
+        publisher.publishBroadcast(List.of(first, second, first), payload);
+
+        verify(broadcastRepository).insertRecipients(eq(7L), eq(Set.of(first, second)), any());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void publishesSingleRecipientAsPlainMessage() {
+        UUID recipient = UUID.randomUUID();
+
+        publisher.publishBroadcast(List.of(recipient, recipient), TelegramMessagePayload.markdownV2("Hi"));
+
+        verify(repository).save(any(TelegramOutboxMessage.class));
+        verifyNoInteractions(broadcastRepository);
+    }
+
+    @Test
+    void ignoresEmptyBroadcast() {
+        publisher.publishBroadcast(List.of(), TelegramMessagePayload.markdownV2("Hi"));
+
+        verifyNoInteractions(repository, broadcastRepository);
+    }
+}
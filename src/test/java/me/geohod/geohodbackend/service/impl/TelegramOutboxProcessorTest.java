@@ -0,0 +1,238 @@
+package me.geohod.geohodbackend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.geohod.geohodbackend.configuration.properties.TelegramOutboxProperties;
+import me.geohod.geohodbackend.configuration.properties.TelegramOutboxProperties.RateLimit;
+import me.geohod.geohodbackend.configuration.properties.TelegramOutboxProperties.Purge;
+import me.geohod.geohodbackend.configuration.properties.TelegramOutboxProperties.Retry;
+import me.geohod.geohodbackend.data.dto.OutboxFailureDto;
+import me.geohod.geohodbackend.data.dto.OutboxMessageDto;
+import me.geohod.geohodbackend.data.dto.TelegramMessagePayload;
+import me.geohod.geohodbackend.data.model.repository.TelegramOutboxClaimRepository;
+import me.geohod.geohodbackend.exception.TelegramNotificationException;
+import me.geohod.geohodbackend.service.notification.ITelegramNotificationService;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramOutboxProcessorTest {
+
+    @Mock
+    private TelegramOutboxClaimRepository claimRepository;
+    @Mock
+    private ITelegramNotificationService notificationService;
+    @Mock
+    private TelegramChatIdResolver chatIdResolver;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TelegramRateLimiter rateLimiter;
+    private TelegramOutboxProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        RateLimit rateLimit = new RateLimit(1000, 1000, 100);
+        TelegramOutboxProperties properties = new TelegramOutboxProperties(30, Duration.ofMinutes(2),
+                Duration.ofMinutes(30), 100, Duration.ofSeconds(1), rateLimit,
+                new Retry(3, Duration.ofSeconds(10), Duration.ofMinutes(10)), 100,
+                new Purge(true, Duration.ofDays(7), 1000, 100));
+        rateLimiter = new TelegramRateLimiter(rateLimit, meterRegistry, System::nanoTime);
+        processor = new TelegramOutboxProcessor(claimRepository, notificationService, rateLimiter, chatIdResolver,
+                properties, meterRegistry);
+        // Test recipients are UUIDs whose low bits are their chat id
+        lenient().when(chatIdResolver.resolve(any())).thenAnswer(invocation -> {
+            Collection<UUID> userIds = invocation.getArgument(0);
+            return userIds.stream().collect(Collectors.toMap(Function.identity(), UUID::getLeastSignificantBits));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.shutdown();
+    }
+
+    @Test
+    void acknowledgesSentAndSchedulesRetryOfFailedMessagesUnderOneLease() throws InterruptedException {
+        OutboxMessageDto first = message(1L);
+        OutboxMessageDto second = message(2L);
+        when(claimRepository.claim(any(UUID.class), eq(30), any(Instant.class), any(Instant.class), any(Instant.class)))
+                .thenReturn(List.of(first, second));
+        doThrow(new IllegalStateException("blocked"))
+                .when(notificationService).sendToChat(2L, second.payload());
+
+        processor.processOutbox();
+        processor.awaitIdle();
+
+        ArgumentCaptor<UUID> claimLease = ArgumentCaptor.forClass(UUID.class);
+        verify(claimRepository).claim(claimLease.capture(), anyInt(), any(), any(), any());
+        verify(notificationService).sendToChat(1L, first.payload());
+        verify(claimRepository).markProcessed(List.of(1L));
+        verify(claimRepository).recordFailures(any(), eq(claimLease.getValue()));
+        OutboxFailureDto failure = recordedFailure();
+        assertThat(failure.id()).isEqualTo(2L);
+        assertThat(failure.error()).isEqualTo("blocked");
+        assertThat(failure.deadLetter()).isFalse();
+        assertThat(Duration.between(Instant.now(), failure.nextAttemptAt()))
+                .isBetween(Duration.ofSeconds(9), Duration.ofSeconds(10));
+        assertThat(meterRegistry.get("geohod.telegram.outbox.sent").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("geohod.telegram.outbox.failed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("geohod.telegram.outbox.queue.wait").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void claimsLeaseExpiringAfterConfiguredDuration() {
+        when(claimRepository.claim(any(), anyInt(), any(), any(), any())).thenReturn(List.of());
+
+        processor.processOutbox();
+
+        ArgumentCaptor<Instant> createdAfter = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> now = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> lockedUntil = ArgumentCaptor.forClass(Instant.class);
+        verify(claimRepository).claim(any(), eq(30), createdAfter.capture(), now.capture(), lockedUntil.capture());
+        assertThat(Duration.between(now.getValue(), lockedUntil.getValue()))
+                .isEqualTo(Duration.ofMinutes(2));
+        assertThat(Duration.between(createdAfter.getValue(), now.getValue()))
+                .isEqualTo(Duration.ofMinutes(30));
+        verifyNoInteractions(notificationService);
+        verify(claimRepository, never()).markProcessed(any());
+    }
+
+    @Test
+    void sendsClaimedMessagesConcurrently() throws InterruptedException {
+        List<OutboxMessageDto> messages = LongStream.rangeClosed(1, 20).mapToObj(TelegramOutboxProcessorTest::message).toList();
+        when(claimRepository.claim(any(), anyInt(), any(), any(), any())).thenReturn(messages);
+        AtomicLong concurrent = new AtomicLong();
+        AtomicLong maxConcurrent = new AtomicLong();
+        doAnswer(invocation -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            concurrent.decrementAndGet();
+            return null;
+        }).when(notificationService).sendToChat(anyLong(), any());
+
+        processor.processOutbox();
+        processor.awaitIdle();
+
+        assertThat(maxConcurrent.get()).isGreaterThan(1);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> processed = ArgumentCaptor.forClass(List.class);
+        verify(claimRepository).markProcessed(processed.capture());
+        assertThat(processed.getValue()).containsExactlyInAnyOrderElementsOf(
+                messages.stream().map(OutboxMessageDto::id).toList());
+    }
+
+    @Test
+    void honorsRetryAfterAndPausesChatWhenRateLimited() throws InterruptedException {
+        OutboxMessageDto message = message(1L);
+        when(claimRepository.claim(any(), anyInt(), any(), any(), any())).thenReturn(List.of(message));
+        doThrow(new TelegramNotificationException("Too Many Requests", null, 429, Duration.ofSeconds(42)))
+                .when(notificationService).sendToChat(anyLong(), any());
+
+        processor.processOutbox();
+        processor.awaitIdle();
+
+        OutboxFailureDto failure = recordedFailure();
+        assertThat(failure.deadLetter()).isFalse();
+        assertThat(Duration.between(Instant.now(), failure.nextAttemptAt()))
+                .isBetween(Duration.ofSeconds(41), Duration.ofSeconds(42));
+        assertThat(rateLimiter.tryAcquire(message.recipientUserId()))
+                .isGreaterThan(Duration.ofSeconds(41).toNanos());
+        assertThat(meterRegistry.get("geohod.telegram.outbox.retries").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void deadLettersPermanentTelegramErrors() throws InterruptedException {
+        when(claimRepository.claim(any(), anyInt(), any(), any(), any())).thenReturn(List.of(message(1L)));
+        doThrow(new TelegramNotificationException("Forbidden: bot was blocked by the user", null, 403, null))
+                .when(notificationService).sendToChat(anyLong(), any());
+
+        processor.processOutbox();
+        processor.awaitIdle();
+
+        OutboxFailureDto failure = recordedFailure();
+        assertThat(failure.deadLetter()).isTrue();
+        assertThat(failure.nextAttemptAt()).isNull();
+        assertThat(meterRegistry.get("geohod.telegram.outbox.dead_letters").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void deadLettersMessageOutOfAttempts() throws InterruptedException {
+        OutboxMessageDto message = new OutboxMessageDto(1L, new UUID(0, 1),
+                TelegramMessagePayload.markdownV2("message"), Instant.now(), 2);
+        when(claimRepository.claim(any(), anyInt(), any(), any(), any())).thenReturn(List.of(message));
+        doThrow(new IllegalStateException("timeout")).when(notificationService).sendToChat(anyLong(), any());
+
+        processor.processOutbox();
+        processor.awaitIdle();
+
+        assertThat(recordedFailure().deadLetter()).isTrue();
+    }
+
+    @Test
+    void deadLettersMessagesOfUnknownRecipients() throws InterruptedException {
+        when(claimRepository.claim(any(), anyInt(), any(), any(), any())).thenReturn(List.of(message(1L)));
+        doReturn(Map.of()).when(chatIdResolver).resolve(any());
+
+        processor.processOutbox();
+        processor.awaitIdle();
+
+        assertThat(recordedFailure().deadLetter()).isTrue();
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void deadLettersExpiredMessages() {
+        when(claimRepository.deadLetterExpired(any(), any())).thenReturn(4);
+
+        processor.deadLetterExpired();
+
+        ArgumentCaptor<Instant> createdBefore = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> now = ArgumentCaptor.forClass(Instant.class);
+        verify(claimRepository).deadLetterExpired(createdBefore.capture(), now.capture());
+        assertThat(Duration.between(createdBefore.getValue(), now.getValue())).isEqualTo(Duration.ofMinutes(30));
+        assertThat(meterRegistry.get("geohod.telegram.outbox.dead_letters").counter().count()).isEqualTo(4);
+    }
+
+    private OutboxFailureDto recordedFailure() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxFailureDto>> failures = ArgumentCaptor.forClass(List.class);
+        verify(claimRepository).recordFailures(failures.capture(), any());
+        assertThat(failures.getValue()).hasSize(1);
+        return failures.getValue().getFirst();
+    }
+
+    private static OutboxMessageDto message(long id) {
+        return new OutboxMessageDto(id, new UUID(0, id),
+                TelegramMessagePayload.markdownV2("message " + id), Instant.now(), 0);
+    }
+}
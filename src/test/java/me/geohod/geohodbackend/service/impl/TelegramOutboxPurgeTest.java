@@ -0,0 +1,73 @@
+package me.geohod.geohodbackend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.geohod.geohodbackend.configuration.properties.TelegramOutboxProperties.Purge;
+import me.geohod.geohodbackend.data.model.repository.TelegramOutboxRetentionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramOutboxPurgeTest {
+    private static final Instant NOW = Instant.parse("2025-06-15T12:00:00Z");
+    private static final Instant CUTOFF = Instant.parse("2025-06-08T12:00:00Z");
+
+    @Mock
+    private TelegramOutboxRetentionRepository retentionRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TelegramOutboxPurge purge(boolean enabled, int maxChunks) {
+        return new TelegramOutboxPurge(retentionRepository, new Purge(enabled, Duration.ofDays(7), 100, maxChunks),
+                meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void deletesChunksUntilAShortChunk() {
+        when(retentionRepository.deleteFinished(CUTOFF, 100)).thenReturn(100, 100, 42);
+        when(retentionRepository.deleteOrphanBodies(CUTOFF, 100)).thenReturn(3);
+        when(retentionRepository.estimateRows()).thenReturn(5_000L);
+        when(retentionRepository.totalBytes()).thenReturn(1_048_576L);
+
+        purge(true, 10).purge();
+
+        verify(retentionRepository, times(3)).deleteFinished(CUTOFF, 100);
+        assertThat(meterRegistry.get("geohod.telegram.outbox.purged").tag("table", "messages").counter().count())
+                .isEqualTo(242);
+        assertThat(meterRegistry.get("geohod.telegram.outbox.purged").tag("table", "bodies").counter().count())
+                .isEqualTo(3);
+        assertThat(meterRegistry.get("geohod.telegram.outbox.rows").gauge().value()).isEqualTo(5_000);
+        assertThat(meterRegistry.get("geohod.telegram.outbox.size").gauge().value()).isEqualTo(1_048_576);
+    }
+
+    @Test
+    void stopsAfterMaxChunks() {
+        when(retentionRepository.deleteFinished(any(), anyInt())).thenReturn(100);
+
+        purge(true, 2).purge();
+
+        verify(retentionRepository, times(2)).deleteFinished(CUTOFF, 100);
+    }
+
+    @Test
+    void doesNothingWhenDisabled() {
+        purge(false, 10).purge();
+
+        verifyNoInteractions(retentionRepository);
+    }
+}
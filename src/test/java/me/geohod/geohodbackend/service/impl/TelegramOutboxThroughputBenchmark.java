@@ -0,0 +1,251 @@
+package me.geohod.geohodbackend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.geohod.geohodbackend.configuration.properties.GeohodProperties;
+import me.geohod.geohodbackend.configuration.properties.TelegramOutboxProperties;
+import me.geohod.geohodbackend.data.dto.OutboxFailureDto;
+import me.geohod.geohodbackend.data.dto.OutboxMessageDto;
+import me.geohod.geohodbackend.data.dto.TelegramMessagePayload;
+import me.geohod.geohodbackend.data.model.repository.TelegramOutboxClaimRepository;
+
+/**
+ * Sustained outbox throughput and delivery latency against {@link TelegramBotApiSimulator}
+ * with Bot API-like latency, flood limits and blocked chats. Runs with {@code ./gradlew benchmark},
+ * sized by the {@code benchmark.messages}, {@code benchmark.chats} and {@code benchmark.blocked-chats}
+ * system properties.
+ */
+@Tag("benchmark")
+class TelegramOutboxThroughputBenchmark {
+    private static final int MESSAGES = Integer.getInteger("benchmark.messages", 600);
+    private static final int CHATS = Integer.getInteger("benchmark.chats", 300);
+    private static final int BLOCKED_CHATS = Integer.getInteger("benchmark.blocked-chats", 3);
+    private static final Duration TIMEOUT = Duration.ofMinutes(10);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TelegramBotApiSimulator simulator;
+    private InMemoryOutbox outbox;
+    private TelegramOutboxProcessor processor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        simulator = new TelegramBotApiSimulator()
+                .latency(Duration.ofMillis(20), Duration.ofMillis(120))
+                .rateLimits(1, 30, Duration.ofSeconds(1));
+        for (long chat = 1; chat <= BLOCKED_CHATS; chat++) {
+            simulator.blockChat(chat);
+        }
+
+        TelegramOutboxProperties.RateLimit rateLimit = new TelegramOutboxProperties.RateLimit(30, 1, 10_000);
+        TelegramOutboxProperties properties = new TelegramOutboxProperties(30, Duration.ofMinutes(2),
+                Duration.ofMinutes(30), 100, Duration.ofMillis(100), rateLimit,
+                new TelegramOutboxProperties.Retry(5, Duration.ofSeconds(1), Duration.ofSeconds(30)), 10_000,
+                new TelegramOutboxProperties.Purge(false, Duration.ofDays(7), 1000, 100));
+        GeohodTelegramBotService botService = new GeohodTelegramBotService(new GeohodProperties(
+                new GeohodProperties.TelegramBot("123:benchmark", "benchmark_bot", simulator.baseUrl()),
+                null, null, null));
+
+        outbox = new InMemoryOutbox();
+        processor = new TelegramOutboxProcessor(outbox, new TelegramNotificationService(botService, null),
+                new TelegramRateLimiter(rateLimit, meterRegistry, System::nanoTime), new ChatIdFromUserId(),
+                properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.shutdown();
+        simulator.close();
+    }
+
+    @Test
+    void drainsOutboxAgainstSimulatedBotApi() throws InterruptedException {
+        long expectedDeadLetters = 0;
+        for (int i = 0; i < MESSAGES; i++) {
+            long chat = 1 + i % CHATS;
+            outbox.add(new UUID(0, chat), TelegramMessagePayload.markdownV2("Benchmark message " + i + "\\!"));
+            if (chat <= BLOCKED_CHATS) {
+                expectedDeadLetters++;
+            }
+        }
+
+        Instant start = Instant.now();
+        processor.ensureRunning();
+        while (outbox.pending() > 0 && Duration.between(start, Instant.now()).compareTo(TIMEOUT) < 0) {
+            Thread.sleep(100);
+        }
+        Duration elapsed = Duration.between(start, Instant.now());
+
+        List<Duration> latencies = outbox.deliveryLatencies();
+        System.out.printf("""
+                Outbox benchmark: %d messages to %d chats (%d blocked)
+                  elapsed          %d ms
+                  throughput       %.1f msg/s
+                  delivered        %d, dead letters %d, 429 responses %d
+                  latency p50/p95/p99/max  %d / %d / %d / %d ms
+                %n""",
+                MESSAGES, CHATS, BLOCKED_CHATS, elapsed.toMillis(),
+                latencies.size() * 1000d / Math.max(1, elapsed.toMillis()),
+                simulator.delivered(), outbox.deadLetters(), simulator.rateLimited(),
+                percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99),
+                percentile(latencies, 100));
+
+        assertThat(outbox.pending()).isZero();
+        assertThat(simulator.delivered()).isEqualTo(MESSAGES - expectedDeadLetters);
+        assertThat(outbox.deadLetters()).isEqualTo(expectedDeadLetters);
+    }
+
+    private static long percentile(List<Duration> sorted, int percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100d * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0)).toMillis();
+    }
+
+    /**
+     * Recipients of the benchmark are UUIDs whose low bits are their chat id.
+     */
+    private static final class ChatIdFromUserId extends TelegramChatIdResolver {
+        ChatIdFromUserId() {
+            super(null, 1);
+        }
+
+        @Override
+        Map<UUID, Long> resolve(Collection<UUID> userIds) {
+            return userIds.stream().distinct()
+                    .collect(Collectors.toMap(Function.identity(), UUID::getLeastSignificantBits));
+        }
+    }
+
+    /**
+     * Claim/ack semantics of {@link TelegramOutboxClaimRepository} over an in-memory table.
+     */
+    private static final class InMemoryOutbox extends TelegramOutboxClaimRepository {
+        private final Map<Long, Row> rows = new TreeMap<>();
+        private final AtomicLong ids = new AtomicLong();
+
+        InMemoryOutbox() {
+            super(null);
+        }
+
+        synchronized void add(UUID recipient, TelegramMessagePayload payload) {
+            long id = ids.incrementAndGet();
+            rows.put(id, new Row(id, recipient, payload, Instant.now()));
+        }
+
+        synchronized long pending() {
+            return rows.values().stream().filter(row -> !row.processed && !row.deadLetter).count();
+        }
+
+        synchronized long deadLetters() {
+            return rows.values().stream().filter(row -> row.deadLetter).count();
+        }
+
+        synchronized List<Duration> deliveryLatencies() {
+            return rows.values().stream()
+                    .filter(row -> row.processed)
+                    .map(row -> Duration.between(row.createdAt, row.completedAt))
+                    .sorted(Comparator.naturalOrder())
+                    .toList();
+        }
+
+        @Override
+        public synchronized List<OutboxMessageDto> claim(UUID lease, int limit, Instant createdAfter, Instant now,
+                Instant lockedUntil) {
+            List<OutboxMessageDto> claimed = new ArrayList<>();
+            for (Row row : rows.values()) {
+                if (claimed.size() == limit) {
+                    break;
+                }
+                if (row.processed || row.deadLetter || !row.createdAt.isAfter(createdAfter)
+                        || row.nextAttemptAt != null && row.nextAttemptAt.isAfter(now)
+                        || row.lockedUntil != null && !row.lockedUntil.isBefore(now)) {
+                    continue;
+                }
+                row.lockedUntil = lockedUntil;
+                row.lockedBy = lease;
+                claimed.add(new OutboxMessageDto(row.id, row.recipient, row.payload, row.createdAt, row.attempts));
+            }
+            return claimed;
+        }
+
+        @Override
+        public synchronized void markProcessed(Collection<Long> ids) {
+            Instant now = Instant.now();
+            for (Long id : ids) {
+                Row row = rows.get(id);
+                row.processed = true;
+                row.completedAt = now;
+                row.unlock();
+            }
+        }
+
+        @Override
+        public synchronized void release(Collection<Long> ids, UUID lease) {
+            ids.stream().map(rows::get).filter(row -> lease.equals(row.lockedBy)).forEach(Row::unlock);
+        }
+
+        @Override
+        public synchronized void recordFailures(List<OutboxFailureDto> failures, UUID lease) {
+            for (OutboxFailureDto failure : failures) {
+                Row row = rows.get(failure.id());
+                if (lease.equals(row.lockedBy)) {
+                    row.attempts++;
+                    row.nextAttemptAt = failure.nextAttemptAt();
+                    row.deadLetter = failure.deadLetter();
+                    row.unlock();
+                }
+            }
+        }
+
+        @Override
+        public int deadLetterExpired(Instant createdBefore, Instant now) {
+            return 0;
+        }
+    }
+
+    private static final class Row {
+        private final long id;
+        private final UUID recipient;
+        private final TelegramMessagePayload payload;
+        private final Instant createdAt;
+        private int attempts;
+        private Instant nextAttemptAt;
+        private Instant lockedUntil;
+        private UUID lockedBy;
+        private boolean processed;
+        private boolean deadLetter;
+        private Instant completedAt;
+
+        Row(long id, UUID recipient, TelegramMessagePayload payload, Instant createdAt) {
+            this.id = id;
+            this.recipient = recipient;
+            this.payload = payload;
+            this.createdAt = createdAt;
+        }
+
+        void unlock() {
+            lockedUntil = null;
+            lockedBy = null;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package me.geohod.geohodbackend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.geohod.geohodbackend.configuration.properties.TelegramOutboxProperties.RateLimit;
+
+class TelegramRateLimiterTest {
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TelegramRateLimiter limiter = new TelegramRateLimiter(new RateLimit(3, 1, 100), meterRegistry, now::get);
+
+    @Test
+    void allowsOneMessagePerChatPerSecond() {
+        UUID chat = UUID.randomUUID();
+
+        assertThat(limiter.tryAcquire(chat)).isZero();
+        assertThat(limiter.tryAcquire(chat)).isBetween(SECOND - 1, SECOND + 1);
+
+        now.addAndGet(SECOND + 1);
+
+        assertThat(limiter.tryAcquire(chat)).isZero();
+        assertThat(rejections("chat")).isEqualTo(1);
+    }
+
+    @Test
+    void sharesGlobalBucketAcrossChats() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(UUID.randomUUID())).isZero();
+        }
+
+        UUID fourth = UUID.randomUUID();
+        assertThat(limiter.tryAcquire(fourth)).isBetween(SECOND / 3, SECOND / 3 + 2);
+        assertThat(rejections("global")).isEqualTo(1);
+
+        // A global rejection does not use up the chat's token
+        now.addAndGet(SECOND / 3 + 2);
+        assertThat(limiter.tryAcquire(fourth)).isZero();
+    }
+
+    @Test
+    void givesUpWhenTokenIsNotAvailableWithinMaxWait() throws InterruptedException {
+        UUID chat = UUID.randomUUID();
+        limiter.tryAcquire(chat);
+
+        assertThat(limiter.acquire(chat, Duration.ofMillis(100))).isFalse();
+    }
+
+    @Test
+    void pausedChatGetsNoTokenUntilRetryAfterPassed() {
+        UUID chat = UUID.randomUUID();
+        limiter.pause(chat, Duration.ofSeconds(30));
+
+        assertThat(limiter.tryAcquire(chat)).isEqualTo(30 * SECOND);
+        assertThat(limiter.tryAcquire(UUID.randomUUID())).isZero();
+
+        now.addAndGet(30 * SECOND);
+        assertThat(limiter.tryAcquire(chat)).isBetween(SECOND - 1, SECOND + 1);
+
+        now.addAndGet(SECOND + 1);
+        assertThat(limiter.tryAcquire(chat)).isZero();
+    }
+
+    private double rejections(String bucket) {
+        return meterRegistry.get("geohod.telegram.rate_limiter.rejections").tag("bucket", bucket).counter().count();
+    }
+}
@@ -0,0 +1,181 @@
+package me.geohod.geohodbackend.service.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties;
+import me.geohod.geohodbackend.data.model.UserNotificationSetting;
+import me.geohod.geohodbackend.data.model.repository.UserNotificationSettingRepository;
+import me.geohod.geohodbackend.service.notification.processor.strategy.StrategyNotificationType;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationPreferenceResolverTest {
+
+    @Mock
+    private UserNotificationSettingRepository repository;
+
+    private final MutableClock clock = new MutableClock();
+    private NotificationPreferenceResolver resolver;
+
+    private final UUID optedIn = UUID.randomUUID();
+    private final UUID optedOut = UUID.randomUUID();
+    private final UUID withoutSettings = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        resolver = createResolver(10000);
+    }
+
+    private NotificationPreferenceResolver createResolver(int cacheSize) {
+        return new NotificationPreferenceResolver(repository, new NotificationSettingsDefaults(true),
+                new NotificationProcessorProperties.Preferences(cacheSize, Duration.ofMinutes(5)), clock);
+    }
+
+    @Test
+    void filtersOptedOutRecipientsAndAppliesDefaults() {
+        when(repository.findAllByUserIdIn(any())).thenReturn(List.of(
+                setting(optedIn, true),
+                setting(optedOut, false)));
+
+        List<UUID> recipients = resolver.filterEnabled(List.of(optedIn, optedOut, withoutSettings),
+                StrategyNotificationType.EVENT_CANCELLED, NotificationRole.PARTICIPANT, NotificationChannel.TELEGRAM);
+
+        assertThat(recipients).containsExactly(optedIn, withoutSettings);
+        verify(repository, times(1)).findAllByUserIdIn(any());
+    }
+
+    @Test
+    void servesRepeatedLookupsFromCache() {
+        when(repository.findAllByUserIdIn(any())).thenReturn(List.of(setting(optedOut, false)));
+
+        resolver.filterEnabled(List.of(optedOut), StrategyNotificationType.EVENT_CANCELLED,
+                NotificationRole.PARTICIPANT, NotificationChannel.TELEGRAM);
+        boolean enabled = resolver.isEnabled(optedOut, StrategyNotificationType.EVENT_CANCELLED,
+                NotificationRole.PARTICIPANT, NotificationChannel.TELEGRAM);
+
+        assertThat(enabled).isFalse();
+        verify(repository, times(1)).findAllByUserIdIn(any());
+    }
+
+    @Test
+    void reloadsAfterInvalidation() {
+        when(repository.findAllByUserIdIn(any()))
+                .thenReturn(List.of(setting(optedOut, false)))
+                .thenReturn(List.of(setting(optedOut, true)));
+
+        assertThat(resolver.isEnabled(optedOut, StrategyNotificationType.EVENT_CANCELLED,
+                NotificationRole.PARTICIPANT, NotificationChannel.TELEGRAM)).isFalse();
+
+        resolver.invalidate(optedOut);
+
+        assertThat(resolver.isEnabled(optedOut, StrategyNotificationType.EVENT_CANCELLED,
+                NotificationRole.PARTICIPANT, NotificationChannel.TELEGRAM)).isTrue();
+        verify(repository, times(2)).findAllByUserIdIn(any());
+    }
+
+    @Test
+    void reloadsExpiredEntries() {
+        when(repository.findAllByUserIdIn(any())).thenReturn(List.of());
+
+        resolver.isEnabled(optedIn, StrategyNotificationType.EVENT_CANCELLED,
+                NotificationRole.PARTICIPANT, NotificationChannel.TELEGRAM);
+        clock.advance(Duration.ofMinutes(6));
+        resolver.isEnabled(optedIn, StrategyNotificationType.EVENT_CANCELLED,
+                NotificationRole.PARTICIPANT, NotificationChannel.TELEGRAM);
+
+        verify(repository, times(2)).findAllByUserIdIn(any());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntriesBeyondCapacity() {
+        NotificationPreferenceResolver small = createResolver(1);
+        when(repository.findAllByUserIdIn(any())).thenReturn(List.of());
+
+        small.isEnabled(optedIn, StrategyNotificationType.EVENT_CANCELLED,
+                NotificationRole.PARTICIPANT, NotificationChannel.TELEGRAM);
+        small.isEnabled(withoutSettings, StrategyNotificationType.EVENT_CANCELLED,
+                NotificationRole.PARTICIPANT, NotificationChannel.TELEGRAM);
+        small.isEnabled(optedIn, StrategyNotificationType.EVENT_CANCELLED,
+                NotificationRole.PARTICIPANT, NotificationChannel.TELEGRAM);
+
+        verify(repository, times(3)).findAllByUserIdIn(any());
+    }
+
+    @Test
+    void combinationsUsersCannotConfigureAreAlwaysEnabled() {
+        List<UUID> recipients = resolver.filterEnabled(List.of(optedOut),
+                StrategyNotificationType.EVENT_CREATED, NotificationRole.PARTICIPANT, NotificationChannel.TELEGRAM);
+
+        assertThat(recipients).containsExactly(optedOut);
+        verify(repository, never()).findAllByUserIdIn(any());
+    }
+
+    @Test
+    void organizersCanTurnOffRegistrationDigest() {
+        when(repository.findAllByUserIdIn(any())).thenReturn(List.of(new UserNotificationSetting(optedOut,
+                StrategyNotificationType.PARTICIPANT_REGISTERED, NotificationRole.AUTHOR, false, true, false)));
+
+        assertThat(resolver.isEnabled(optedOut, StrategyNotificationType.PARTICIPANT_REGISTERED,
+                NotificationRole.AUTHOR, NotificationChannel.TELEGRAM)).isFalse();
+        assertThat(resolver.isEnabled(withoutSettings, StrategyNotificationType.PARTICIPANT_UNREGISTERED,
+                NotificationRole.AUTHOR, NotificationChannel.TELEGRAM)).isTrue();
+    }
+
+    @Test
+    void hidesRegistrationDigestWhileDisabled() {
+        NotificationSettingsDefaults defaults = new NotificationSettingsDefaults(false);
+
+        assertThat(defaults.isValid(StrategyNotificationType.PARTICIPANT_REGISTERED,
+                NotificationRole.AUTHOR, NotificationChannel.TELEGRAM)).isFalse();
+        assertThat(defaults.isValid(StrategyNotificationType.PARTICIPANT_UNREGISTERED,
+                NotificationRole.AUTHOR, NotificationChannel.TELEGRAM)).isFalse();
+        assertThat(defaults.isValid(StrategyNotificationType.PARTICIPANT_REGISTERED,
+                NotificationRole.AUTHOR, NotificationChannel.IN_APP)).isTrue();
+    }
+
+    private static UserNotificationSetting setting(UUID userId, boolean telegram) {
+        return new UserNotificationSetting(userId, StrategyNotificationType.EVENT_CANCELLED,
+                NotificationRole.PARTICIPANT, telegram, true, false);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
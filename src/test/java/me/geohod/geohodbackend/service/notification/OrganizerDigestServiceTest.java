@@ -0,0 +1,154 @@
+package me.geohod.geohodbackend.service.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.Digest;
+import me.geohod.geohodbackend.data.dto.OrganizerDigestDto;
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.User;
+import me.geohod.geohodbackend.data.model.repository.EventRepository;
+import me.geohod.geohodbackend.data.model.repository.OrganizerDigestRepository;
+import me.geohod.geohodbackend.data.model.repository.UserRepository;
+import me.geohod.geohodbackend.service.ITelegramOutboxMessagePublisher;
+import me.geohod.geohodbackend.service.link.BinaryLinkGenerator;
+import me.geohod.geohodbackend.service.link.LinkAction;
+import me.geohod.geohodbackend.service.notification.processor.strategy.message.MessageFormatter;
+import me.geohod.geohodbackend.service.notification.processor.strategy.message.TemplateType;
+
+@ExtendWith(MockitoExtension.class)
+class OrganizerDigestServiceTest {
+    private static final Instant NOW = Instant.parse("2025-06-15T12:00:00Z");
+    private static final Instant DUE_BEFORE = NOW.minus(Duration.ofMinutes(10));
+
+    @Mock
+    private OrganizerDigestRepository digestRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private MessageFormatter messageFormatter;
+    @Mock
+    private BinaryLinkGenerator binaryLinkGenerator;
+    @Mock
+    private ITelegramOutboxMessagePublisher outboxMessagePublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Event event = new Event("Test Event", "Description", NOW, 10, UUID.randomUUID());
+    private final User organizer = new User("123456", "organizer", "Test", "Organizer", null);
+
+    private OrganizerDigestService createService(boolean enabled) {
+        return new OrganizerDigestService(digestRepository, eventRepository, userRepository, messageFormatter,
+                binaryLinkGenerator, outboxMessagePublisher, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new Digest(enabled, Duration.ofMinutes(10)), meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void keepsDigestUntilWindowElapses() {
+        OrganizerDigestService service = createService(true);
+        when(digestRepository.findDue(DUE_BEFORE)).thenReturn(List.of());
+        when(digestRepository.count()).thenReturn(1L);
+
+        service.record(event, 1, 0);
+        service.flushDue();
+
+        verify(digestRepository).add(event.getId(), event.getAuthorId(), 1, 0, NOW);
+        verify(digestRepository, never()).take(any(), any());
+        verifyNoInteractions(outboxMessagePublisher);
+        assertThat(meterRegistry.get("geohod.notification.digests.pending").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void sendsOneSummaryWhenWindowElapses() {
+        OrganizerDigestService service = createService(true);
+        OrganizerDigestDto digest = digest(7, 1, DUE_BEFORE);
+        when(digestRepository.findDue(DUE_BEFORE)).thenReturn(List.of(event.getId()), List.of());
+        when(digestRepository.take(event.getId(), DUE_BEFORE)).thenReturn(Optional.of(digest));
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(userRepository.findById(event.getAuthorId())).thenReturn(Optional.of(organizer));
+        when(binaryLinkGenerator.generateLink(LinkAction.OPEN_EVENT, event.getId())).thenReturn("https://t.me/app?e");
+        when(messageFormatter.formatMessageFromTemplate(eq("organizer.registration-digest"), eq(TemplateType.TELEGRAM),
+                eq(event), eq(organizer), anyMap())).thenReturn("digest");
+
+        service.flushDue();
+        service.flushDue();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> params = ArgumentCaptor.forClass(Map.class);
+        verify(messageFormatter).formatMessageFromTemplate(anyString(), any(), any(), any(), params.capture());
+        assertThat(params.getValue())
+                .containsEntry("registrationSummary", "+7 зарегистрировались, -1 отменили регистрацию")
+                .containsEntry("seats", "0/10");
+        verify(outboxMessagePublisher).publish(event.getAuthorId(), "digest");
+        assertThat(meterRegistry.get("geohod.notification.digests.sent").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("geohod.notification.digests.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void sendsDigestRecordedByAnotherInstance() {
+        // Nothing was recorded through this instance: the due digest is found in the table
+        OrganizerDigestService service = createService(true);
+        OrganizerDigestDto digest = digest(2, 0, NOW.minus(Duration.ofHours(1)));
+        when(digestRepository.findDue(DUE_BEFORE)).thenReturn(List.of(event.getId()));
+        when(digestRepository.take(event.getId(), DUE_BEFORE)).thenReturn(Optional.of(digest));
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(userRepository.findById(event.getAuthorId())).thenReturn(Optional.of(organizer));
+        when(messageFormatter.formatMessageFromTemplate(anyString(), any(), any(), any(), anyMap())).thenReturn("digest");
+
+        service.flushDue();
+
+        verify(outboxMessagePublisher).publish(event.getAuthorId(), "digest");
+    }
+
+    @Test
+    void skipsDigestTakenByAnotherInstance() {
+        OrganizerDigestService service = createService(true);
+        when(digestRepository.findDue(DUE_BEFORE)).thenReturn(List.of(event.getId()));
+        when(digestRepository.take(event.getId(), DUE_BEFORE)).thenReturn(Optional.empty());
+
+        service.flushDue();
+
+        verifyNoInteractions(outboxMessagePublisher);
+    }
+
+    @Test
+    void doesNothingWhenDisabled() {
+        OrganizerDigestService service = createService(false);
+
+        service.flushDue();
+
+        assertThat(service.isEnabled()).isFalse();
+        verifyNoInteractions(digestRepository, outboxMessagePublisher);
+    }
+
+    private OrganizerDigestDto digest(int registered, int unregistered, Instant windowStartedAt) {
+        return new OrganizerDigestDto(event.getId(), event.getAuthorId(), registered, unregistered, windowStartedAt);
+    }
+}
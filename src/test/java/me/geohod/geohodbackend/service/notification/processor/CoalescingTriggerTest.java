@@ -0,0 +1,62 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class CoalescingTriggerTest {
+
+    @Test
+    void runsTaskOncePerFire() {
+        AtomicInteger runs = new AtomicInteger();
+        CoalescingTrigger trigger = new CoalescingTrigger(runs::incrementAndGet);
+
+        trigger.fire();
+        trigger.fire();
+
+        assertThat(runs.get()).isEqualTo(2);
+    }
+
+    @Test
+    void foldsFiresDuringRunIntoSingleFollowUp() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        CountDownLatch firstRunStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstRun = new CountDownLatch(1);
+
+        CoalescingTrigger trigger = new CoalescingTrigger(() -> {
+            int active = concurrent.incrementAndGet();
+            maxConcurrent.accumulateAndGet(active, Math::max);
+            if (runs.incrementAndGet() == 1) {
+                firstRunStarted.countDown();
+                await(releaseFirstRun);
+            }
+            concurrent.decrementAndGet();
+        });
+
+        Thread first = Thread.ofVirtual().start(trigger::fire);
+        assertThat(firstRunStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < 10; i++) {
+            trigger.fire();
+        }
+        releaseFirstRun.countDown();
+        first.join(5000);
+
+        assertThat(runs.get()).isEqualTo(2);
+        assertThat(maxConcurrent.get()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.Dispatcher;
+
+class DrainControllerTest {
+
+    private final DrainController controller = new DrainController(
+            new Dispatcher(1, 100, 10, 400, Duration.ofSeconds(2), Duration.ofSeconds(5)));
+
+    @Test
+    void growsFastFullBatchesUpToMaximum() {
+        assertThat(controller.onBatch(100, 100, Duration.ofMillis(100), Duration.ZERO, true)).isTrue();
+        assertThat(controller.batchSize()).isEqualTo(200);
+
+        controller.onBatch(200, 200, Duration.ofMillis(100), Duration.ZERO, true);
+        controller.onBatch(400, 400, Duration.ofMillis(100), Duration.ZERO, true);
+
+        assertThat(controller.batchSize()).isEqualTo(400);
+    }
+
+    @Test
+    void shrinksSlowBatchesDownToMinimum() {
+        for (int i = 0; i < 10; i++) {
+            controller.onBatch(100, 100, Duration.ofSeconds(3), Duration.ZERO, true);
+        }
+
+        assertThat(controller.batchSize()).isEqualTo(10);
+    }
+
+    @Test
+    void keepsSizeOfShortBatches() {
+        boolean more = controller.onBatch(20, 100, Duration.ofMillis(10), Duration.ofMillis(50), true);
+
+        assertThat(more).isFalse();
+        assertThat(controller.batchSize()).isEqualTo(100);
+    }
+
+    @Test
+    void keepsDrainingWhileLagIsAboveThreshold() {
+        assertThat(controller.onBatch(20, 100, Duration.ofMillis(10), Duration.ofSeconds(30), true)).isTrue();
+        assertThat(controller.lagSeconds()).isEqualTo(30.0);
+    }
+
+    @Test
+    void stopsWhenNoShardAdvanced() {
+        assertThat(controller.onBatch(100, 100, Duration.ofMillis(10), Duration.ofSeconds(30), false)).isFalse();
+    }
+
+    @Test
+    void reportsDrainRateAndResetsWhenIdle() {
+        controller.onBatch(100, 100, Duration.ofMillis(500), Duration.ofSeconds(1), true);
+        assertThat(controller.drainRate()).isEqualTo(200.0);
+
+        controller.onIdle();
+
+        assertThat(controller.drainRate()).isZero();
+        assertThat(controller.lagSeconds()).isZero();
+    }
+}
@@ -0,0 +1,484 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.SavepointManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.Digest;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.Dispatcher;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.Partitions;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.Preferences;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.RenderCache;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.Wakeup;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.WakeupMode;
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.User;
+import me.geohod.geohodbackend.data.model.eventlog.EventLog;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogCursor;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
+import me.geohod.geohodbackend.data.model.eventlog.EventType;
+import me.geohod.geohodbackend.data.model.repository.EventRepository;
+import me.geohod.geohodbackend.data.model.repository.UserRepository;
+import me.geohod.geohodbackend.service.IEventLogService;
+import me.geohod.geohodbackend.service.notification.INotificationProcessorProgressService;
+import me.geohod.geohodbackend.service.notification.NotificationChannel;
+import me.geohod.geohodbackend.service.notification.processor.strategy.NotificationBatchContext;
+import me.geohod.geohodbackend.service.notification.processor.strategy.NotificationStrategy;
+import me.geohod.geohodbackend.service.notification.processor.strategy.StrategyRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class EventLogDispatcherTest {
+    private static final String IN_APP = "IN_APP_NOTIFICATION_PROCESSOR";
+    private static final String TELEGRAM = "TELEGRAM_NOTIFICATION_PROCESSOR";
+
+    @Mock
+    private IEventLogService eventLogService;
+    @Mock
+    private INotificationProcessorProgressService progressService;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private UserRepository userRepository;
+
+    private final StrategyRegistry strategyRegistry = new StrategyRegistry();
+    private final NotificationStrategy inAppStrategy = mock(NotificationStrategy.class);
+    private final NotificationStrategy telegramStrategy = mock(NotificationStrategy.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EventLogDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(inAppStrategy.getChannel()).thenReturn(NotificationChannel.IN_APP);
+        lenient().when(telegramStrategy.getChannel()).thenReturn(NotificationChannel.TELEGRAM);
+        strategyRegistry.register(EventType.EVENT_REGISTERED, inAppStrategy);
+        strategyRegistry.register(EventType.EVENT_REGISTERED, telegramStrategy);
+        lenient().when(eventLogService.readPayload(any()))
+                .thenReturn(new EventLogPayload.ParticipantRegistered(UUID.randomUUID(), UUID.randomUUID()));
+
+        dispatcher = createDispatcher(1);
+    }
+
+    private EventLogDispatcher createDispatcher(int shards) {
+        return createDispatcher(shards, mock(PlatformTransactionManager.class));
+    }
+
+    private EventLogDispatcher createDispatcher(int shards, PlatformTransactionManager transactionManager) {
+        return new EventLogDispatcher(
+                eventLogService,
+                progressService,
+                eventRepository,
+                userRepository,
+                List.of(
+                        new StrategyNotificationSink(NotificationChannel.IN_APP, IN_APP, strategyRegistry, meterRegistry,
+                                transactionManager),
+                        new StrategyNotificationSink(NotificationChannel.TELEGRAM, TELEGRAM, strategyRegistry, meterRegistry,
+                                transactionManager)),
+                new TransactionTemplate(transactionManager),
+                meterRegistry,
+                new NotificationProcessorProperties(
+                        new Wakeup(WakeupMode.POLLING, "event_logs_inserted", Duration.ofSeconds(30), Duration.ofSeconds(5)),
+                        new Dispatcher(shards, 100, 10, 1000, Duration.ofSeconds(2), Duration.ofSeconds(5)),
+                        new Preferences(10000, Duration.ofMinutes(5)),
+                        new Partitions(true, 2, Duration.ofDays(90), false, Duration.ofSeconds(5)),
+                        new Digest(false, Duration.ofMinutes(10)),
+                        new RenderCache(0)));
+    }
+
+    @Test
+    void readsBatchOnceAndFansOutToEveryChannel() {
+        Event event = new Event("Test Event", "Description", Instant.now(), 10, UUID.randomUUID());
+        EventLog log = new EventLog(event.getId(), EventType.EVENT_REGISTERED, "{}");
+
+        when(progressService.findCursor(anyString())).thenReturn(Optional.empty());
+        when(eventLogService.findAfter(isNull(), anyInt())).thenReturn(List.of(log));
+        when(eventRepository.findAllById(any())).thenReturn(List.of(event));
+
+        dispatcher.process();
+
+        verify(eventLogService, times(1)).findAfter(isNull(), anyInt());
+        verify(eventRepository, times(1)).findAllById(any());
+        verify(eventLogService, times(1)).readPayload(log);
+        verify(inAppStrategy).send(eq(event), any(EventLogPayload.ParticipantRegistered.class), any(NotificationBatchContext.class));
+        verify(telegramStrategy).send(eq(event), any(EventLogPayload.ParticipantRegistered.class), any(NotificationBatchContext.class));
+        verify(progressService).updateProgress(IN_APP, log.getCreatedAt(), log.getId());
+        verify(progressService).updateProgress(TELEGRAM, log.getCreatedAt(), log.getId());
+    }
+
+    @Test
+    void skipsLogsAlreadyProcessedBySink() {
+        Event event = new Event("Test Event", "Description", Instant.now(), 10, UUID.randomUUID());
+        List<EventLog> logs = Stream.of(
+                        new EventLog(event.getId(), EventType.EVENT_REGISTERED, "{}"),
+                        new EventLog(event.getId(), EventType.EVENT_REGISTERED, "{}"))
+                .sorted(Comparator.comparing(EventLogCursor::of))
+                .toList();
+        EventLog first = logs.get(0);
+        EventLog second = logs.get(1);
+        EventLogCursor lowest = new EventLogCursor(first.getCreatedAt().minusSeconds(1), UUID.randomUUID());
+
+        when(progressService.findCursor(IN_APP)).thenReturn(Optional.of(lowest));
+        when(progressService.findCursor(TELEGRAM)).thenReturn(Optional.of(EventLogCursor.of(first)));
+        when(eventLogService.findAfter(eq(lowest), anyInt())).thenReturn(logs);
+        when(eventRepository.findAllById(any())).thenReturn(List.of(event));
+
+        dispatcher.process();
+
+        verify(inAppStrategy, times(2)).send(eq(event), any(), any(NotificationBatchContext.class));
+        verify(telegramStrategy, times(1)).send(eq(event), any(), any(NotificationBatchContext.class));
+        verify(progressService).updateProgress(IN_APP, second.getCreatedAt(), second.getId());
+        verify(progressService).updateProgress(TELEGRAM, second.getCreatedAt(), second.getId());
+    }
+
+    @Test
+    void loadsEventsAndAuthorsWithOneQueryEachPerBatch() {
+        User author = new User("123456", "author", "Test", "Author", null);
+        List<Event> events = IntStream.range(0, 10)
+                .mapToObj(i -> new Event("Event " + i, "Description", Instant.now(), 10, author.getId()))
+                .toList();
+        List<EventLog> logs = IntStream.range(0, 100)
+                .mapToObj(i -> new EventLog(events.get(i % events.size()).getId(), EventType.EVENT_REGISTERED, "{}"))
+                .sorted(Comparator.comparing(EventLogCursor::of))
+                .toList();
+
+        when(progressService.findCursor(anyString())).thenReturn(Optional.empty());
+        when(eventLogService.findAfter(isNull(), anyInt())).thenReturn(logs);
+        when(eventLogService.findAfter(eq(EventLogCursor.of(logs.get(99))), anyInt())).thenReturn(List.of());
+        when(eventRepository.findAllById(any())).thenReturn(events);
+        when(userRepository.findAllById(any())).thenReturn(List.of(author));
+
+        dispatcher.process();
+
+        // One read per entity type for the whole batch, regardless of how many logs or sinks consume it
+        verify(eventLogService, times(1)).findAfter(isNull(), anyInt());
+        verify(eventRepository, times(1)).findAllById(any());
+        verify(userRepository, times(1)).findAllById(any());
+        verify(eventRepository, never()).findById(any());
+        verify(userRepository, never()).findById(any());
+        verify(inAppStrategy, times(100)).send(any(Event.class), any(), any(NotificationBatchContext.class));
+        verify(telegramStrategy, times(100)).send(any(Event.class), any(), any(NotificationBatchContext.class));
+    }
+
+    @Test
+    void drainsBacklogWithoutWaitingForNextWakeup() {
+        Event event = new Event("Test Event", "Description", Instant.now(), 10, UUID.randomUUID());
+        List<EventLog> logs = IntStream.range(0, 105)
+                .mapToObj(i -> new EventLog(event.getId(), EventType.EVENT_REGISTERED, "{}"))
+                .sorted(Comparator.comparing(EventLogCursor::of))
+                .toList();
+        EventLogCursor firstBatchEnd = EventLogCursor.of(logs.get(99));
+        EventLog last = logs.get(104);
+
+        when(progressService.findCursor(anyString())).thenReturn(Optional.empty());
+        when(eventLogService.findAfter(isNull(), anyInt())).thenReturn(logs.subList(0, 100));
+        when(eventLogService.findAfter(eq(firstBatchEnd), anyInt())).thenReturn(logs.subList(100, 105));
+        when(eventRepository.findAllById(any())).thenReturn(List.of(event));
+
+        dispatcher.process();
+
+        verify(progressService, times(2)).findCursor(anyString());
+        verify(inAppStrategy, times(105)).send(eq(event), any(), any(NotificationBatchContext.class));
+        verify(progressService).updateProgress(IN_APP, firstBatchEnd.createdAt(), firstBatchEnd.id());
+        verify(progressService).updateProgress(IN_APP, last.getCreatedAt(), last.getId());
+        verify(eventLogService, never()).findAfter(eq(EventLogCursor.of(last)), anyInt());
+    }
+
+    @Test
+    void keepsPerShardProgressAndSinkLowWatermark() {
+        EventLogDispatcher sharded = createDispatcher(2);
+        try {
+            List<Event> events = eventsCoveringShards(2);
+            List<EventLog> logs = events.stream()
+                    .map(event -> new EventLog(event.getId(), EventType.EVENT_REGISTERED, "{}"))
+                    .sorted(Comparator.comparing(EventLogCursor::of))
+                    .toList();
+            EventLog last = logs.get(logs.size() - 1);
+
+            when(progressService.findCursor(anyString())).thenReturn(Optional.empty());
+            when(eventLogService.findAfter(isNull(), anyInt())).thenReturn(logs);
+            when(eventRepository.findAllById(any())).thenReturn(events);
+
+            sharded.process();
+
+            verify(inAppStrategy, times(logs.size())).send(any(Event.class), any(), any(NotificationBatchContext.class));
+            for (String sink : List.of(IN_APP, TELEGRAM)) {
+                verify(progressService).updateProgress(sink + "#0/2", last.getCreatedAt(), last.getId());
+                verify(progressService).updateProgress(sink + "#1/2", last.getCreatedAt(), last.getId());
+                verify(progressService).updateProgress(sink, last.getCreatedAt(), last.getId());
+            }
+        } finally {
+            sharded.shutdown();
+        }
+    }
+
+    @Test
+    void failedShardHoldsBackLowWatermark() {
+        EventLogDispatcher sharded = createDispatcher(2);
+        try {
+            List<Event> events = eventsCoveringShards(2);
+            List<EventLog> logs = events.stream()
+                    .map(event -> new EventLog(event.getId(), EventType.EVENT_REGISTERED, "{}"))
+                    .sorted(Comparator.comparing(EventLogCursor::of))
+                    .toList();
+            EventLogCursor start = new EventLogCursor(logs.get(0).getCreatedAt().minusSeconds(1), UUID.randomUUID());
+
+            when(progressService.findCursor(anyString())).thenReturn(Optional.of(start));
+            when(eventLogService.findAfter(eq(start), anyInt())).thenReturn(logs);
+            when(eventRepository.findAllById(any())).thenReturn(events);
+            doThrow(new IllegalStateException("boom"))
+                    .when(progressService).updateProgress(eq(IN_APP + "#1/2"), any(Instant.class), any(UUID.class));
+
+            sharded.process();
+
+            verify(progressService).updateProgress(IN_APP, start.createdAt(), start.id());
+        } finally {
+            sharded.shutdown();
+        }
+    }
+
+    @Test
+    void finishesPreviousShardsBeforeChangingShardCount() {
+        List<Event> events = eventsCoveringShards(2);
+        Event behind = events.stream().filter(event -> EventLogDispatcher.shardOf(event.getId(), 2) == 0).findFirst().orElseThrow();
+        Event ahead = events.stream().filter(event -> EventLogDispatcher.shardOf(event.getId(), 2) == 1).findFirst().orElseThrow();
+        List<EventLog> logs = Stream.of(
+                        new EventLog(behind.getId(), EventType.EVENT_REGISTERED, "{}"),
+                        new EventLog(ahead.getId(), EventType.EVENT_REGISTERED, "{}"))
+                .sorted(Comparator.comparing(EventLogCursor::of))
+                .toList();
+        EventLogCursor start = new EventLogCursor(logs.get(0).getCreatedAt().minusSeconds(1), UUID.randomUUID());
+        EventLogCursor common = EventLogCursor.of(logs.get(1));
+
+        // Both sinks ran with 2 shards: shard 0 is still at the start, shard 1 already past both logs
+        for (String sink : List.of(IN_APP, TELEGRAM)) {
+            when(progressService.findShards(sink)).thenReturn(Optional.of(2));
+            when(progressService.findCursor(sink)).thenReturn(Optional.of(start), Optional.of(common));
+            when(progressService.findCursor(sink + "#0/2")).thenReturn(Optional.of(start));
+            when(progressService.findCursor(sink + "#1/2")).thenReturn(Optional.of(common));
+        }
+        when(eventLogService.findAfter(eq(start), anyInt())).thenReturn(logs);
+        when(eventRepository.findAllById(any())).thenReturn(events);
+
+        dispatcher.process();
+
+        // Only the log shard 0 had not handled yet is delivered; the new single shard starts after both
+        verify(inAppStrategy).send(eq(behind), any(), any(NotificationBatchContext.class));
+        verify(inAppStrategy, never()).send(eq(ahead), any(), any(NotificationBatchContext.class));
+        verify(telegramStrategy).send(eq(behind), any(), any(NotificationBatchContext.class));
+        verify(telegramStrategy, never()).send(eq(ahead), any(), any(NotificationBatchContext.class));
+        for (String sink : List.of(IN_APP, TELEGRAM)) {
+            verify(progressService).updateProgress(sink + "#0/2", common.createdAt(), common.id());
+            verify(progressService).updateProgress(sink, common.createdAt(), common.id());
+            verify(progressService).updateShards(sink, 1);
+        }
+        verify(eventLogService).findAfter(eq(common), anyInt());
+    }
+
+    @Test
+    void recordsShardCountOfNewSinks() {
+        when(progressService.findCursor(anyString())).thenReturn(Optional.empty());
+
+        dispatcher.process();
+
+        verify(progressService).updateShards(IN_APP, 1);
+        verify(progressService).updateShards(TELEGRAM, 1);
+    }
+
+    @Test
+    void recordsBatchAndStrategyMetrics() {
+        Event event = new Event("Test Event", "Description", Instant.now(), 10, UUID.randomUUID());
+        EventLog log = new EventLog(event.getId(), EventType.EVENT_REGISTERED, "{}");
+
+        when(progressService.findCursor(anyString())).thenReturn(Optional.empty());
+        when(eventLogService.findAfter(isNull(), anyInt())).thenReturn(List.of(log));
+        when(eventRepository.findAllById(any())).thenReturn(List.of(event));
+        doThrow(new IllegalStateException("boom")).when(telegramStrategy).send(any(), any(), any());
+
+        dispatcher.process();
+
+        // Both mocks share one class, so they share one timer and one failure counter
+        assertThat(meterRegistry.get("geohod.notification.dispatcher.batch.duration").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("geohod.notification.strategy.send").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("geohod.notification.strategy.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void strategyFailingInsideTransactionDoesNotRollBackBatch() {
+        SavepointTransactionManager transactionManager = new SavepointTransactionManager();
+        EventLogDispatcher transactional = createDispatcher(1, transactionManager);
+        Event event = new Event("Test Event", "Description", Instant.now(), 10, UUID.randomUUID());
+        EventLog log = new EventLog(event.getId(), EventType.EVENT_REGISTERED, "{}");
+
+        when(progressService.findCursor(anyString())).thenReturn(Optional.empty());
+        when(eventLogService.findAfter(isNull(), anyInt())).thenReturn(List.of(log));
+        when(eventRepository.findAllById(any())).thenReturn(List.of(event));
+        // Like a @Transactional bean: joins the batch transaction and marks it rollback-only
+        doAnswer(invocation -> {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                throw new IllegalStateException("boom");
+            });
+            return null;
+        }).when(telegramStrategy).send(any(), any(), any());
+
+        try {
+            transactional.process();
+        } finally {
+            transactional.shutdown();
+        }
+
+        verify(inAppStrategy).send(eq(event), any(), any(NotificationBatchContext.class));
+        verify(progressService).updateProgress(IN_APP, log.getCreatedAt(), log.getId());
+        verify(progressService).updateProgress(TELEGRAM, log.getCreatedAt(), log.getId());
+        assertThat(transactionManager.commits).isEqualTo(2);
+        assertThat(transactionManager.rollbacks).isZero();
+        assertThat(meterRegistry.get("geohod.notification.strategy.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNothingWhenNoEventLogs() {
+        when(progressService.findCursor(anyString())).thenReturn(Optional.empty());
+        when(eventLogService.findAfter(isNull(), anyInt())).thenReturn(List.of());
+
+        dispatcher.process();
+
+        verify(eventRepository, never()).findAllById(any());
+        verify(progressService, never()).updateProgress(anyString(), any(Instant.class), any(UUID.class));
+    }
+
+    private static List<Event> eventsCoveringShards(int shards) {
+        List<Event> events = new ArrayList<>();
+        Set<Integer> covered = new HashSet<>();
+        while (covered.size() < shards) {
+            Event event = new Event("Event", "Description", Instant.now(), 10, UUID.randomUUID());
+            if (covered.add(EventLogDispatcher.shardOf(event.getId(), shards))) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Transaction manager with savepoints that, like a JDBC transaction, cannot commit once a
+     * participating transaction marked it rollback-only and forgets that mark on rollback to a
+     * savepoint.
+     */
+    private static final class SavepointTransactionManager extends AbstractPlatformTransactionManager {
+        private final ThreadLocal<Resource> current = new ThreadLocal<>();
+        private int commits;
+        private int rollbacks;
+
+        SavepointTransactionManager() {
+            setNestedTransactionAllowed(true);
+        }
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Transaction(current.get());
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((Transaction) transaction).resource != null;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            Resource resource = new Resource();
+            ((Transaction) transaction).resource = resource;
+            current.set(resource);
+        }
+
+        @Override
+        protected synchronized void doCommit(DefaultTransactionStatus status) {
+            commits++;
+        }
+
+        @Override
+        protected synchronized void doRollback(DefaultTransactionStatus status) {
+            rollbacks++;
+        }
+
+        @Override
+        protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+            ((Transaction) status.getTransaction()).resource.rollbackOnly = true;
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            current.remove();
+        }
+
+        private static final class Resource {
+            private boolean rollbackOnly;
+        }
+
+        private static final class Transaction implements SmartTransactionObject, SavepointManager {
+            private Resource resource;
+
+            private Transaction(Resource resource) {
+                this.resource = resource;
+            }
+
+            @Override
+            public boolean isRollbackOnly() {
+                return resource.rollbackOnly;
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public Object createSavepoint() {
+                return new Object();
+            }
+
+            @Override
+            public void rollbackToSavepoint(Object savepoint) {
+                resource.rollbackOnly = false;
+            }
+
+            @Override
+            public void releaseSavepoint(Object savepoint) {
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.Digest;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.Dispatcher;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.Partitions;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.Preferences;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.RenderCache;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.Wakeup;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.WakeupMode;
+import me.geohod.geohodbackend.data.model.repository.EventLogTriggerRepository;
+
+@ExtendWith(MockitoExtension.class)
+class EventLogNotificationListenerTest {
+
+    @Mock
+    private DataSourceProperties dataSourceProperties;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private EventLogTriggerRepository triggerRepository;
+
+    @Test
+    void failsToStartWhenTriggerNotifiesAnotherChannel() {
+        EventLogNotificationListener listener = createListener(WakeupMode.NOTIFY, "event_logs_v2");
+        when(triggerRepository.findNotifyChannel()).thenReturn(Optional.of("event_logs_inserted"));
+
+        assertThatThrownBy(listener::start)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("'event_logs_inserted'")
+                .hasMessageContaining("'event_logs_v2'");
+    }
+
+    @Test
+    void failsToStartWhenTriggerIsMissing() {
+        EventLogNotificationListener listener = createListener(WakeupMode.NOTIFY, "event_logs_inserted");
+        when(triggerRepository.findNotifyChannel()).thenReturn(Optional.empty());
+
+        assertThatThrownBy(listener::start).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void acceptsTriggerOnConfiguredChannel() {
+        EventLogNotificationListener listener = createListener(WakeupMode.NOTIFY, "event_logs_inserted");
+        when(triggerRepository.findNotifyChannel()).thenReturn(Optional.of("event_logs_inserted"));
+
+        assertThatCode(listener::verifyTriggerChannel).doesNotThrowAnyException();
+    }
+
+    @Test
+    void skipsCheckWhenPolling() {
+        EventLogNotificationListener listener = createListener(WakeupMode.POLLING, "event_logs_inserted");
+
+        listener.start();
+
+        verifyNoInteractions(triggerRepository);
+    }
+
+    @Test
+    void rejectsChannelThatIsNotPlainIdentifier() {
+        for (String channel : List.of("event_logs; DROP TABLE events", "Event_Logs", "1events", "")) {
+            assertThatThrownBy(() -> new Wakeup(WakeupMode.NOTIFY, channel, Duration.ofSeconds(30), Duration.ofSeconds(5)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private EventLogNotificationListener createListener(WakeupMode mode, String channel) {
+        return new EventLogNotificationListener(
+                dataSourceProperties,
+                new NotificationProcessorProperties(
+                        new Wakeup(mode, channel, Duration.ofSeconds(30), Duration.ofSeconds(5)),
+                        new Dispatcher(1, 100, 10, 1000, Duration.ofSeconds(2), Duration.ofSeconds(5)),
+                        new Preferences(10000, Duration.ofMinutes(5)),
+                        new Partitions(true, 2, Duration.ofDays(90), false, Duration.ofSeconds(5)),
+                        new Digest(false, Duration.ofMinutes(10)),
+                        new RenderCache(0)),
+                eventPublisher,
+                triggerRepository);
+    }
+}
@@ -0,0 +1,162 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.geohod.geohodbackend.configuration.properties.NotificationProcessorProperties.Partitions;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogCursor;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPartition;
+import me.geohod.geohodbackend.data.model.repository.EventLogPartitionRepository;
+import me.geohod.geohodbackend.service.notification.INotificationProcessorProgressService;
+
+@ExtendWith(MockitoExtension.class)
+class EventLogPartitionMaintenanceTest {
+    private static final String IN_APP = "IN_APP_NOTIFICATION_PROCESSOR";
+    private static final String TELEGRAM = "TELEGRAM_NOTIFICATION_PROCESSOR";
+    private static final Duration LOCK_TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private EventLogPartitionRepository partitionRepository;
+    @Mock
+    private INotificationProcessorProgressService progressService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Clock clock = Clock.fixed(Instant.parse("2025-06-15T12:00:00Z"), ZoneOffset.UTC);
+
+    private EventLogPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        maintenance = createMaintenance(false);
+    }
+
+    private EventLogPartitionMaintenance createMaintenance(boolean dropDetached) {
+        return new EventLogPartitionMaintenance(partitionRepository, progressService,
+                List.of(sink(IN_APP), sink(TELEGRAM)),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new Partitions(true, 2, Duration.ofDays(30), dropDetached, LOCK_TIMEOUT),
+                meterRegistry, clock);
+    }
+
+    @Test
+    void createsMissingUpcomingPartitions() {
+        when(partitionRepository.findAttached()).thenReturn(List.of(partition(2025, 6)));
+        when(progressService.findCursor(anyString())).thenReturn(Optional.empty());
+
+        maintenance.maintain();
+
+        verify(partitionRepository, never()).create(partition(2025, 6));
+        verify(partitionRepository).create(partition(2025, 7));
+        verify(partitionRepository).create(partition(2025, 8));
+        assertThat(meterRegistry.get("geohod.event_logs.partitions").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void detachesPartitionsBehindSlowestProcessorAndRetention() {
+        when(partitionRepository.findAttached()).thenReturn(List.of(
+                partition(2025, 2), partition(2025, 3), partition(2025, 4),
+                partition(2025, 5), partition(2025, 6), partition(2025, 7), partition(2025, 8)));
+        when(progressService.findCursor(IN_APP)).thenReturn(cursor("2025-06-10T00:00:00Z"));
+        when(progressService.findCursor(TELEGRAM)).thenReturn(cursor("2025-05-20T00:00:00Z"));
+
+        maintenance.maintain();
+
+        // Cutoff is 2025-04-20: February and March end before it, April does not
+        verify(partitionRepository).detach(partition(2025, 2), LOCK_TIMEOUT);
+        verify(partitionRepository).detach(partition(2025, 3), LOCK_TIMEOUT);
+        verify(partitionRepository, never()).detach(eq(partition(2025, 4)), any());
+        verify(partitionRepository, never()).drop(any());
+        assertThat(meterRegistry.get("geohod.event_logs.partitions.detached").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void leavesBusyPartitionForNextRun() {
+        when(partitionRepository.findAttached()).thenReturn(List.of(
+                partition(2025, 2), partition(2025, 3), partition(2025, 6), partition(2025, 7), partition(2025, 8)));
+        when(progressService.findCursor(anyString())).thenReturn(cursor("2025-06-10T00:00:00Z"));
+        doThrow(new CannotAcquireLockException("canceling statement due to lock timeout"))
+                .when(partitionRepository).detach(partition(2025, 2), LOCK_TIMEOUT);
+
+        maintenance.maintain();
+
+        verify(partitionRepository, never()).detach(eq(partition(2025, 3)), any());
+        assertThat(meterRegistry.get("geohod.event_logs.partitions.detached").counter().count()).isZero();
+        assertThat(meterRegistry.get("geohod.event_logs.partitions").gauge().value()).isEqualTo(5);
+    }
+
+    @Test
+    void keepsPartitionsWhileAnyProcessorHasNoProgress() {
+        when(partitionRepository.findAttached()).thenReturn(List.of(
+                partition(2024, 1), partition(2025, 6), partition(2025, 7), partition(2025, 8)));
+        when(progressService.findCursor(IN_APP)).thenReturn(cursor("2025-06-10T00:00:00Z"));
+        when(progressService.findCursor(TELEGRAM)).thenReturn(Optional.empty());
+
+        maintenance.maintain();
+
+        verify(partitionRepository, never()).detach(any(), any());
+    }
+
+    @Test
+    void dropsDetachedPartitionsWhenConfigured() {
+        EventLogPartitionMaintenance dropping = createMaintenance(true);
+        when(partitionRepository.findAttached()).thenReturn(List.of(
+                partition(2025, 1), partition(2025, 6), partition(2025, 7), partition(2025, 8)));
+        when(progressService.findCursor(anyString())).thenReturn(cursor("2025-06-10T00:00:00Z"));
+
+        dropping.maintain();
+
+        verify(partitionRepository).detach(partition(2025, 1), LOCK_TIMEOUT);
+        verify(partitionRepository).drop(partition(2025, 1));
+    }
+
+    @Test
+    void partitionNamesRoundTrip() {
+        EventLogPartition partition = partition(2025, 3);
+
+        assertThat(partition.tableName()).isEqualTo("event_logs_p2025_03");
+        assertThat(EventLogPartition.fromTableName("event_logs_p2025_03")).contains(partition);
+        assertThat(EventLogPartition.fromTableName("event_logs_default")).isEmpty();
+        assertThat(partition.end()).isEqualTo(Instant.parse("2025-04-01T00:00:00Z"));
+    }
+
+    private static EventLogPartition partition(int year, int month) {
+        return new EventLogPartition(YearMonth.of(year, month));
+    }
+
+    private static Optional<EventLogCursor> cursor(String createdAt) {
+        return Optional.of(new EventLogCursor(Instant.parse(createdAt), UUID.randomUUID()));
+    }
+
+    private static NotificationSink sink(String processorName) {
+        NotificationSink sink = mock(NotificationSink.class);
+        lenient().when(sink.processorName()).thenReturn(processorName);
+        return sink;
+    }
+}
@@ -0,0 +1,75 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.geohod.geohodbackend.data.model.eventlog.EventLog;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogCursor;
+import me.geohod.geohodbackend.data.model.eventlog.EventType;
+import me.geohod.geohodbackend.data.model.repository.TelegramOutboxMessageRepository;
+import me.geohod.geohodbackend.service.IEventLogService;
+import me.geohod.geohodbackend.service.notification.INotificationProcessorProgressService;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationPipelineMonitorTest {
+    private static final String IN_APP = "IN_APP_NOTIFICATION_PROCESSOR";
+    private static final String TELEGRAM = "TELEGRAM_NOTIFICATION_PROCESSOR";
+
+    @Mock
+    private IEventLogService eventLogService;
+    @Mock
+    private INotificationProcessorProgressService progressService;
+    @Mock
+    private TelegramOutboxMessageRepository outboxRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void samplesLagBacklogAndOutboxDepth() {
+        NotificationPipelineMonitor monitor = new NotificationPipelineMonitor(eventLogService, progressService,
+                outboxRepository, List.of(sink(IN_APP), sink(TELEGRAM)), meterRegistry);
+        EventLog oldest = new EventLog(UUID.randomUUID(), EventType.EVENT_CREATED, "{}");
+        EventLogCursor telegramCursor = new EventLogCursor(Instant.now(), UUID.randomUUID());
+
+        when(progressService.findCursor(IN_APP)).thenReturn(Optional.empty());
+        when(progressService.findCursor(TELEGRAM)).thenReturn(Optional.of(telegramCursor));
+        when(eventLogService.findAfter(isNull(), eq(1))).thenReturn(List.of(oldest));
+        when(eventLogService.findAfter(telegramCursor, 1)).thenReturn(List.of());
+        when(eventLogService.countAfter(null)).thenReturn(42L);
+        when(eventLogService.countAfter(telegramCursor)).thenReturn(0L);
+        when(outboxRepository.countByProcessedIsFalseAndDeadLetterIsFalse()).thenReturn(7L);
+
+        monitor.sample();
+
+        assertThat(gauge("geohod.notification.processor.backlog", IN_APP)).isEqualTo(42);
+        assertThat(gauge("geohod.notification.processor.backlog", TELEGRAM)).isZero();
+        assertThat(gauge("geohod.notification.processor.lag", IN_APP)).isCloseTo(0, within(5.0));
+        assertThat(gauge("geohod.notification.processor.lag", TELEGRAM)).isZero();
+        assertThat(meterRegistry.get("geohod.notification.outbox.depth").gauge().value()).isEqualTo(7);
+    }
+
+    private double gauge(String name, String processorName) {
+        return meterRegistry.get(name).tag(NotificationProcessorMetrics.TAG_PROCESSOR, processorName).gauge().value();
+    }
+
+    private static NotificationSink sink(String processorName) {
+        NotificationSink sink = mock(NotificationSink.class);
+        when(sink.processorName()).thenReturn(processorName);
+        return sink;
+    }
+}
@@ -0,0 +1,67 @@
+package me.geohod.geohodbackend.service.notification.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.eventlog.EventLog;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
+import me.geohod.geohodbackend.data.model.eventlog.EventType;
+import me.geohod.geohodbackend.service.notification.IAppNotificationService;
+import me.geohod.geohodbackend.service.notification.NotificationChannel;
+import me.geohod.geohodbackend.service.notification.NotificationPreferenceResolver;
+import me.geohod.geohodbackend.service.notification.processor.strategy.EventCreatedInAppStrategy;
+import me.geohod.geohodbackend.service.notification.processor.strategy.NotificationBatchContext;
+import me.geohod.geohodbackend.service.notification.processor.strategy.StrategyRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class StrategyNotificationSinkTest {
+
+    @Mock
+    private IAppNotificationService appNotificationService;
+    @Mock
+    private NotificationPreferenceResolver preferenceResolver;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void countsFailureOfStrategyThatCannotDeliver() {
+        StrategyRegistry strategyRegistry = new StrategyRegistry();
+        strategyRegistry.register(EventType.EVENT_CREATED,
+                new EventCreatedInAppStrategy(appNotificationService, preferenceResolver, new ObjectMapper()));
+        StrategyNotificationSink sink = new StrategyNotificationSink(NotificationChannel.IN_APP,
+                "IN_APP_NOTIFICATION_PROCESSOR", strategyRegistry, meterRegistry,
+                mock(PlatformTransactionManager.class));
+
+        UUID authorId = UUID.randomUUID();
+        Event event = new Event("Test Event", "Description", Instant.now(), 10, authorId);
+        when(preferenceResolver.filterEnabled(any(), any(), any(), any())).thenReturn(List.of(authorId));
+        doThrow(new IllegalStateException("database is down")).when(appNotificationService).createNotifications(anyList());
+
+        sink.deliver(new EventLog(event.getId(), EventType.EVENT_CREATED, "{}"), event,
+                new EventLogPayload.EventCreated(authorId), NotificationBatchContext.empty());
+
+        verify(appNotificationService).createNotifications(anyList());
+        assertThat(meterRegistry.get("geohod.notification.strategy.failures")
+                .tag("strategy", "EventCreatedInAppStrategy").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("geohod.notification.strategy.send").timer().count()).isEqualTo(1);
+    }
+}
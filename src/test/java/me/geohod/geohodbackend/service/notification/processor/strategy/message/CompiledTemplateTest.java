@@ -0,0 +1,115 @@
+package me.geohod.geohodbackend.service.notification.processor.strategy.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class CompiledTemplateTest {
+
+    @Test
+    void rendersVariablesWithFallbacksAndTruncation() {
+        CompiledTemplate template = CompiledTemplate.compile("  {{name}} by {{organizer|Unknown}}: {{description:5}} {{missing}}  ");
+
+        String result = template.render(Map.of("name", "Meetup", "description", "Long description"), "-");
+
+        assertThat(result).isEqualTo("Meetup by Unknown: Long  -");
+    }
+
+    @Test
+    void rendersNestedConditionalsWithElse() {
+        CompiledTemplate template = CompiledTemplate.compile(
+                "{#if contact}Contact: {{contact}}{#if paid} (paid){/if}{#else}No contact{/if}{#if count}, {{count}}{/if}");
+
+        assertThat(template.render(Map.of("contact", "@john", "paid", true, "count", 0), ""))
+                .isEqualTo("Contact: @john (paid)");
+        assertThat(template.render(Map.of("contact", "", "count", 3), ""))
+                .isEqualTo("No contact, 3");
+    }
+
+    @Test
+    void insertsValuesWithoutInterpretingThem() {
+        CompiledTemplate template = CompiledTemplate.compile("{{name}}");
+
+        assertThat(template.render(Map.of("name", "{{other}} {#if x}$1\\{/if}"), ""))
+                .isEqualTo("{{other}} {#if x}$1\\{/if}");
+    }
+
+    @Test
+    void keepsIncompletePlaceholdersAsText() {
+        assertThat(CompiledTemplate.compile("a {b} {{c").render(Map.of(), "")).isEqualTo("a {b} {{c");
+    }
+
+    @Test
+    void rejectsMalformedConditionals() {
+        assertThatThrownBy(() -> CompiledTemplate.compile("{#if x}open"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Missing {/if}");
+        assertThatThrownBy(() -> CompiledTemplate.compile("text{/if}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompiledTemplate.compile("{#if x}a{#else}b{#else}c{/if}"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void escapesTelegramValuesForTheirMarkupContext() {
+        CompiledTemplate template = CompiledTemplate.compile(
+                "*{{title}}*\n[{{name}}]({{link}}) {{note|_none_}}", TemplateType.TELEGRAM);
+
+        String result = template.render(Map.of(
+                "title", "Run #1 (beta)!",
+                "name", "a](https://evil) [x]",
+                "link", "https://t.me/app?a=(1)\\"), "");
+
+        assertThat(result).isEqualTo(
+                "*Run \\#1 \\(beta\\)\\!*\n[a\\]\\(https://evil\\) \\[x\\]](https://t.me/app?a=(1\\)\\\\) _none_");
+    }
+
+    @Test
+    void escapesDotsAndDashesInTelegramValues() {
+        CompiledTemplate template = CompiledTemplate.compile(
+                "[{{name}}]({{link}})\n{{date}}\n\n{{summary}}", TemplateType.TELEGRAM);
+
+        String result = template.render(Map.of(
+                "name", "Run 5.5 km - easy",
+                "link", "https://t.me/app?startapp=a-b.c",
+                "date", "2026-10-17",
+                "summary", "+2 registered, -1 cancelled."), "");
+
+        assertThat(result).isEqualTo(
+                "[Run 5\\.5 km \\- easy](https://t.me/app?startapp=a-b.c)\n2026\\-10\\-17\n\n"
+                        + "\\+2 registered, \\-1 cancelled\\.");
+    }
+
+    @Test
+    void keepsContextAcrossConditionalBranches() {
+        CompiledTemplate template = CompiledTemplate.compile(
+                "{#if link}[{{name}}]({{link}}){#else}{{name}}{/if} {{tail}}", TemplateType.TELEGRAM);
+
+        assertThat(template.render(Map.of("name", "A_B", "link", "https://t.me/a_b", "tail", "(c)"), ""))
+                .isEqualTo("[A\\_B](https://t.me/a_b) \\(c\\)");
+        assertThat(template.render(Map.of("name", "A_B", "tail", "(c)"), ""))
+                .isEqualTo("A\\_B \\(c\\)");
+    }
+
+    @Test
+    void stripsMarkdownFromInAppValues() {
+        CompiledTemplate template = CompiledTemplate.compile("*{{name}}*", TemplateType.IN_APP);
+
+        assertThat(template.render(Map.of("name", "**Run** [club](x)_"), "")).isEqualTo("*Run clubx*");
+    }
+
+    @Test
+    void registryCompilesTemplatesOnRegistration() {
+        MessageTemplateRegistry registry = new MessageTemplateRegistry();
+        registry.registerTemplate(MessageTemplate.of("test", "Hi {{name}}", TemplateType.TELEGRAM));
+
+        assertThat(registry.getCompiledTemplate("test", TemplateType.TELEGRAM).render(Map.of("name", "Ann"), ""))
+                .isEqualTo("Hi Ann");
+        assertThat(registry.getCompiledTemplate("test", TemplateType.IN_APP)).isNull();
+        assertThatThrownBy(() -> registry.registerTemplate(MessageTemplate.of("broken", "{#if x}", TemplateType.TELEGRAM)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,93 @@
+package me.geohod.geohodbackend.service.notification.processor.strategy.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.relational.core.conversion.AggregateChange;
+import org.springframework.data.relational.core.mapping.event.AfterSaveEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.User;
+
+class RenderedMessageCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger renders = new AtomicInteger();
+    private final Event event = new Event("Test Event", "Description", Instant.now(), 10, UUID.randomUUID());
+    private final User author = new User("123456", "author", "Test", "Author", null);
+
+    private RenderedMessageCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RenderedMessageCache(100, meterRegistry);
+        ReflectionTestUtils.setField(event, "version", 1L);
+        ReflectionTestUtils.setField(author, "version", 1L);
+    }
+
+    @Test
+    void reusesMessageRenderedForSameTemplateEventAndParams() {
+        String first = render("event.cancelled", Map.of("eventLink", "https://t.me/app?a"));
+        String second = render("event.cancelled", Map.of("eventLink", "https://t.me/app?a"));
+        render("event.cancelled", Map.of("eventLink", "https://t.me/app?b"));
+        render("event.created", Map.of("eventLink", "https://t.me/app?a"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(renders).hasValue(3);
+        assertThat(meterRegistry.get("geohod.notification.render_cache.hits").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("geohod.notification.render_cache.misses").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("geohod.notification.render_cache.size").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void rendersAgainAfterEventOrAuthorChanged() {
+        render("event.cancelled", Map.of());
+
+        ReflectionTestUtils.setField(event, "version", 2L);
+        render("event.cancelled", Map.of());
+        cache.onSaved(saved(author));
+        render("event.cancelled", Map.of());
+
+        assertThat(renders).hasValue(3);
+        assertThat(meterRegistry.get("geohod.notification.render_cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void dropsEntriesOfSavedEvent() {
+        render("event.cancelled", Map.of());
+        render("event.created", Map.of());
+
+        cache.onSaved(saved(event));
+
+        assertThat(meterRegistry.get("geohod.notification.render_cache.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void bypassesCacheWhenDisabled() {
+        cache = new RenderedMessageCache(0, new SimpleMeterRegistry());
+
+        render("event.cancelled", Map.of());
+        render("event.cancelled", Map.of());
+
+        assertThat(renders).hasValue(2);
+    }
+
+    private String render(String templateId, Map<String, Object> params) {
+        return cache.get(templateId, TemplateType.TELEGRAM, event, author, params,
+                () -> templateId + "#" + renders.incrementAndGet());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> AfterSaveEvent<E> saved(E entity) {
+        return new AfterSaveEvent<>(entity, mock(AggregateChange.class));
+    }
+}
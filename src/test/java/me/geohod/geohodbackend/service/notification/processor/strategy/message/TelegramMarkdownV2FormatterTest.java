@@ -52,7 +52,7 @@ class TelegramMarkdownV2FormatterTest {
         String result = formatter.format(input);
         
         // Strict escaping: even plain URLs get special characters escaped (dots in this case)
-        String expected = "Visit https://example.com for more";
+        String expected = "Visit https://example\\.com for more";
         assertEquals(expected, result);
     }
     
@@ -63,8 +63,8 @@ class TelegramMarkdownV2FormatterTest {
         String input = "Date: 2025-11-19";
         String result = formatter.format(input);
         
-        // Dashes in dates should not be escaped for readability
-        String expected = "Date: 2025-11-19";
+        // Dashes are reserved in MarkdownV2, Telegram rejects them unescaped
+        String expected = "Date: 2025\\-11\\-19";
         assertEquals(expected, result);
     }
     
@@ -75,8 +75,8 @@ class TelegramMarkdownV2FormatterTest {
         String input = "[Event Name](https://t.me/bot/app?start=123)\n2025-11-19\n\nLink: https://t.me/bot/app";
         String result = formatter.format(input);
         
-        // Dashes in dates should not be escaped, but URLs preserved and newlines remain as-is
-        String expected = "[Event Name](https://t.me/bot/app?start=123)\n2025-11-19\n\nLink: https://t.me/bot/app";
+        // Link URLs keep their dots, dashes and dots elsewhere are escaped, newlines remain as-is
+        String expected = "[Event Name](https://t.me/bot/app?start=123)\n2025\\-11\\-19\n\nLink: https://t\\.me/bot/app";
         assertEquals(expected, result);
     }
     
@@ -88,8 +88,8 @@ class TelegramMarkdownV2FormatterTest {
         String input = "Link: https://t.me/geohod_local_dev_bot/app?startapp=registration_0a28d86c-7817-4028-8c8c-93924f7dedf7";
         String result = formatter.format(input);
         
-        // URL preservation: underscores and dashes preserved in URLs for readability
-        String expected = "Link: https://t.me/geohod_local_dev_bot/app?startapp=registration_0a28d86c-7817-4028-8c8c-93924f7dedf7";
+        // Plain URLs are text: their underscores, dashes, dots and equals signs are escaped
+        String expected = "Link: https://t\\.me/geohod\\_local\\_dev\\_bot/app?startapp\\=registration\\_0a28d86c\\-7817\\-4028\\-8c8c\\-93924f7dedf7";
         assertEquals(expected, result);
     }
     
@@ -101,8 +101,8 @@ class TelegramMarkdownV2FormatterTest {
         String input = "[Nino](https://t.me/bot/app?start=123)\n2025-11-19\n\nLink: https://t.me/bot/app";
         String result = formatter.format(input);
         
-        // Dashes in dates should not be escaped, but other special characters still are
-        String expected = "[Nino](https://t.me/bot/app?start=123)\n2025-11-19\n\nLink: https://t.me/bot/app";
+        // Everything outside the link URL is escaped, including dashes of the date
+        String expected = "[Nino](https://t.me/bot/app?start=123)\n2025\\-11\\-19\n\nLink: https://t\\.me/bot/app";
         assertEquals(expected, result);
     }
     
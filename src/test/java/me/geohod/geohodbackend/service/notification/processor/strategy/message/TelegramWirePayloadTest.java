@@ -0,0 +1,157 @@
+package me.geohod.geohodbackend.service.notification.processor.strategy.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.geohod.geohodbackend.configuration.properties.GeohodProperties;
+import me.geohod.geohodbackend.data.dto.TelegramMessagePayload;
+import me.geohod.geohodbackend.data.model.Event;
+import me.geohod.geohodbackend.data.model.TelegramOutboxMessage;
+import me.geohod.geohodbackend.data.model.User;
+import me.geohod.geohodbackend.data.model.eventlog.EventLogPayload;
+import me.geohod.geohodbackend.data.model.repository.TelegramOutboxBroadcastRepository;
+import me.geohod.geohodbackend.data.model.repository.TelegramOutboxMessageRepository;
+import me.geohod.geohodbackend.service.impl.TelegramOutboxMessagePublisher;
+import me.geohod.geohodbackend.service.link.BinaryLinkGenerator;
+import me.geohod.geohodbackend.service.notification.NotificationPreferenceResolver;
+import me.geohod.geohodbackend.service.notification.processor.strategy.EventCreatedTelegramStrategy;
+import me.geohod.geohodbackend.service.notification.processor.strategy.NotificationBatchContext;
+
+/**
+ * Telegram sends outbox payloads as they are, so whatever the templates render must already be
+ * valid MarkdownV2: Telegram rejects the whole message for a single unescaped reserved character.
+ */
+@ExtendWith(MockitoExtension.class)
+class TelegramWirePayloadTest {
+
+    private static final String RESERVED = "_*[]()~`>#+-=|{}.!";
+
+    @Mock
+    private TelegramOutboxMessageRepository outboxRepository;
+    @Mock
+    private TelegramOutboxBroadcastRepository broadcastRepository;
+    @Mock
+    private NotificationPreferenceResolver preferenceResolver;
+
+    private final UUID authorId = UUID.randomUUID();
+    private final User author = new User("123456", "run_club", "Anna", "Smith-Jones", null);
+    private final Event event = new Event("Run 5.5 km - morning!", "Description",
+            Instant.parse("2026-10-17T09:00:00Z"), 10, authorId);
+
+    private MessageTemplateRegistry registry;
+    private MessageFormatter formatter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new MessageTemplateRegistry();
+        registry.initializeDefaultTemplates();
+        formatter = new MessageFormatter(new TemplateEngine(), registry,
+                new RenderedMessageCache(0, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void queuesEventCreatedMessageAsValidMarkdownV2() {
+        BinaryLinkGenerator linkGenerator = new BinaryLinkGenerator(new GeohodProperties(null,
+                new GeohodProperties.LinkTemplates("https://t.me/geohod_bot/app?startapp="), null, null));
+        EventCreatedTelegramStrategy strategy = new EventCreatedTelegramStrategy(linkGenerator, formatter,
+                new TelegramOutboxMessagePublisher(outboxRepository, broadcastRepository), preferenceResolver);
+        when(preferenceResolver.isEnabled(any(), any(), any(), any())).thenReturn(true);
+
+        strategy.send(event, new EventLogPayload.EventCreated(authorId), new NotificationBatchContext(
+                Map.of(event.getId(), event), Map.of(authorId, author), Map.of()));
+
+        ArgumentCaptor<TelegramOutboxMessage> queued = ArgumentCaptor.forClass(TelegramOutboxMessage.class);
+        verify(outboxRepository).save(queued.capture());
+        assertThat(queued.getValue().getParseMode()).isEqualTo(TelegramMessagePayload.MARKDOWN_V2);
+        String text = queued.getValue().getMessage();
+        assertThat(text)
+                .contains("[Run 5\\.5 km \\- morning\\!](https://t.me/geohod_bot/app?startapp=")
+                .containsPattern("\\d{4}\\\\-\\d{2}\\\\-\\d{2}")
+                .contains("https://t\\.me/geohod\\_bot/app?startapp\\=");
+        assertThat(isValidMarkdownV2(text)).as(text).isTrue();
+    }
+
+    @Test
+    void rendersEveryTelegramTemplateAsValidMarkdownV2() {
+        Map<String, Object> params = new HashMap<>();
+        for (String name : new String[] { "eventLink", "registerLink", "reviewLink" }) {
+            params.put(name, "https://t.me/geohod_bot/app?startapp=a-b_c");
+        }
+        params.put("participantList", "1. Anna (@run_club)\n2. Ivan-Petrov");
+        params.put("registrationSummary", "+2 зарегистрировались, -1 отменили регистрацию");
+        params.put("seats", "3/10");
+
+        for (String templateId : registry.getAllTemplates().keySet()) {
+            String text = formatter.formatMessageFromTemplate(templateId, TemplateType.TELEGRAM, event, author, params);
+
+            assertThat(isValidMarkdownV2(text)).as(templateId + ": " + text).isTrue();
+        }
+    }
+
+    /**
+     * Accepts plain text with every reserved character escaped and {@code [text](url)} links;
+     * the templates use no other entities.
+     */
+    private static boolean isValidMarkdownV2(String text) {
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= text.length()) {
+                    return false;
+                }
+                i += 2;
+            } else if (c == '[') {
+                i = linkEnd(text, i);
+                if (i < 0) {
+                    return false;
+                }
+            } else if (RESERVED.indexOf(c) >= 0) {
+                return false;
+            } else {
+                i++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index after the link starting at {@code start}, or -1 if it is malformed.
+     */
+    private static int linkEnd(String text, int start) {
+        int i = start + 1;
+        while (i < text.length() && text.charAt(i) != ']') {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (RESERVED.indexOf(c) >= 0) {
+                return -1;
+            } else {
+                i++;
+            }
+        }
+        if (i + 1 >= text.length() || text.charAt(i + 1) != '(') {
+            return -1;
+        }
+        i += 2;
+        while (i < text.length() && text.charAt(i) != ')') {
+            i += text.charAt(i) == '\\' ? 2 : 1;
+        }
+        return i < text.length() ? i + 1 : -1;
+    }
+}